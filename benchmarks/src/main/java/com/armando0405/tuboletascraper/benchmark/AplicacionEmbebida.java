@@ -0,0 +1,46 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.TuBoletaScraperApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 🚀 Arranca la aplicación real contra una H2 en memoria, sin scheduler, keep-alive ni emails.
+ *
+ * Las propiedades van como argumentos de línea de comandos para que ganen sobre
+ * application-prod.yml; las extras ("--clave=valor") reemplazan a las de aquí.
+ */
+final class AplicacionEmbebida {
+
+    private AplicacionEmbebida() {
+    }
+
+    static ConfigurableApplicationContext arrancar(String... propiedadesExtra) {
+        Map<String, String> propiedades = new LinkedHashMap<>();
+        propiedades.put("spring.main.web-application-type", "none");
+        propiedades.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        propiedades.put("spring.jpa.hibernate.ddl-auto", "create");
+        propiedades.put("spring.jpa.show-sql", "false");
+        propiedades.put("spring.h2.console.enabled", "false");
+        propiedades.put("scheduler.monitoring.enabled", "false");
+        propiedades.put("keepalive.enabled", "false");
+        propiedades.put("notifications.email.enabled", "false");
+        propiedades.put("logging.level.root", "WARN");
+        propiedades.put("logging.level.com.armando0405.tuboletascraper", "WARN");
+
+        // Un mismo argumento repetido se uniría con comas, así que las extras reemplazan por clave
+        for (String extra : propiedadesExtra) {
+            String[] partes = extra.replaceFirst("^--", "").split("=", 2);
+            propiedades.put(partes[0], partes.length > 1 ? partes[1] : "");
+        }
+
+        String[] argumentos = propiedades.entrySet().stream()
+                .map(propiedad -> "--" + propiedad.getKey() + "=" + propiedad.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TuBoletaScraperApiApplication.class).run(argumentos);
+    }
+}
@@ -0,0 +1,29 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * ▶️ Punto de entrada de benchmarks.jar: acepta las mismas opciones que JMH y, si no
+ * se indica otra cosa, deja los resultados en JSON en target/jmh-result.json para
+ * poder comparar corridas entre commits (por ejemplo con jmh.morethan.io).
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions lineaComandos = new CommandLineOptions(args);
+        Options opciones = new OptionsBuilder()
+                .parent(lineaComandos)
+                .resultFormat(lineaComandos.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(lineaComandos.getResult().orElse("target/jmh-result.json"))
+                .build();
+
+        new Runner(opciones).run();
+    }
+}
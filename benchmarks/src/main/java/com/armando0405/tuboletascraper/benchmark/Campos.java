@@ -0,0 +1,24 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+
+/**
+ * Asigna campos inyectados (@Value/@Autowired) al armar componentes sin Spring.
+ */
+final class Campos {
+
+    private Campos() {
+    }
+
+    static <T> T asignar(T objetivo, String campo, Object valor) {
+        Field field = ReflectionUtils.findField(objetivo.getClass(), campo);
+        if (field == null) {
+            throw new IllegalArgumentException("Campo inexistente: " + campo);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, objetivo, valor);
+        return objetivo;
+    }
+}
@@ -0,0 +1,149 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import com.armando0405.tuboletascraper.service.SnapshotHasher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 🧪 Shows, páginas de resultados e historiales sintéticos con la forma de TuBoleta.
+ *
+ * Todo sale de una semilla, así dos corridas del mismo benchmark ven los mismos datos.
+ */
+public final class DatosSinteticos {
+
+    private static final String[] MESES = {"Ene", "Feb", "Mar", "Abr", "May", "Jun", "Jul", "Ago", "Sep", "Oct", "Nov", "Dic"};
+    private static final String[] CIUDADES = {"Bogotá", "Medellín", "Cali", "Barranquilla", "Bucaramanga", "Pereira", "Manizales"};
+    private static final String[] VENUES = {"Teatro Royal Center", "Teatro Metropolitano", "Teatro Jorge Isaacs", "Coliseo Live", "Auditorio Lumière"};
+
+    private DatosSinteticos() {
+    }
+
+    public static List<Show> shows(int cantidad, long semilla) {
+        Random random = new Random(semilla);
+        List<Show> shows = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            shows.add(show(String.valueOf(i), random));
+        }
+        return shows;
+    }
+
+    /**
+     * Siguiente versión de la cartelera: cada show se elimina o cambia de fecha con
+     * probabilidad tasaCambio/2, y se agrega una cantidad equivalente de shows nuevos.
+     */
+    public static List<Show> mutar(List<Show> anteriores, double tasaCambio, long semilla) {
+        Random random = new Random(semilla);
+        List<Show> siguientes = new ArrayList<>(anteriores.size());
+        int eliminados = 0;
+
+        for (Show show : anteriores) {
+            double sorteo = random.nextDouble();
+            if (sorteo < tasaCambio / 2) {
+                eliminados++;
+            } else if (sorteo < tasaCambio) {
+                Show modificado = copiar(show);
+                modificado.setFechaShow(show.getFechaShow().plusDays(1 + random.nextInt(30)));
+                siguientes.add(modificado);
+            } else {
+                siguientes.add(copiar(show));
+            }
+        }
+
+        for (int i = 0; i < eliminados; i++) {
+            // El sufijo con la semilla evita chocar con shows de otras generaciones
+            siguientes.add(show(semilla + "-" + i, random));
+        }
+        return siguientes;
+    }
+
+    public static List<VersionShow> versiones(List<Show> shows) {
+        SnapshotHasher hasher = new SnapshotHasher();
+        List<VersionShow> versiones = new ArrayList<>(shows.size());
+        for (Show show : shows) {
+            versiones.add(VersionShow.builder()
+                    .showIdUnico(show.getShowUniqueId())
+                    .titulo(show.getTitulo())
+                    .venue(show.getVenue())
+                    .ciudad(show.getCiudad())
+                    .fechaShow(show.getFechaShow())
+                    .horaShow(show.getHoraShow())
+                    .urlFuente(show.getUrlFuente())
+                    .hashContenido(hasher.hashShow(show))
+                    .build());
+        }
+        return versiones;
+    }
+
+    /**
+     * Página de resultados con el HTML de TuBoleta: articles, paginador Drupal (?page=N)
+     * y el relleno de scripts/menús que rodea a los resultados.
+     */
+    public static String paginaResultados(List<Show> shows, int pagina, int totalPaginas) {
+        StringBuilder html = new StringBuilder(1024 + shows.size() * 900);
+        html.append("<!DOCTYPE html><html lang=\"es\"><head><meta charset=\"utf-8\"><title>Resultados de búsqueda | TuBoleta</title>")
+                .append("<script>window.dataLayer = window.dataLayer || [];</script></head><body>")
+                .append("<header><nav class=\"navbar\"><a href=\"/es\">TuBoleta</a></nav></header>")
+                .append("<main><div class=\"container\"><div class=\"row\">\n");
+
+        for (Show show : shows) {
+            articulo(html, show);
+        }
+
+        html.append("</div>");
+        if (totalPaginas > 1) {
+            html.append("<nav class=\"pager\"><ul>");
+            for (int i = 0; i < totalPaginas; i++) {
+                if (i != pagina) {
+                    html.append("<li><a href=\"?s=fucks+news&amp;page=").append(i).append("\">").append(i + 1).append("</a></li>");
+                }
+            }
+            html.append("</ul></nav>");
+        }
+        html.append("</div></main><footer><p>© TuBoleta</p></footer></body></html>");
+        return html.toString();
+    }
+
+    public static void articulo(StringBuilder html, Show show) {
+        LocalDate fecha = show.getFechaShow();
+        html.append("<article class=\"bg-grey-light rounded-3 h-100 position-relative\">\n")
+                .append("  <a class=\"content-link-container d-flex\" href=\"")
+                .append(show.getUrlFuente().substring("https://www.tuboleta.com".length())).append("\">\n")
+                .append("    <div class=\"content-date text-center p-3\">\n")
+                .append("    <div class=\"fs-7 fw-bold\">").append(fecha.getDayOfMonth()).append(' ')
+                .append(MESES[fecha.getMonthValue() - 1]).append("</div>\n")
+                .append("    </div>\n")
+                .append("    <div class=\"content-info p-3\">\n")
+                .append("      <div class=\"fs-8 fw-bold mb-1\"><span>").append(show.getTitulo()).append("</span></div>\n")
+                .append("      <div class=\"text-grey fs-9\"><i class=\"icon-location\"></i> <span>").append(show.getVenue()).append("</span></div>\n")
+                .append("      <div class=\"text-grey fs-9\"><i class=\"icon-city\"></i> <span>").append(show.getCiudad()).append("</span></div>\n")
+                .append("      <div class=\"badge bg-primary mt-2\">Comprar</div>\n")
+                .append("    </div>\n")
+                .append("  </a>\n")
+                .append("</article>\n");
+    }
+
+    private static Show show(String sufijo, Random random) {
+        String titulo = "FUCKS NEWS - GIRA NACIONAL " + sufijo;
+        String slug = "fucks-news---gira-nacional-" + sufijo;
+        Show show = Show.builder()
+                .titulo(titulo)
+                .venue(VENUES[random.nextInt(VENUES.length)])
+                .ciudad(CIUDADES[random.nextInt(CIUDADES.length)])
+                // Fechas futuras para que parsearFecha no las pase al año siguiente
+                .fechaShow(LocalDate.now().plusDays(1 + random.nextInt(300)))
+                .urlFuente("https://www.tuboleta.com/es/eventos/" + slug)
+                .build();
+        show.generateUniqueId();
+        return show;
+    }
+
+    private static Show copiar(Show show) {
+        return new Show(show.getShowUniqueId(), show.getTitulo(), show.getVenue(), show.getCiudad(),
+                show.getFechaShow(), show.getHoraShow(), show.getUrlFuente(), show.getRawHtml());
+    }
+}
@@ -0,0 +1,87 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import com.armando0405.tuboletascraper.dao.repository.ShowInstantaneaRepository.HuellaShow;
+import com.armando0405.tuboletascraper.service.ChangeDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ⚖️ SnapshotService.detectarCambios (ahora ChangeDetector) entre dos snapshots
+ * sintéticos con distinta tasa de cambio: comparando las filas completas o solo
+ * los pares (id, hash) y cargando las filas que cambiaron.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiffBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int shows;
+
+    @Param({"0.01", "0.1", "0.5"})
+    public double tasaCambio;
+
+    private final ChangeDetector detector = new ChangeDetector();
+    private List<VersionShow> anteriores;
+    private List<VersionShow> nuevos;
+    private List<HuellaShow> huellasAnteriores;
+    private Function<Collection<String>, List<VersionShow>> cargarAnteriores;
+
+    @Setup
+    public void preparar() {
+        List<Show> cartelera = DatosSinteticos.shows(shows, 42);
+        anteriores = DatosSinteticos.versiones(cartelera);
+        nuevos = DatosSinteticos.versiones(DatosSinteticos.mutar(cartelera, tasaCambio, 7));
+
+        huellasAnteriores = anteriores.stream()
+                .<HuellaShow>map(s -> new Huella(s.getShowIdUnico(), s.getHashContenido()))
+                .toList();
+        // Sustituye a la consulta IN: el costo que se mide es el de la comparación
+        Map<String, VersionShow> porId = anteriores.stream()
+                .collect(Collectors.toMap(VersionShow::getShowIdUnico, s -> s));
+        cargarAnteriores = ids -> ids.stream().map(porId::get).toList();
+    }
+
+    @Benchmark
+    public List<String> detectarCambios() {
+        return detector.detectarCambios(anteriores, nuevos);
+    }
+
+    @Benchmark
+    public List<String> detectarCambiosPorHuellas() {
+        return detector.detectarCambios(huellasAnteriores, nuevos, cargarAnteriores);
+    }
+
+    private record Huella(String showIdUnico, String hashContenido) implements HuellaShow {
+        @Override
+        public String getShowIdUnico() {
+            return showIdUnico;
+        }
+
+        @Override
+        public String getHashContenido() {
+            return hashContenido;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.service.ShowExtractor;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🧩 Parseo de la página + extracción de todos los shows (lo que hacía ScrapingService.extraerShow),
+ * con y sin la memoria de artículos, y la extracción original de un select por campo.
+ *
+ * shows=fixture usa la página real guardada (PaginaGuardada) en vez de una sintética:
+ * así extraer y extraerOriginal se comparan también sobre el marcado que sirve TuBoleta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtraccionBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "fixture"})
+    public String shows;
+
+    @Param({"false", "true"})
+    public boolean memo;
+
+    private String html;
+    private List<Element> articulos;
+    private ShowExtractor extractor;
+
+    @Setup
+    public void preparar() {
+        html = "fixture".equals(shows)
+                ? PaginaGuardada.html()
+                : DatosSinteticos.paginaResultados(DatosSinteticos.shows(Integer.parseInt(shows), 42), 0, 1);
+        articulos = Jsoup.parse(html, "https://www.tuboleta.com").select("article.bg-grey-light");
+
+        extractor = new ShowExtractor();
+        Campos.asignar(extractor, "baseUrl", "https://www.tuboleta.com");
+        Campos.asignar(extractor, "umbralParalelo", 200);
+        Campos.asignar(extractor, "capacidadMemo", memo ? articulos.size() * 2 : 0);
+    }
+
+    @Benchmark
+    public List<Show> extraer() {
+        return extractor.extraerTodos(articulos);
+    }
+
+    // Línea base: un select por campo (antes del extractor de una sola pasada; memo no aplica)
+    @Benchmark
+    public void extraerOriginal(Blackhole blackhole) {
+        for (Element articulo : articulos) {
+            blackhole.consume(ExtraccionOriginal.extraer(articulo, "https://www.tuboleta.com"));
+        }
+    }
+
+    @Benchmark
+    public List<Show> parsearYExtraer() {
+        return extractor.extraerTodos(Jsoup.parse(html, "https://www.tuboleta.com").select("article.bg-grey-light"));
+    }
+}
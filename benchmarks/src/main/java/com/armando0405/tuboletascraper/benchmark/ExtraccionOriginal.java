@@ -0,0 +1,83 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Extracción original (un select/selectFirst por campo), antes del extractor de
+ * una sola pasada; sirve de línea base en ExtraccionBenchmark.
+ */
+final class ExtraccionOriginal {
+
+    private static final Map<String, String> MESES = Map.ofEntries(
+            Map.entry("Ene", "01"), Map.entry("Feb", "02"), Map.entry("Mar", "03"),
+            Map.entry("Abr", "04"), Map.entry("May", "05"), Map.entry("Jun", "06"),
+            Map.entry("Jul", "07"), Map.entry("Ago", "08"), Map.entry("Sep", "09"),
+            Map.entry("Oct", "10"), Map.entry("Nov", "11"), Map.entry("Dic", "12")
+    );
+
+    private ExtraccionOriginal() {
+    }
+
+    static Show extraer(Element showElement, String baseUrl) {
+        Element tituloElement = showElement.selectFirst(".content-info .fs-8.fw-bold.mb-1 span");
+        String titulo = tituloElement != null ? tituloElement.text() : null;
+        if (titulo == null) {
+            Elements posiblesTitulos = showElement.select("span:contains(FUCKS NEWS)");
+            titulo = posiblesTitulos.isEmpty() ? null : posiblesTitulos.first().text();
+        }
+        if (titulo == null || !titulo.toLowerCase().contains("fucks news")) {
+            return null;
+        }
+
+        Elements venues = showElement.select(".content-info .text-grey span");
+        String venue = !venues.isEmpty() ? venues.get(0).text() : null;
+        Elements ciudades = showElement.select(".content-info .text-grey span");
+        String ciudad = ciudades.size() >= 2 ? ciudades.get(1).text() : null;
+
+        Element diaElement = showElement.selectFirst(".content-date .fs-5.fw-bold.lh-1");
+        String dia = diaElement != null ? diaElement.text() : "";
+        Element mesElement = showElement.selectFirst(".content-date .fs-8.fw-bold");
+        String mes = mesElement != null ? mesElement.text() : "";
+        if (dia.isEmpty() || mes.isEmpty()) {
+            Element fechaCompacta = showElement.selectFirst(".content-date .fs-7.fw-bold");
+            if (fechaCompacta != null) {
+                String[] partes = fechaCompacta.text().split("\\s+");
+                if (partes.length >= 2) {
+                    dia = partes[0];
+                    mes = partes[1];
+                }
+            }
+        }
+
+        String urlFuente = null;
+        Element linkElement = showElement.selectFirst("a.content-link-container");
+        if (linkElement != null) {
+            String href = linkElement.attr("href");
+            urlFuente = href.startsWith("/") ? baseUrl + href : href;
+        }
+
+        Show show = Show.builder()
+                .titulo(titulo.trim())
+                .venue(venue != null ? venue.trim() : "")
+                .ciudad(ciudad != null ? ciudad.trim() : "")
+                .fechaShow(parsearFecha(dia, mes))
+                .urlFuente(urlFuente)
+                .build();
+        show.generateUniqueId();
+        return show;
+    }
+
+    private static LocalDate parsearFecha(String dia, String mes) {
+        if (dia.isEmpty() || mes.isEmpty() || !MESES.containsKey(mes)) {
+            return null;
+        }
+        LocalDate fecha = LocalDate.parse(String.format("%04d-%s-%02d",
+                LocalDate.now().getYear(), MESES.get(mes), Integer.parseInt(dia)));
+        return fecha.isBefore(LocalDate.now()) ? fecha.plusYears(1) : fecha;
+    }
+}
@@ -0,0 +1,46 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.service.SnapshotHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔑 SnapshotService.generarHash (ahora SnapshotHasher) sobre carteleras sintéticas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int shows;
+
+    private final SnapshotHasher hasher = new SnapshotHasher();
+    private List<Show> cartelera;
+
+    @Setup
+    public void preparar() {
+        cartelera = DatosSinteticos.shows(shows, 42);
+    }
+
+    @Benchmark
+    public String generarHash() {
+        return hasher.generarHash(cartelera);
+    }
+}
@@ -0,0 +1,94 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.service.ShowExtractor;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🧠 Dos ciclos seguidos de la página guardada a través de la memoria de artículos.
+ *
+ * Antes de cada invocación un extractor nuevo procesa el ciclo anterior (la página
+ * guardada); lo medido es la extracción del ciclo siguiente, con cambios artículos
+ * distintos. El ahorro por ciclo es la diferencia entre memo=false y memo=true para
+ * el mismo valor de cambios; los contadores aciertos/fallos muestran de dónde sale.
+ * El parseo no se mide: se paga igual con o sin memoria.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoCicloBenchmark {
+
+    @Param({"false", "true"})
+    public boolean memo;
+
+    @Param({"0", "5", "48"})
+    public int cambios;
+
+    private List<Element> cicloAnterior;
+    private List<Element> cicloSiguiente;
+    private ShowExtractor extractor;
+    private long aciertosPrevios;
+    private long fallosPrevios;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memo {
+        public long aciertos;
+        public long fallos;
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        cicloAnterior = articulos(PaginaGuardada.conCambios(0));
+        cicloSiguiente = articulos(PaginaGuardada.conCambios(cambios));
+    }
+
+    // Una invocación es un ciclo: por eso la memoria se reinicia y se calienta con el anterior
+    @Setup(Level.Invocation)
+    public void cicloAnterior() {
+        extractor = new ShowExtractor();
+        Campos.asignar(extractor, "baseUrl", "https://www.tuboleta.com");
+        Campos.asignar(extractor, "umbralParalelo", 200);
+        Campos.asignar(extractor, "capacidadMemo", memo ? cicloAnterior.size() * 2 : 0);
+        extractor.extraerTodos(cicloAnterior);
+
+        Map<String, Object> estadisticas = extractor.getEstadisticasMemo();
+        aciertosPrevios = (Long) estadisticas.get("aciertos");
+        fallosPrevios = (Long) estadisticas.get("fallos");
+    }
+
+    @Benchmark
+    public List<Show> cicloSiguiente(Memo contadores) {
+        List<Show> shows = extractor.extraerTodos(cicloSiguiente);
+
+        Map<String, Object> estadisticas = extractor.getEstadisticasMemo();
+        contadores.aciertos += (Long) estadisticas.get("aciertos") - aciertosPrevios;
+        contadores.fallos += (Long) estadisticas.get("fallos") - fallosPrevios;
+        return shows;
+    }
+
+    private static List<Element> articulos(String html) {
+        return Jsoup.parse(html, "https://www.tuboleta.com").select("article.bg-grey-light");
+    }
+}
@@ -0,0 +1,74 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.service.FechaShow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ generateUniqueId y parseo de fecha: versión original (replaceAll / String.format)
+ * contra la versión de una sola pasada. Correr con -prof gc para ver bytes por operación.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizacionBenchmark {
+
+    private static final Map<String, String> MESES = Map.ofEntries(
+            Map.entry("Ene", "01"), Map.entry("Feb", "02"), Map.entry("Mar", "03"),
+            Map.entry("Abr", "04"), Map.entry("May", "05"), Map.entry("Jun", "06"),
+            Map.entry("Jul", "07"), Map.entry("Ago", "08"), Map.entry("Sep", "09"),
+            Map.entry("Oct", "10"), Map.entry("Nov", "11"), Map.entry("Dic", "12")
+    );
+
+    private final Show show = Show.builder()
+            .titulo("FUCKS NEWS - Gira Aniversario 2025")
+            .venue("Teatro Royal Center")
+            .ciudad("Bogotá D.C.")
+            .build();
+
+    private final String dia = "23";
+    private final String mes = "Sep";
+
+    @Benchmark
+    public String idOriginal() {
+        String base = show.getTitulo() + "|" + show.getVenue() + "|" + show.getCiudad();
+        return base.toLowerCase()
+                .replaceAll("[^a-z0-9|\\s]", "")
+                .replaceAll("\\s+", "-")
+                .replaceAll("\\|+", "|")
+                .replaceAll("^-+|-+$", "");
+    }
+
+    @Benchmark
+    public String idUnaPasada() {
+        show.generateUniqueId();
+        return show.getShowUniqueId();
+    }
+
+    @Benchmark
+    public LocalDate fechaOriginal() {
+        String fechaString = String.format("%04d-%s-%02d", LocalDate.now().getYear(), MESES.get(mes), Integer.parseInt(dia));
+        LocalDate fecha = LocalDate.parse(fechaString);
+        return fecha.isBefore(LocalDate.now()) ? fecha.plusYears(1) : fecha;
+    }
+
+    @Benchmark
+    public LocalDate fechaUnaPasada() {
+        return FechaShow.parsear(dia, mes);
+    }
+}
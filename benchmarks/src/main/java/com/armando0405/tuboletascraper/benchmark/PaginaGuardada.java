@@ -0,0 +1,48 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 📄 La página real de resultados de TuBoleta guardada en src/test/resources/fixtures,
+ * copiada al classpath de los benchmarks por benchmarks/pom.xml.
+ */
+final class PaginaGuardada {
+
+    private static final String RECURSO = "/fixtures/tuboleta-resultados.html";
+
+    private PaginaGuardada() {
+    }
+
+    static String html() {
+        try (InputStream entrada = PaginaGuardada.class.getResourceAsStream(RECURSO)) {
+            if (entrada == null) {
+                throw new IllegalStateException("No está en el classpath: " + RECURSO);
+            }
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * La página tal como llegaría en el ciclo siguiente con los primeros cambios artículos
+     * modificados. Se serializa con Jsoup también cuando cambios es 0, así las dos páginas
+     * de un par solo difieren en esos artículos.
+     */
+    static String conCambios(int cambios) {
+        Document documento = Jsoup.parse(html(), "https://www.tuboleta.com");
+        List<Element> articulos = documento.select("article.bg-grey-light");
+        for (int i = 0; i < Math.min(cambios, articulos.size()); i++) {
+            articulos.get(i).attr("data-ciclo", "2");
+        }
+        return documento.outerHtml();
+    }
+}
@@ -0,0 +1,106 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.dao.entity.ConsultaInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.service.SnapshotEnMemoria;
+import com.armando0405.tuboletascraper.service.SnapshotHasher;
+import com.armando0405.tuboletascraper.service.SnapshotWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 💾 SnapshotService.guardarNuevoSnapshot (ahora SnapshotWriter) contra H2 en memoria,
+ * con un historial previo de snapshots sintéticos ya guardados.
+ *
+ * Cada invocación guarda una generación nueva de la cartelera (hash distinto, 10% de
+ * shows modificados) en su propia transacción, como hace el monitoreo; el snapshot
+ * anterior se publica en memoria fuera de la medición, igual que tras el commit.
+ *
+ * loteJdbc=1 desactiva los lotes JDBC (un round-trip por fila); loteJdbc=50 es la
+ * configuración de application.yml. Con 1000 y 10000 shows la diferencia muestra si
+ * el tiempo de persistencia sigue creciendo un round-trip por fila.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = 1)
+@Measurement(iterations = 10, batchSize = 1)
+@Fork(1)
+public class PersistenciaBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int shows;
+
+    @Param({"0", "10"})
+    public int historial;
+
+    @Param({"1", "50"})
+    public int loteJdbc;
+
+    private ConfigurableApplicationContext contexto;
+    private SnapshotWriter writer;
+    private SnapshotHasher hasher;
+    private SnapshotEnMemoria enMemoria;
+    private TransactionTemplate transaccion;
+
+    private List<Show> siguiente;
+    private String hashSiguiente;
+    private long generacion;
+    private ConsultaInstantanea ultimo;
+
+    @Setup(Level.Trial)
+    public void arrancar() {
+        contexto = AplicacionEmbebida.arrancar("--spring.jpa.properties.hibernate.jdbc.batch_size=" + loteJdbc);
+        writer = contexto.getBean(SnapshotWriter.class);
+        hasher = contexto.getBean(SnapshotHasher.class);
+        enMemoria = contexto.getBean(SnapshotEnMemoria.class);
+        transaccion = contexto.getBean(TransactionTemplate.class);
+
+        List<Show> cartelera = DatosSinteticos.shows(shows, 42);
+        for (int i = 0; i < historial; i++) {
+            cartelera = DatosSinteticos.mutar(cartelera, 0.1, ++generacion);
+            ultimo = guardar(cartelera, hasher.generarHash(cartelera));
+        }
+        siguiente = cartelera;
+    }
+
+    @Setup(Level.Invocation)
+    public void prepararGeneracion() {
+        if (ultimo != null) {
+            enMemoria.publicar(ultimo, ultimo.getShows());
+        }
+        siguiente = DatosSinteticos.mutar(siguiente, 0.1, ++generacion);
+        hashSiguiente = hasher.generarHash(siguiente);
+    }
+
+    @Benchmark
+    public ConsultaInstantanea guardarNuevoSnapshot() {
+        ultimo = guardar(siguiente, hashSiguiente);
+        return ultimo;
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    private ConsultaInstantanea guardar(List<Show> cartelera, String hash) {
+        return transaccion.execute(status -> writer.guardarNuevoSnapshot(cartelera, hash, System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,172 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.service.SnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 🏋️ PRUEBA DE CARGA DE PUNTA A PUNTA
+ *
+ * Levanta el ServidorTuBoletaFalso y la aplicación real (H2 en memoria) apuntando a él,
+ * ejecuta N ciclos de monitoreo y reporta throughput, percentiles de latencia, heap
+ * (el pico sale de los MemoryPoolMXBean del heap) y crecimiento de cada tabla de la BD. El resultado se imprime y se guarda en JSON.
+ *
+ * Uso (desde benchmarks/):
+ *   java -cp target/benchmarks.jar com.armando0405.tuboletascraper.benchmark.PruebaCarga \
+ *       --shows=5000 --por-pagina=48 --mutacion=0.05 --latencia-ms=50 --jitter-ms=50 \
+ *       --errores=0.01 --ciclos=20 --modo=http --salida=target/carga-resultado.json
+ *
+ * modo=servicio llama a SnapshotService.ejecutarMonitoreoCompleto(); modo=http a GET /api/monitor.
+ */
+public final class PruebaCarga {
+
+    private PruebaCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = leerOpciones(args);
+        int shows = Integer.parseInt(opciones.getOrDefault("shows", "1000"));
+        int porPagina = Integer.parseInt(opciones.getOrDefault("por-pagina", "48"));
+        double mutacion = Double.parseDouble(opciones.getOrDefault("mutacion", "0.05"));
+        long latenciaMs = Long.parseLong(opciones.getOrDefault("latencia-ms", "20"));
+        long jitterMs = Long.parseLong(opciones.getOrDefault("jitter-ms", "20"));
+        double errores = Double.parseDouble(opciones.getOrDefault("errores", "0"));
+        int ciclos = Integer.parseInt(opciones.getOrDefault("ciclos", "10"));
+        String modo = opciones.getOrDefault("modo", "servicio");
+        String salida = opciones.getOrDefault("salida", "target/carga-resultado.json");
+
+        int totalPaginas = (shows + porPagina - 1) / porPagina;
+
+        try (ServidorTuBoletaFalso servidor = new ServidorTuBoletaFalso(shows, porPagina, mutacion, latenciaMs, jitterMs, errores);
+             ConfigurableApplicationContext contexto = AplicacionEmbebida.arrancar(
+                     "--spring.main.web-application-type=" + ("http".equals(modo) ? "servlet" : "none"),
+                     "--server.port=0",
+                     "--scraping.tuboleta.base-url=" + servidor.getBaseUrl(),
+                     "--scraping.tuboleta.search-url=" + ServidorTuBoletaFalso.RUTA_BUSQUEDA + "?s=fucks+news",
+                     "--scraping.tuboleta.rate-limit=0",
+                     "--scraping.tuboleta.max-pages=" + Math.max(1, totalPaginas),
+                     "--scraping.tuboleta.max-concurrent-per-host=" + opciones.getOrDefault("concurrencia", "8"))) {
+
+            SnapshotService snapshotService = contexto.getBean(SnapshotService.class);
+            JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+            HttpClient http = HttpClient.newHttpClient();
+            String urlMonitor = "http".equals(modo)
+                    ? "http://127.0.0.1:" + ((WebServerApplicationContext) contexto).getWebServer().getPort() + "/api/monitor"
+                    : null;
+
+            MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+            System.gc();
+            long heapInicial = memoria.getHeapMemoryUsage().getUsed();
+            Map<String, Long> filasIniciales = contarFilas(jdbc);
+            List<MemoryPoolMXBean> poolsHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .toList();
+            poolsHeap.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+            List<Long> latencias = new ArrayList<>();
+            int fallidos = 0;
+            long inicio = System.nanoTime();
+
+            for (int i = 0; i < ciclos; i++) {
+                long inicioCiclo = System.nanoTime();
+                try {
+                    if (urlMonitor != null) {
+                        HttpResponse<String> respuesta = http.send(HttpRequest.newBuilder(URI.create(urlMonitor)).GET().build(),
+                                HttpResponse.BodyHandlers.ofString());
+                        if (respuesta.statusCode() != 200) {
+                            fallidos++;
+                        }
+                    } else {
+                        snapshotService.ejecutarMonitoreoCompleto();
+                    }
+                } catch (Exception e) {
+                    fallidos++;
+                    System.err.printf("Ciclo %d falló: %s%n", i, e.getMessage());
+                }
+                latencias.add((System.nanoTime() - inicioCiclo) / 1_000_000);
+            }
+
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            // Suma de los picos de cada pool: cota superior, los pools no alcanzan su pico a la vez
+            long heapPico = poolsHeap.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            System.gc();
+            long heapFinal = memoria.getHeapMemoryUsage().getUsed();
+            Map<String, Long> filasFinales = contarFilas(jdbc);
+
+            Map<String, Object> resultado = new LinkedHashMap<>();
+            resultado.put("configuracion", opciones);
+            resultado.put("ciclos", ciclos);
+            resultado.put("ciclosFallidos", fallidos);
+            resultado.put("ciclosPorSegundo", ciclos / segundos);
+            resultado.put("showsPorSegundo", (double) shows * ciclos / segundos);
+            resultado.put("latenciaMs", percentiles(latencias));
+            resultado.put("heapMb", Map.of(
+                    "inicial", heapInicial / (1024 * 1024),
+                    "pico", heapPico / (1024 * 1024),
+                    "finalTrasGc", heapFinal / (1024 * 1024)));
+            resultado.put("filasBd", Map.of("inicio", filasIniciales, "fin", filasFinales));
+            resultado.put("crecimientoFilasPorCiclo", filasFinales.entrySet().stream().collect(Collectors.toMap(
+                    Map.Entry::getKey, e -> (double) (e.getValue() - filasIniciales.get(e.getKey())) / ciclos)));
+            resultado.put("peticionesServidor", servidor.getPeticiones());
+            resultado.put("erroresInyectados", servidor.getErrores());
+
+            ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            File archivo = new File(salida);
+            if (archivo.getParentFile() != null) {
+                archivo.getParentFile().mkdirs();
+            }
+            json.writeValue(archivo, resultado);
+            System.out.println(json.writeValueAsString(resultado));
+        }
+    }
+
+    private static Map<String, Long> contarFilas(JdbcTemplate jdbc) {
+        List<String> tablas = jdbc.queryForList("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE' ORDER BY TABLE_NAME", String.class);
+        Map<String, Long> filas = new LinkedHashMap<>();
+        for (String tabla : tablas) {
+            filas.put(tabla.toLowerCase(Locale.ROOT), jdbc.queryForObject("SELECT COUNT(*) FROM " + tabla, Long.class));
+        }
+        return filas;
+    }
+
+    private static Map<String, Long> percentiles(List<Long> valores) {
+        List<Long> ordenados = new ArrayList<>(valores);
+        Collections.sort(ordenados);
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        for (int p : new int[]{50, 90, 95, 99}) {
+            int indice = (int) Math.ceil(p / 100.0 * ordenados.size()) - 1;
+            resultado.put("p" + p, ordenados.get(Math.max(0, indice)));
+        }
+        resultado.put("max", ordenados.get(ordenados.size() - 1));
+        return resultado;
+    }
+
+    private static Map<String, String> leerOpciones(String[] args) {
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .map(arg -> arg.substring(2).split("=", 2))
+                .collect(Collectors.toMap(partes -> partes[0], partes -> partes[1], (a, b) -> b, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,194 @@
+package com.armando0405.tuboletascraper.benchmark;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🎭 SERVIDOR FALSO CON LA FORMA DE TUBOLETA
+ *
+ * Sirve /es/resultados-de-busqueda?...&page=N con páginas generadas por DatosSinteticos
+ * y /es/eventos/<slug> con el JSON-LD del detalle. Configurable:
+ * - shows y showsPorPagina (paginación Drupal 0-based)
+ * - tasaMutacion: cada vez que se pide la página 0 (inicio de un ciclo) la cartelera
+ *   avanza una generación con esa tasa de cambio
+ * - latenciaMs (+ hasta jitterMs al azar) por respuesta
+ * - tasaError: probabilidad de responder HTTP 500
+ *
+ * Responde con gzip si el cliente lo acepta y con 304 si el ETag de la página no cambió.
+ */
+public class ServidorTuBoletaFalso implements AutoCloseable {
+
+    public static final String RUTA_BUSQUEDA = "/es/resultados-de-busqueda";
+    private static final String RUTA_EVENTOS = "/es/eventos/";
+    private static final Pattern PAGINA = Pattern.compile("[?&]page=(\\d+)");
+
+    private final int showsPorPagina;
+    private final double tasaMutacion;
+    private final long latenciaMs;
+    private final long jitterMs;
+    private final double tasaError;
+    private final HttpServer servidor;
+
+    private final AtomicLong peticiones = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+    private volatile Cartelera cartelera;
+
+    public ServidorTuBoletaFalso(int shows, int showsPorPagina, double tasaMutacion,
+                                 long latenciaMs, long jitterMs, double tasaError) throws IOException {
+        this.showsPorPagina = showsPorPagina;
+        this.tasaMutacion = tasaMutacion;
+        this.latenciaMs = latenciaMs;
+        this.jitterMs = jitterMs;
+        this.tasaError = tasaError;
+        this.cartelera = new Cartelera(0, DatosSinteticos.shows(shows, 42));
+
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.createContext(RUTA_BUSQUEDA, this::atenderBusqueda);
+        servidor.createContext(RUTA_EVENTOS, this::atenderDetalle);
+        servidor.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort();
+    }
+
+    public long getPeticiones() {
+        return peticiones.get();
+    }
+
+    public long getErrores() {
+        return errores.get();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+    }
+
+    private void atenderBusqueda(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!prepararRespuesta(intercambio)) {
+                return;
+            }
+
+            int pagina = numeroPagina(intercambio.getRequestURI());
+            if (pagina == 0) {
+                avanzarGeneracion();
+            }
+
+            Cartelera actual = cartelera;
+            int totalPaginas = Math.max(1, (actual.shows().size() + showsPorPagina - 1) / showsPorPagina);
+            if (pagina >= totalPaginas) {
+                responder(intercambio, 404, "text/html", "<html><body>No encontrado</body></html>", null);
+                return;
+            }
+
+            String etag = "\"g" + actual.generacion() + "-p" + pagina + "\"";
+            if (etag.equals(intercambio.getRequestHeaders().getFirst("If-None-Match"))) {
+                intercambio.getResponseHeaders().set("ETag", etag);
+                intercambio.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            List<Show> shows = actual.shows().subList(pagina * showsPorPagina,
+                    Math.min(actual.shows().size(), (pagina + 1) * showsPorPagina));
+            responder(intercambio, 200, "text/html; charset=UTF-8",
+                    DatosSinteticos.paginaResultados(shows, pagina, totalPaginas), etag);
+        }
+    }
+
+    private void atenderDetalle(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!prepararRespuesta(intercambio)) {
+                return;
+            }
+            // La hora sale del slug para que sea estable entre ciclos
+            int hash = Math.abs(intercambio.getRequestURI().getPath().hashCode());
+            String html = "<html><head><script type=\"application/ld+json\">{\"@type\": \"MusicEvent\", "
+                    + "\"startDate\": \"2030-01-01T" + String.format("%02d:%02d", 18 + hash % 5, (hash % 4) * 15)
+                    + ":00-05:00\"}</script></head><body><h1>Evento</h1></body></html>";
+            responder(intercambio, 200, "text/html; charset=UTF-8", html, null);
+        }
+    }
+
+    /**
+     * Aplica latencia y errores inyectados; devuelve false si ya se respondió con error.
+     */
+    private boolean prepararRespuesta(HttpExchange intercambio) throws IOException {
+        peticiones.incrementAndGet();
+        long espera = latenciaMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (espera > 0) {
+            try {
+                Thread.sleep(espera);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (tasaError > 0 && ThreadLocalRandom.current().nextDouble() < tasaError) {
+            errores.incrementAndGet();
+            responder(intercambio, 500, "text/plain", "Error inyectado", null);
+            return false;
+        }
+        return true;
+    }
+
+    private synchronized void avanzarGeneracion() {
+        if (tasaMutacion <= 0) {
+            return;
+        }
+        Cartelera actual = cartelera;
+        long siguiente = actual.generacion() + 1;
+        cartelera = new Cartelera(siguiente, DatosSinteticos.mutar(actual.shows(), tasaMutacion, siguiente));
+    }
+
+    private static void responder(HttpExchange intercambio, int status, String contentType, String cuerpo, String etag)
+            throws IOException {
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = intercambio.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            bytes = gzip(bytes);
+            intercambio.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        intercambio.getResponseHeaders().set("Content-Type", contentType);
+        if (etag != null) {
+            intercambio.getResponseHeaders().set("ETag", etag);
+        }
+        intercambio.sendResponseHeaders(status, bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+
+    private static int numeroPagina(URI uri) {
+        Matcher matcher = PAGINA.matcher("?" + (uri.getRawQuery() != null ? uri.getRawQuery() : ""));
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    private static byte[] gzip(byte[] datos) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        }
+        return salida.toByteArray();
+    }
+
+    private record Cartelera(long generacion, List<Show> shows) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.armando0405.tuboletascraper.config;
+
+import com.armando0405.tuboletascraper.service.fetch.CircuitBreaker;
+import com.armando0405.tuboletascraper.service.fetch.CircuitBreakerPageFetcher;
+import com.armando0405.tuboletascraper.service.fetch.HedgingPageFetcher;
+import com.armando0405.tuboletascraper.service.fetch.HttpArchive;
+import com.armando0405.tuboletascraper.service.fetch.HttpClientPageFetcher;
+import com.armando0405.tuboletascraper.service.fetch.LatencyTracker;
+import com.armando0405.tuboletascraper.service.fetch.PageFetcher;
+import com.armando0405.tuboletascraper.service.fetch.RateLimitedPageFetcher;
+import com.armando0405.tuboletascraper.service.fetch.RecordingPageFetcher;
+import com.armando0405.tuboletascraper.service.fetch.ReplayPageFetcher;
+import com.armando0405.tuboletascraper.service.fetch.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 🔗 CADENA DE DESCARGA
+ *
+ * Arma el PageFetcher que usa el scraper decorando el fetcher HTTP:
+ * circuit breaker + backoff → rate limit por host → hedging + timeout adaptativo → HttpClient
+ *
+ * El hedging va debajo del rate limit para que la espera del token bucket no
+ * cuente como latencia (dispararía copias sin motivo); por eso cada copia hedged
+ * pide su propio token antes de salir.
+ *
+ * archive.mode: record graba en el HttpArchive la respuesta final de cada descarga
+ * (encima de toda la cadena, así no quedan grabadas las copias hedged ni los
+ * reintentos) y replay sirve esas grabaciones directamente, sin el resto de la
+ * cadena, para que cada descarga consuma exactamente una grabación.
+ */
+@Configuration
+public class FetchConfig {
+
+    @Bean
+    @Primary
+    public PageFetcher pageFetcher(HttpClientPageFetcher httpClientPageFetcher,
+                                   TokenBucketRateLimiter rateLimiter,
+                                   CircuitBreaker circuitBreaker,
+                                   LatencyTracker latencyTracker,
+                                   HttpArchive httpArchive,
+                                   ExecutorService scrapingExecutor,
+                                   @Value("${scraping.tuboleta.timeout}") long timeoutMs,
+                                   @Value("${scraping.tuboleta.latency.min-timeout-ms:1000}") long timeoutMinimoMs,
+                                   @Value("${scraping.tuboleta.latency.timeout-multiplier:3.0}") double multiplicadorTimeout,
+                                   @Value("${scraping.tuboleta.throttled-retries:2}") int reintentosLimitado,
+                                   @Value("${scraping.tuboleta.retry.max-attempts:3}") int maxIntentos,
+                                   @Value("${scraping.tuboleta.retry.base-delay-ms:500}") long backoffBaseMs,
+                                   @Value("${scraping.tuboleta.retry.max-delay-ms:8000}") long backoffMaximoMs,
+                                   @Value("${scraping.tuboleta.archive.mode:off}") String modoArchivo,
+                                   @Value("${scraping.tuboleta.archive.replay-latency-ms:-1}") long latenciaReplayMs) {
+        String modo = modoArchivo.trim().toLowerCase(Locale.ROOT);
+        if (modo.equals("replay")) {
+            // Sin hedging, rate limit ni reintentos: cada descarga consume una sola grabación
+            return new ReplayPageFetcher(httpArchive, latenciaReplayMs);
+        }
+
+        PageFetcher fetcher = new HedgingPageFetcher(httpClientPageFetcher, latencyTracker, rateLimiter, scrapingExecutor,
+                Duration.ofMillis(timeoutMs), Duration.ofMillis(timeoutMinimoMs), multiplicadorTimeout);
+        fetcher = new RateLimitedPageFetcher(fetcher, rateLimiter, reintentosLimitado);
+        fetcher = new CircuitBreakerPageFetcher(fetcher, circuitBreaker, maxIntentos, backoffBaseMs, backoffMaximoMs);
+        return modo.equals("record") ? new RecordingPageFetcher(fetcher, httpArchive) : fetcher;
+    }
+}
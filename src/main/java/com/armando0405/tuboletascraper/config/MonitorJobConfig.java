@@ -0,0 +1,30 @@
+package com.armando0405.tuboletascraper.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🧵 EXECUTOR DE LOS MONITOREOS ASÍNCRONOS (/api/monitor/jobs)
+ *
+ * Hilos virtuales, pero con un número fijo de ejecuciones simultáneas y una cola
+ * acotada: si la cola está llena el envío se rechaza (AbortPolicy) en vez de
+ * acumular trabajos. No es candidato por defecto para que los @Autowired
+ * ExecutorService existentes sigan recibiendo scrapingExecutor.
+ */
+@Configuration
+public class MonitorJobConfig {
+
+    @Bean(destroyMethod = "shutdownNow", defaultCandidate = false)
+    public ThreadPoolExecutor monitorJobExecutor(@Value("${monitor.jobs.threads:1}") int hilos,
+                                                 @Value("${monitor.jobs.queue-capacity:10}") int capacidadCola) {
+        return new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, capacidadCola)),
+                Thread.ofVirtual().name("monitor-job-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
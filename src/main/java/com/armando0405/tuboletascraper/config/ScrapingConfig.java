@@ -1,4 +1,65 @@
 package com.armando0405.tuboletascraper.config;
 
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ⚙️ CONFIGURACIÓN DEL SCRAPING MULTI-CONSULTA
+ *
+ * Propiedades bajo scraping.tuboleta:
+ * - queries: lista de search-urls a consultar en cada ciclo (si está vacía se usa search-url)
+ * - max-concurrent-per-host: máximo de peticiones simultáneas contra un mismo host
+ * - parse-mode: dom (documento completo) o streaming (artículo por artículo)
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "scraping.tuboleta")
 public class ScrapingConfig {
+
+    private List<String> queries = new ArrayList<>();
+
+    private int maxConcurrentPerHost = 4;
+
+    private ParseMode parseMode = ParseMode.DOM;
+
+    /**
+     * 🧵 Executor de hilos virtuales para las consultas concurrentes
+     *
+     * Cada consulta corre en su propio hilo virtual: bloquearse en I/O
+     * no ocupa un hilo de plataforma, así que N consultas tardan
+     * aproximadamente lo que tarda la más lenta.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService scrapingExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * 🌐 HttpClient compartido por todas las descargas del scraper
+     *
+     * Mantiene un pool de conexiones keep-alive y negocia HTTP/2 (con fallback
+     * a HTTP/1.1), así los ciclos siguientes reutilizan la conexión TLS.
+     */
+    @Bean
+    public HttpClient scrapingHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public enum ParseMode {
+        DOM,
+        STREAMING
+    }
 }
@@ -0,0 +1,64 @@
+package com.armando0405.tuboletascraper.controller;
+
+import com.armando0405.tuboletascraper.service.ChangeQueryService;
+import com.armando0405.tuboletascraper.service.EventoCambio;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🧾 CAMBIOS DETECTADOS
+ *
+ * - /api/cambios?campo=FECHA&ciudad=Medellín → cambios filtrados (por defecto, el mes en curso)
+ * - /api/cambios/shows/{showId}              → todos los cambios de un show
+ */
+@RestController
+@RequestMapping("/api/cambios")
+public class CambiosController {
+
+    @Autowired
+    private ChangeQueryService changeQueryService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> buscar(
+            @RequestParam(required = false) EventoCambio.Campo campo,
+            @RequestParam(required = false) String ciudad,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        long startTime = System.currentTimeMillis();
+        LocalDateTime inicio = desde != null ? desde : LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        LocalDateTime fin = hasta != null ? hasta : LocalDateTime.now();
+
+        List<Map<String, Object>> cambios = changeQueryService.buscar(campo, ciudad, inicio, fin);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("desde", inicio);
+        response.put("hasta", fin);
+        response.put("totalCambios", cambios.size());
+        response.put("cambios", cambios);
+        response.put("executionTimeMs", System.currentTimeMillis() - startTime);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/shows/{showId}")
+    public ResponseEntity<Map<String, Object>> deShow(@PathVariable String showId) {
+        List<Map<String, Object>> cambios = changeQueryService.deShow(showId);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("showIdUnico", showId);
+        response.put("totalCambios", cambios.size());
+        response.put("cambios", cambios);
+        return ResponseEntity.ok(response);
+    }
+}
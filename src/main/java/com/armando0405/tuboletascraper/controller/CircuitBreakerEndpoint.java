@@ -0,0 +1,27 @@
+package com.armando0405.tuboletascraper.controller;
+
+import com.armando0405.tuboletascraper.service.fetch.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 🔌 ACTUATOR: /actuator/circuitbreaker
+ *
+ * Estado actual del circuit breaker de TuBoleta, contadores y últimas transiciones.
+ */
+@Component
+@Endpoint(id = "circuitbreaker")
+public class CircuitBreakerEndpoint {
+
+    @Autowired
+    private CircuitBreaker circuitBreaker;
+
+    @ReadOperation
+    public Map<String, Object> estado() {
+        return circuitBreaker.resumen();
+    }
+}
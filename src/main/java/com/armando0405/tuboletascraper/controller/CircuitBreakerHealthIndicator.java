@@ -0,0 +1,28 @@
+package com.armando0405.tuboletascraper.controller;
+
+import com.armando0405.tuboletascraper.service.fetch.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🔌 Detalle del circuit breaker en /actuator/health.
+ *
+ * Siempre reporta UP: que TuBoleta esté caído no significa que la API lo esté,
+ * y un DOWN haría que la plataforma reinicie la aplicación sin motivo.
+ */
+@Component
+public class CircuitBreakerHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private CircuitBreaker circuitBreaker;
+
+    @Override
+    public Health health() {
+        return Health.up()
+                .withDetail("estado", circuitBreaker.getEstado())
+                .withDetail("abiertoHasta", String.valueOf(circuitBreaker.getAbiertoHasta()))
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.armando0405.tuboletascraper.controller;
+
+import com.armando0405.tuboletascraper.service.ShowHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🕰️ HISTORIAL DE LA CARTELERA
+ *
+ * - /api/historial/cartelera?fecha=2025-10-01T12:00 → shows listados en ese instante
+ * - /api/historial/rango?desde=...&hasta=...       → versiones vigentes en algún momento del rango
+ * - /api/historial/shows/{showId}                  → intervalos de un show y cuánto estuvo listado
+ */
+@RestController
+@RequestMapping("/api/historial")
+public class HistorialController {
+
+    @Autowired
+    private ShowHistoryService showHistoryService;
+
+    @GetMapping("/cartelera")
+    public ResponseEntity<Map<String, Object>> carteleraEn(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fecha) {
+        long startTime = System.currentTimeMillis();
+        List<Map<String, Object>> shows = showHistoryService.carteleraEn(fecha);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("fecha", fecha);
+        response.put("totalShows", shows.size());
+        response.put("shows", shows);
+        response.put("executionTimeMs", System.currentTimeMillis() - startTime);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/rango")
+    public ResponseEntity<Map<String, Object>> vigentesEntre(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        if (!desde.isBefore(hasta)) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "'desde' debe ser anterior a 'hasta'"));
+        }
+
+        long startTime = System.currentTimeMillis();
+        List<Map<String, Object>> versiones = showHistoryService.vigentesEntre(desde, hasta);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("desde", desde);
+        response.put("hasta", hasta);
+        response.put("totalVersiones", versiones.size());
+        response.put("versiones", versiones);
+        response.put("executionTimeMs", System.currentTimeMillis() - startTime);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/shows/{showId}")
+    public ResponseEntity<Map<String, Object>> historiaDeShow(@PathVariable String showId) {
+        Map<String, Object> historia = showHistoryService.historiaDeShow(showId);
+        if ((int) historia.get("totalIntervalos") == 0) {
+            return ResponseEntity.status(404).body(Map.of(
+                    "success", false,
+                    "message", "Show sin historial: " + showId));
+        }
+        return ResponseEntity.ok(historia);
+    }
+}
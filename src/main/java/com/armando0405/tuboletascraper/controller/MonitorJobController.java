@@ -0,0 +1,109 @@
+package com.armando0405.tuboletascraper.controller;
+
+import com.armando0405.tuboletascraper.service.MonitorJobService;
+import com.armando0405.tuboletascraper.service.MonitorJobService.EstadoTrabajo;
+import com.armando0405.tuboletascraper.service.MonitorJobService.TrabajoMonitoreo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 📬 MONITOREO ASÍNCRONO
+ *
+ * POST /api/monitor/jobs responde 202 con el id del trabajo sin esperar al
+ * scraping; el estado se consulta en /api/monitor/jobs/{id} y el resultado
+ * (el mismo JSON de /api/monitor) en /api/monitor/jobs/{id}/resultado.
+ * Con la cola llena se responde 503 con Retry-After.
+ */
+@RestController
+@RequestMapping("/api/monitor/jobs")
+public class MonitorJobController {
+
+    @Autowired
+    private MonitorJobService monitorJobService;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> enviar() {
+        TrabajoMonitoreo trabajo;
+        try {
+            trabajo = monitorJobService.enviar();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503)
+                    .header("Retry-After", "30")
+                    .body(Map.of(
+                            "success", false,
+                            "message", "Demasiados monitoreos en espera, intenta más tarde",
+                            "jobs", monitorJobService.resumen()));
+        }
+
+        String url = "/api/monitor/jobs/" + trabajo.id();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("jobId", trabajo.id());
+        response.put("estado", trabajo.estado());
+        response.put("statusUrl", url);
+        response.put("resultUrl", url + "/resultado");
+        return ResponseEntity.accepted().location(URI.create(url)).body(response);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> estado(@PathVariable String id) {
+        Optional<TrabajoMonitoreo> trabajo = monitorJobService.obtener(id);
+        if (trabajo.isEmpty()) {
+            return noEncontrado(id);
+        }
+
+        TrabajoMonitoreo actual = trabajo.get();
+        Map<String, Object> response = new HashMap<>();
+        response.put("jobId", actual.id());
+        response.put("estado", actual.estado());
+        response.put("creado", actual.creado());
+        response.put("iniciado", actual.iniciado());
+        response.put("terminado", actual.terminado());
+        response.put("error", actual.error());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/resultado")
+    public ResponseEntity<Map<String, Object>> resultado(@PathVariable String id) {
+        Optional<TrabajoMonitoreo> trabajo = monitorJobService.obtener(id);
+        if (trabajo.isEmpty()) {
+            return noEncontrado(id);
+        }
+
+        TrabajoMonitoreo actual = trabajo.get();
+        if (actual.estado() == EstadoTrabajo.COMPLETADO) {
+            return ResponseEntity.ok(actual.resultado());
+        }
+        if (actual.estado() == EstadoTrabajo.FALLIDO) {
+            return ResponseEntity.status(500).body(Map.of(
+                    "success", false,
+                    "message", "Error en monitoreo: " + actual.error()));
+        }
+        // Aún en cola o en curso
+        return ResponseEntity.accepted()
+                .header("Retry-After", "5")
+                .body(Map.of("jobId", actual.id(), "estado", actual.estado()));
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> resumen() {
+        return ResponseEntity.ok(monitorJobService.resumen());
+    }
+
+    private ResponseEntity<Map<String, Object>> noEncontrado(String id) {
+        return ResponseEntity.status(404).body(Map.of(
+                "success", false,
+                "message", "Trabajo no encontrado (o ya expirado): " + id));
+    }
+}
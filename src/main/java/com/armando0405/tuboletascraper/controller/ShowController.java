@@ -1,8 +1,9 @@
 package com.armando0405.tuboletascraper.controller;
 
-import com.armando0405.tuboletascraper.dao.entity.Show;
 import com.armando0405.tuboletascraper.service.EmailNotificationService;
 import com.armando0405.tuboletascraper.service.ScrapingService;
+import com.armando0405.tuboletascraper.service.ShowExtractor;
+import com.armando0405.tuboletascraper.service.SingleFlightCoordinator;
 import com.armando0405.tuboletascraper.service.SnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +25,12 @@ public class ShowController {
     @Autowired
     private ScrapingService scrapingService;
 
+    @Autowired
+    private ShowExtractor showExtractor;
+
+    @Autowired
+    private SingleFlightCoordinator singleFlight;
+
     @Autowired(required = false)
     private EmailNotificationService emailNotificationService;
 
@@ -33,8 +40,8 @@ public class ShowController {
         try {
             long startTime = System.currentTimeMillis();
 
-            // Hacer scraping
-            List<Show> shows = scrapingService.scrapeShows();
+            // Hacer scraping (compartido con peticiones simultáneas y reutilizado unos segundos)
+            ScrapingService.ScrapingReciente scraping = scrapingService.scrapeShowsCompartido();
 
             long executionTime = System.currentTimeMillis() - startTime;
 
@@ -42,9 +49,14 @@ public class ShowController {
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Scraping realizado exitosamente");
-            response.put("totalShows", shows.size());
+            response.put("totalShows", scraping.shows().size());
             response.put("executionTimeMs", executionTime);
-            response.put("shows", shows);
+            response.put("scrapingMs", scraping.duracionMs());
+            response.put("obtenidoEn", scraping.obtenidoEn());
+            response.put("tiemposPorPagina", scraping.tiemposPorPagina());
+            response.put("memoExtraccion", showExtractor.getEstadisticasMemo());
+            response.put("singleFlight", singleFlight.resumen());
+            response.put("shows", scraping.shows());
 
             return ResponseEntity.ok(response);
 
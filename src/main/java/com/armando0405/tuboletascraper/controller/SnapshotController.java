@@ -0,0 +1,110 @@
+package com.armando0405.tuboletascraper.controller;
+
+import com.armando0405.tuboletascraper.service.EventoCambio;
+import com.armando0405.tuboletascraper.service.SnapshotActual;
+import com.armando0405.tuboletascraper.service.SnapshotDiffService;
+import com.armando0405.tuboletascraper.service.SnapshotEnMemoria;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 📖 LECTURA DEL ÚLTIMO SNAPSHOT
+ *
+ * Se responde desde el estado en memoria (SnapshotEnMemoria) sin consultar la
+ * BD: el JSON ya viene serializado y el hash del snapshot sirve de ETag.
+ *
+ * /api/snapshot/diff?desde=1&hasta=5 compara dos snapshots cualesquiera (ver SnapshotDiffService).
+ */
+@RestController
+@RequestMapping("/api/snapshot")
+public class SnapshotController {
+
+    @Autowired
+    private SnapshotEnMemoria snapshotEnMemoria;
+
+    @Autowired
+    private SnapshotDiffService snapshotDiffService;
+
+    @GetMapping("/actual")
+    public ResponseEntity<?> snapshotActual(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return responder(ifNoneMatch, false);
+    }
+
+    @GetMapping("/actual/resumen")
+    public ResponseEntity<?> resumenActual(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return responder(ifNoneMatch, true);
+    }
+
+    @GetMapping("/actual/shows/{showId}")
+    public ResponseEntity<?> showActual(@PathVariable String showId) {
+        Optional<SnapshotActual> actual = snapshotEnMemoria.actual();
+        if (actual.isEmpty()) {
+            return sinSnapshot();
+        }
+
+        SnapshotActual.ShowVigente show = actual.get().showsPorId().get(showId);
+        if (show == null) {
+            return ResponseEntity.status(404).body(Map.of(
+                    "success", false,
+                    "message", "Show no encontrado en el snapshot actual: " + showId));
+        }
+        return ResponseEntity.ok(show);
+    }
+
+    @GetMapping("/diff")
+    public ResponseEntity<Map<String, Object>> diff(@RequestParam Long desde, @RequestParam Long hasta) {
+        long startTime = System.currentTimeMillis();
+        Optional<SnapshotDiffService.ResultadoDiff> resultado = snapshotDiffService.diferencias(desde, hasta);
+        if (resultado.isEmpty()) {
+            return ResponseEntity.status(404).body(Map.of(
+                    "success", false,
+                    "message", String.format("Snapshot no encontrado (desde=%d, hasta=%d)", desde, hasta)));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("desde", desde);
+        response.put("hasta", hasta);
+        response.put("totalCambios", resultado.get().eventos().size());
+        response.put("porTipo", resultado.get().eventos().stream()
+                .collect(Collectors.groupingBy(EventoCambio::tipo, Collectors.counting())));
+        response.put("eventos", resultado.get().eventos());
+        response.put("desdeCache", resultado.get().desdeCache());
+        response.put("executionTimeMs", System.currentTimeMillis() - startTime);
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<?> responder(String ifNoneMatch, boolean resumen) {
+        Optional<SnapshotActual> actual = snapshotEnMemoria.actual();
+        if (actual.isEmpty()) {
+            return sinSnapshot();
+        }
+
+        SnapshotActual snapshot = actual.get();
+        String etag = "\"" + snapshot.hash() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(resumen ? snapshot.payloadResumen() : snapshot.payload());
+    }
+
+    private ResponseEntity<Map<String, Object>> sinSnapshot() {
+        return ResponseEntity.status(404).body(Map.of(
+                "success", false,
+                "message", "Todavía no hay snapshots: ejecute /api/monitor"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.armando0405.tuboletascraper.dao.entity;
+
+import com.armando0405.tuboletascraper.service.EventoCambio;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Un cambio individual de un RegistroCambios (agregado, eliminado o campo
+ * modificado). Ciudad y fecha de detección se repiten aquí para que las
+ * consultas por show, campo, ciudad y periodo vayan por índice.
+ */
+@Entity
+@Table(name = "cambio_show", indexes = {
+        @Index(name = "idx_cambio_show_fecha", columnList = "show_id_unico, fecha_deteccion"),
+        @Index(name = "idx_cambio_campo_fecha", columnList = "campo, fecha_deteccion"),
+        @Index(name = "idx_cambio_ciudad_campo_fecha", columnList = "ciudad, campo, fecha_deteccion"),
+        @Index(name = "idx_cambio_ciudad_fecha", columnList = "ciudad, fecha_deteccion"),
+        @Index(name = "idx_cambio_fecha", columnList = "fecha_deteccion")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambioShow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cambio_show_seq")
+    @SequenceGenerator(name = "cambio_show_seq", sequenceName = "cambio_show_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "registro_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RegistroCambios registro;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EventoCambio.Tipo tipo;
+
+    @Column(name = "show_id_unico", nullable = false, length = 200)
+    private String showIdUnico;
+
+    @Column(length = 300)
+    private String titulo;
+
+    @Column(length = 100)
+    private String ciudad;
+
+    @Column(name = "fecha_show")
+    private LocalDate fechaShow;
+
+    // Solo en CAMPO_MODIFICADO
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private EventoCambio.Campo campo;
+
+    @Column(name = "valor_anterior", length = 500)
+    private String valorAnterior;
+
+    @Column(name = "valor_nuevo", length = 500)
+    private String valorNuevo;
+
+    @Column(name = "fecha_deteccion", nullable = false)
+    private LocalDateTime fechaDeteccion;
+
+    public static CambioShow de(EventoCambio evento, RegistroCambios registro, LocalDateTime fechaDeteccion) {
+        return CambioShow.builder()
+                .registro(registro)
+                .tipo(evento.tipo())
+                .showIdUnico(evento.showIdUnico())
+                .titulo(evento.titulo())
+                .ciudad(evento.ciudad())
+                .fechaShow(evento.fechaShow())
+                .campo(evento.campo())
+                .valorAnterior(evento.valorAnterior())
+                .valorNuevo(evento.valorNuevo())
+                .fechaDeteccion(fechaDeteccion)
+                .build();
+    }
+}
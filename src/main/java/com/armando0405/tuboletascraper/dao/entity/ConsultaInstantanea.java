@@ -12,7 +12,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "consulta_instantanea")
+@Table(name = "consulta_instantanea", indexes = {
+        @Index(name = "idx_consulta_hash", columnList = "hash_contenido")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,7 +22,8 @@ import java.util.List;
 public class ConsultaInstantanea {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consulta_instantanea_seq")
+    @SequenceGenerator(name = "consulta_instantanea_seq", sequenceName = "consulta_instantanea_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "fecha_hora", nullable = false)
@@ -29,7 +32,8 @@ public class ConsultaInstantanea {
     @Column(name = "total_shows", nullable = false)
     private Integer totalShows;
 
-    @Column(name = "hash_contenido", length = 64, unique = true, nullable = false)
+    // No es único: volver a un estado anterior de la cartelera repite su hash
+    @Column(name = "hash_contenido", length = 64, nullable = false)
     private String hashContenido;
 
     @Column(name = "url_consulta", length = 500, nullable = false)
@@ -0,0 +1,56 @@
+package com.armando0405.tuboletascraper.dao.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo de vigencia de una versión de show (SCD tipo 2): desde el snapshot en
+ * que apareció hasta el snapshot en que cambió o dejó de listarse. Un intervalo
+ * abierto tiene validTo = VIGENTE (fecha centinela en lugar de NULL, para que los
+ * intervalos abiertos se lean con una igualdad sobre el índice de valid_to).
+ *
+ * Los cerrados se filtran con dos rangos (valid_to > T y valid_from <= T): hay un
+ * índice que empieza por cada columna y la BD usa el más selectivo para ese T
+ * (valid_to para instantes recientes, valid_from para los antiguos).
+ */
+@Entity
+@Table(name = "historial_show", indexes = {
+        @Index(name = "idx_historial_vigencia", columnList = "valid_to, valid_from"),
+        @Index(name = "idx_historial_desde", columnList = "valid_from, valid_to"),
+        @Index(name = "idx_historial_show", columnList = "show_id_unico, valid_from")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistorialShow {
+
+    public static final LocalDateTime VIGENTE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historial_show_seq")
+    @SequenceGenerator(name = "historial_show_seq", sequenceName = "historial_show_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "show_id_unico", nullable = false, length = 200)
+    private String showIdUnico;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "version_id", nullable = false)
+    private VersionShow versionShow;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDateTime validFrom;
+
+    @Column(name = "valid_to", nullable = false)
+    private LocalDateTime validTo;
+
+    public boolean estaVigente() {
+        return VIGENTE.equals(validTo);
+    }
+}
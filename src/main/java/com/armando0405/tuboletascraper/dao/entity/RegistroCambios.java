@@ -3,11 +3,15 @@ package com.armando0405.tuboletascraper.dao.entity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "registro_cambios")
@@ -29,6 +33,7 @@ public class RegistroCambios {
     @JoinColumn(name = "consulta_nueva_id", nullable = false)
     private ConsultaInstantanea consultaNueva;
 
+    // Texto legible para correos; los cambios consultables están en cambios (cambio_show)
     @Lob
     @Column(name = "resumen_cambios")
     private String resumenCambios;
@@ -39,4 +44,10 @@ public class RegistroCambios {
     @CreationTimestamp
     @Column(name = "fecha_deteccion")
     private LocalDateTime fechaDeteccion;
+
+    @OneToMany(mappedBy = "registro", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<CambioShow> cambios = new ArrayList<>();
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Locale;
 
 @Data
 @Builder
@@ -22,12 +23,68 @@ public class Show {
     private String urlFuente;
     private String rawHtml;
 
+    /**
+     * Normaliza "titulo|venue|ciudad" en una sola pasada, con el mismo resultado que:
+     * toLowerCase() → quitar todo lo que no sea [a-z0-9|\s] → espacios a "-" →
+     * pipes repetidos a uno → quitar guiones al inicio/final. Solo asigna el buffer
+     * y el String final.
+     */
     public void generateUniqueId() {
-        String base = titulo + "|" + venue + "|" + ciudad;
-        this.showUniqueId = base.toLowerCase()
-                .replaceAll("[^a-z0-9|\\s]", "") // Solo letras, números, pipes y espacios
-                .replaceAll("\\s+", "-")         // Espacios → guiones
-                .replaceAll("\\|+", "|")         // Múltiples pipes → uno solo
-                .replaceAll("^-+|-+$", "");      // Quitar guiones al inicio/final
+        String lang = Locale.getDefault().getLanguage();
+        boolean localeTurco = "tr".equals(lang) || "az".equals(lang);
+
+        String[] partes = {String.valueOf(titulo), String.valueOf(venue), String.valueOf(ciudad)};
+        char[] salida = new char[partes[0].length() + partes[1].length() + partes[2].length() + 2];
+        int n = 0;
+        char ultimo = 0;          // último carácter normalizado (' ' representa una racha de espacios)
+        boolean guionPendiente = false;
+
+        for (int p = 0; p < partes.length; p++) {
+            String parte = partes[p];
+            for (int i = -1; i < parte.length(); i++) {
+                // El separador "|" va antes de venue y de ciudad
+                char c = i < 0 ? (p == 0 ? 0 : '|') : normalizar(parte.charAt(i), localeTurco);
+                if (c == 0 || c == ultimo && (c == ' ' || c == '|')) {
+                    continue;
+                }
+                ultimo = c;
+                if (c == ' ') {
+                    guionPendiente = true;
+                    continue;
+                }
+                // Los guiones solo se escriben entre caracteres: así no quedan al inicio ni al final
+                if (guionPendiente && n > 0) {
+                    salida[n++] = '-';
+                }
+                guionPendiente = false;
+                salida[n++] = c;
+            }
+        }
+
+        this.showUniqueId = new String(salida, 0, n);
+    }
+
+    /**
+     * Minúscula de un carácter, ' ' para los espacios de \s, o 0 si el regex lo eliminaría.
+     */
+    private static char normalizar(char c, boolean localeTurco) {
+        if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '|') {
+            return c;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            // En turco/azerí "I" pasa a "ı", que luego se elimina
+            return localeTurco && c == 'I' ? 0 : (char) (c + ('a' - 'A'));
+        }
+        if (c == ' ' || c == '\t' || c == '\n' || c == '\013' || c == '\f' || c == '\r') {
+            return ' ';
+        }
+        // Únicos no ASCII cuya minúscula deja una letra ASCII: "İ" → "i̇" (el punto se elimina) y el signo Kelvin
+        if (c == '\u0130') {
+            return 'i';
+        }
+        if (c == '\u212A') {
+            return 'k';
+        }
+        return 0;
     }
 }
\ No newline at end of file
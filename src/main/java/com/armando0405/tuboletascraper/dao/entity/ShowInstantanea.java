@@ -4,51 +4,41 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
 import jakarta.persistence.*;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 
+/**
+ * Pertenencia de una versión de show a un snapshot. El contenido vive en
+ * VersionShow; showIdUnico y hashContenido se repiten aquí para comparar
+ * snapshots por pares (id, hash) sin join.
+ */
 @Entity
-@Table(name = "show_instantanea")
+@Table(name = "show_instantanea", indexes = {
+        @Index(name = "idx_show_instantanea_consulta_show", columnList = "consulta_id, show_id_unico")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ShowInstantanea {
 
+    // Secuencia con optimizador pooled (50 ids por llamada): sin IDENTITY, Hibernate puede agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "show_instantanea_seq")
+    @SequenceGenerator(name = "show_instantanea_seq", sequenceName = "show_instantanea_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "consulta_id", nullable = false)
     private ConsultaInstantanea consultaInstantanea;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "version_id", nullable = false)
+    private VersionShow versionShow;
+
     @Column(name = "show_id_unico", nullable = false, length = 200)
     private String showIdUnico;
 
-    @Column(nullable = false, length = 300)
-    private String titulo;
-
-    @Column(length = 200)
-    private String venue;
-
-    @Column(length = 100)
-    private String ciudad;
-
-    @Column(name = "fecha_show")
-    private LocalDate fechaShow;
-
-    @Column(name = "hora_show")
-    private LocalTime horaShow;
-
-    @Column(name = "url_fuente", length = 500)
-    private String urlFuente;
-
-    @CreationTimestamp
-    @Column(name = "fecha_creacion")
-    private LocalDateTime fechaCreacion;
-}
\ No newline at end of file
+    @Column(name = "hash_contenido", length = 32, nullable = false)
+    private String hashContenido;
+}
@@ -0,0 +1,61 @@
+package com.armando0405.tuboletascraper.dao.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Una versión distinta de un show, guardada una sola vez por hash de contenido.
+ * Los snapshots (ShowInstantanea) solo apuntan a estas filas.
+ */
+@Entity
+@Table(name = "version_show", indexes = {
+        @Index(name = "idx_version_show_id_unico", columnList = "show_id_unico")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionShow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "version_show_seq")
+    @SequenceGenerator(name = "version_show_seq", sequenceName = "version_show_seq", allocationSize = 50)
+    private Long id;
+
+    // MD5 de todos los campos del show (SnapshotHasher.hashShow)
+    @Column(name = "hash_contenido", length = 32, nullable = false, unique = true)
+    private String hashContenido;
+
+    @Column(name = "show_id_unico", nullable = false, length = 200)
+    private String showIdUnico;
+
+    @Column(nullable = false, length = 300)
+    private String titulo;
+
+    @Column(length = 200)
+    private String venue;
+
+    @Column(length = 100)
+    private String ciudad;
+
+    @Column(name = "fecha_show")
+    private LocalDate fechaShow;
+
+    @Column(name = "hora_show")
+    private LocalTime horaShow;
+
+    @Column(name = "url_fuente", length = 500)
+    private String urlFuente;
+
+    @CreationTimestamp
+    @Column(name = "fecha_creacion")
+    private LocalDateTime fechaCreacion;
+}
@@ -0,0 +1,31 @@
+package com.armando0405.tuboletascraper.dao.repository;
+
+import com.armando0405.tuboletascraper.dao.entity.CambioShow;
+import com.armando0405.tuboletascraper.service.EventoCambio;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CambioShowRepository extends JpaRepository<CambioShow, Long> {
+
+    // Historia de cambios de un show
+    List<CambioShow> findByShowIdUnicoOrderByFechaDeteccionDesc(String showIdUnico);
+
+    // Cambios de un campo en una ciudad dentro de un periodo (p. ej. fechas en Medellín este mes)
+    List<CambioShow> findByCiudadAndCampoAndFechaDeteccionBetweenOrderByFechaDeteccionDesc(
+            String ciudad, EventoCambio.Campo campo, LocalDateTime desde, LocalDateTime hasta);
+
+    // Cambios de una ciudad dentro de un periodo, de cualquier campo
+    List<CambioShow> findByCiudadAndFechaDeteccionBetweenOrderByFechaDeteccionDesc(
+            String ciudad, LocalDateTime desde, LocalDateTime hasta);
+
+    // Cambios de un campo dentro de un periodo
+    List<CambioShow> findByCampoAndFechaDeteccionBetweenOrderByFechaDeteccionDesc(
+            EventoCambio.Campo campo, LocalDateTime desde, LocalDateTime hasta);
+
+    // Todos los cambios de un periodo
+    List<CambioShow> findByFechaDeteccionBetweenOrderByFechaDeteccionDesc(LocalDateTime desde, LocalDateTime hasta);
+}
@@ -16,8 +16,8 @@ public interface ConsultaInstantaneaRepository extends JpaRepository<ConsultaIns
     // Obtener la última consulta (más reciente)
     Optional<ConsultaInstantanea> findTopByOrderByFechaHoraDesc();
 
-    // Buscar por hash específico
-    Optional<ConsultaInstantanea> findByHashContenido(String hashContenido);
+    // Buscar la consulta más reciente con un hash específico (un hash puede repetirse)
+    Optional<ConsultaInstantanea> findFirstByHashContenidoOrderByFechaHoraDesc(String hashContenido);
 
     // Obtener consultas en un rango de fechas
     List<ConsultaInstantanea> findByFechaHoraBetweenOrderByFechaHoraDesc(
@@ -0,0 +1,53 @@
+package com.armando0405.tuboletascraper.dao.repository;
+
+import com.armando0405.tuboletascraper.dao.entity.HistorialShow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HistorialShowRepository extends JpaRepository<HistorialShow, Long> {
+
+    // Cartelera vigente en un instante (as-of), en dos partes: los intervalos abiertos
+    // (igualdad sobre valid_to, no recorre los cerrados) y los cerrados después del instante
+    @Query("SELECT h FROM HistorialShow h JOIN FETCH h.versionShow " +
+            "WHERE h.validTo = :vigente AND h.validFrom <= :instante")
+    List<HistorialShow> findAbiertosEn(@Param("instante") LocalDateTime instante,
+                                       @Param("vigente") LocalDateTime vigente);
+
+    @Query("SELECT h FROM HistorialShow h JOIN FETCH h.versionShow " +
+            "WHERE h.validTo > :instante AND h.validTo < :vigente AND h.validFrom <= :instante")
+    List<HistorialShow> findCerradosEn(@Param("instante") LocalDateTime instante,
+                                       @Param("vigente") LocalDateTime vigente);
+
+    // Versiones vigentes en algún momento del rango [desde, hasta), con la misma partición
+    @Query("SELECT h FROM HistorialShow h JOIN FETCH h.versionShow " +
+            "WHERE h.validTo = :vigente AND h.validFrom < :hasta")
+    List<HistorialShow> findAbiertosEntre(@Param("hasta") LocalDateTime hasta,
+                                          @Param("vigente") LocalDateTime vigente);
+
+    @Query("SELECT h FROM HistorialShow h JOIN FETCH h.versionShow " +
+            "WHERE h.validTo > :desde AND h.validTo < :vigente AND h.validFrom < :hasta")
+    List<HistorialShow> findCerradosEntre(@Param("desde") LocalDateTime desde,
+                                          @Param("hasta") LocalDateTime hasta,
+                                          @Param("vigente") LocalDateTime vigente);
+
+    // Historia completa de un show
+    @Query("SELECT h FROM HistorialShow h JOIN FETCH h.versionShow " +
+            "WHERE h.showIdUnico = :showId ORDER BY h.validFrom")
+    List<HistorialShow> findByShowIdUnico(@Param("showId") String showId);
+
+    // Cierra los intervalos abiertos de los shows indicados
+    @Modifying
+    @Query("UPDATE HistorialShow h SET h.validTo = :instante " +
+            "WHERE h.validTo = :vigente AND h.showIdUnico IN :showIds")
+    int cerrarVigentes(@Param("showIds") Collection<String> showIds,
+                       @Param("instante") LocalDateTime instante,
+                       @Param("vigente") LocalDateTime vigente);
+}
@@ -1,35 +1,46 @@
 package com.armando0405.tuboletascraper.dao.repository;
 
 import com.armando0405.tuboletascraper.dao.entity.ShowInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ShowInstantaneaRepository extends JpaRepository<ShowInstantanea, Long> {
 
-    // Obtener shows de una consulta específica
-    List<ShowInstantanea> findByConsultaInstantaneaIdOrderByTitulo(Long consultaId);
+    // Shows de una consulta con su versión ya cargada, ordenados por título
+    @Query("SELECT s FROM ShowInstantanea s JOIN FETCH s.versionShow v " +
+            "WHERE s.consultaInstantanea.id = :consultaId ORDER BY v.titulo")
+    List<ShowInstantanea> findConVersionByConsultaId(@Param("consultaId") Long consultaId);
 
-    // Buscar shows por ciudad
-    List<ShowInstantanea> findByCiudadContainingIgnoreCase(String ciudad);
-
-    // Buscar shows por venue
-    List<ShowInstantanea> findByVenueContainingIgnoreCase(String venue);
-
-    // Buscar shows por ID único
+    // Buscar pertenencias por ID único
     List<ShowInstantanea> findByShowIdUnico(String showIdUnico);
 
-    // Obtener todas las ciudades únicas
-    @Query("SELECT DISTINCT s.ciudad FROM ShowInstantanea s ORDER BY s.ciudad")
-    List<String> findDistinctCiudades();
-
-    // Obtener todos los venues únicos
-    @Query("SELECT DISTINCT s.venue FROM ShowInstantanea s ORDER BY s.venue")
-    List<String> findDistinctVenues();
+    // Versiones de un snapshot ordenadas por showIdUnico, leídas con cursor; se
+    // construyen con new (no quedan en el contexto de persistencia) para que
+    // recorrer un snapshot grande use memoria constante
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.armando0405.tuboletascraper.dao.entity.VersionShow(v.id, v.hashContenido, " +
+            "v.showIdUnico, v.titulo, v.venue, v.ciudad, v.fechaShow, v.horaShow, v.urlFuente, v.fechaCreacion) " +
+            "FROM ShowInstantanea s JOIN s.versionShow v " +
+            "WHERE s.consultaInstantanea.id = :consultaId ORDER BY s.showIdUnico")
+    Stream<VersionShow> streamVersionesOrdenadas(@Param("consultaId") Long consultaId);
 
     // Contar shows por consulta
     long countByConsultaInstantaneaId(Long consultaId);
-}
\ No newline at end of file
+
+    // Par (id, hash) de un show; lo implementa SnapshotActual.ShowVigente
+    interface HuellaShow {
+        String getShowIdUnico();
+
+        String getHashContenido();
+    }
+}
@@ -0,0 +1,30 @@
+package com.armando0405.tuboletascraper.dao.repository;
+
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface VersionShowRepository extends JpaRepository<VersionShow, Long> {
+
+    // Versiones ya guardadas entre los hashes indicados
+    List<VersionShow> findByHashContenidoIn(Collection<String> hashes);
+
+    // Buscar versiones por ciudad
+    List<VersionShow> findByCiudadContainingIgnoreCase(String ciudad);
+
+    // Buscar versiones por venue
+    List<VersionShow> findByVenueContainingIgnoreCase(String venue);
+
+    // Obtener todas las ciudades únicas
+    @Query("SELECT DISTINCT v.ciudad FROM VersionShow v ORDER BY v.ciudad")
+    List<String> findDistinctCiudades();
+
+    // Obtener todos los venues únicos
+    @Query("SELECT DISTINCT v.venue FROM VersionShow v ORDER BY v.venue")
+    List<String> findDistinctVenues();
+}
@@ -0,0 +1,215 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import com.armando0405.tuboletascraper.dao.repository.ShowInstantaneaRepository.HuellaShow;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ⚖️ DETECCIÓN DE CAMBIOS ENTRE DOS SNAPSHOTS
+ *
+ * Compara los shows por showIdUnico y produce eventos tipados (EventoCambio):
+ * agregados, eliminados y campos modificados (título, venue, ciudad, fecha, hora
+ * y URL). detectarCambios los devuelve además como texto para los correos.
+ *
+ * Como el showIdUnico depende del título, el venue y la ciudad, un eliminado y
+ * un agregado con la misma URL de detalle se reportan como un show modificado.
+ *
+ * Con las huellas (id, hash) del snapshot anterior solo se comparan los shows
+ * cuyo hash difiere: los demás son idénticos y no pueden producir cambios.
+ */
+@Component
+public class ChangeDetector {
+
+    /**
+     * Igual que comparar los snapshots completos, pero del anterior solo se
+     * cargan (con cargarAnteriores) las filas eliminadas o modificadas.
+     */
+    public List<EventoCambio> detectarEventos(List<HuellaShow> huellasAnteriores, List<VersionShow> showsNuevos,
+                                              Function<Collection<String>, List<VersionShow>> cargarAnteriores) {
+        Map<String, String> hashesAnteriores = new HashMap<>(huellasAnteriores.size() * 2);
+        for (HuellaShow huella : huellasAnteriores) {
+            hashesAnteriores.put(huella.getShowIdUnico(), huella.getHashContenido());
+        }
+
+        List<VersionShow> nuevosCambiados = new ArrayList<>();
+        for (VersionShow show : showsNuevos) {
+            String hashAnterior = hashesAnteriores.remove(show.getShowIdUnico());
+            if (hashAnterior == null || !hashAnterior.equals(show.getHashContenido())) {
+                nuevosCambiados.add(show);
+                if (hashAnterior != null) {
+                    // Modificado: hace falta la fila anterior para describir el cambio
+                    hashesAnteriores.put(show.getShowIdUnico(), hashAnterior);
+                }
+            }
+        }
+
+        // Lo que queda en el mapa son los eliminados y los modificados
+        List<VersionShow> anterioresCambiados = hashesAnteriores.isEmpty()
+                ? List.of()
+                : cargarAnteriores.apply(hashesAnteriores.keySet());
+        return detectarEventos(anterioresCambiados, nuevosCambiados);
+    }
+
+    /**
+     * Eventos en el orden agregados, eliminados, modificados.
+     */
+    public List<EventoCambio> detectarEventos(List<VersionShow> showsAnteriores, List<VersionShow> showsNuevos) {
+        Map<String, VersionShow> mapaAnterior = showsAnteriores.stream()
+                .collect(Collectors.toMap(VersionShow::getShowIdUnico, s -> s));
+
+        Map<String, VersionShow> mapaNuevo = showsNuevos.stream()
+                .collect(Collectors.toMap(VersionShow::getShowIdUnico, s -> s));
+
+        List<VersionShow> agregados = new ArrayList<>();
+        List<Par> modificados = new ArrayList<>();
+        for (VersionShow nuevo : mapaNuevo.values()) {
+            VersionShow anterior = mapaAnterior.get(nuevo.getShowIdUnico());
+            if (anterior == null) {
+                agregados.add(nuevo);
+            } else {
+                modificados.add(new Par(anterior, nuevo));
+            }
+        }
+
+        List<VersionShow> eliminados = new ArrayList<>();
+        for (VersionShow anterior : mapaAnterior.values()) {
+            if (!mapaNuevo.containsKey(anterior.getShowIdUnico())) {
+                eliminados.add(anterior);
+            }
+        }
+
+        emparejarPorUrl(eliminados, agregados, modificados);
+
+        List<EventoCambio> eventos = new ArrayList<>();
+        agregados.forEach(show -> eventos.add(EventoCambio.agregado(show)));
+        eliminados.forEach(show -> eventos.add(EventoCambio.eliminado(show)));
+        modificados.forEach(par -> eventos.addAll(compararCampos(par.anterior(), par.nuevo())));
+        return eventos;
+    }
+
+    public List<String> detectarCambios(List<HuellaShow> huellasAnteriores, List<VersionShow> showsNuevos,
+                                        Function<Collection<String>, List<VersionShow>> cargarAnteriores) {
+        return describir(detectarEventos(huellasAnteriores, showsNuevos, cargarAnteriores));
+    }
+
+    public List<String> detectarCambios(List<VersionShow> showsAnteriores, List<VersionShow> showsNuevos) {
+        return describir(detectarEventos(showsAnteriores, showsNuevos));
+    }
+
+    public static List<String> describir(List<EventoCambio> eventos) {
+        return eventos.stream().map(EventoCambio::descripcion).toList();
+    }
+
+    /**
+     * Campos modificados entre dos versiones del mismo show, en orden título,
+     * venue, ciudad, fecha, hora, URL.
+     */
+    public List<EventoCambio> compararCampos(VersionShow anteriorShow, VersionShow nuevoShow) {
+        List<EventoCambio> eventos = new ArrayList<>(2);
+
+        comparar(eventos, nuevoShow, EventoCambio.Campo.TITULO, anteriorShow.getTitulo(), nuevoShow.getTitulo());
+        comparar(eventos, nuevoShow, EventoCambio.Campo.VENUE, anteriorShow.getVenue(), nuevoShow.getVenue());
+        comparar(eventos, nuevoShow, EventoCambio.Campo.CIUDAD, anteriorShow.getCiudad(), nuevoShow.getCiudad());
+        comparar(eventos, nuevoShow, EventoCambio.Campo.FECHA, anteriorShow.getFechaShow(), nuevoShow.getFechaShow());
+
+        // Una hora nula es un detalle que no se pudo descargar, no un cambio real
+        if (anteriorShow.getHoraShow() != null && nuevoShow.getHoraShow() != null) {
+            comparar(eventos, nuevoShow, EventoCambio.Campo.HORA, anteriorShow.getHoraShow(), nuevoShow.getHoraShow());
+        }
+
+        comparar(eventos, nuevoShow, EventoCambio.Campo.URL, anteriorShow.getUrlFuente(), nuevoShow.getUrlFuente());
+
+        return eventos;
+    }
+
+    /**
+     * Eventos de los eliminados y agregados que no tienen pareja por showIdUnico:
+     * los que comparten URL salen como modificados y el resto como agregados y
+     * eliminados, en el mismo orden que detectarEventos. Las listas se modifican.
+     */
+    List<EventoCambio> eventosSinPareja(List<VersionShow> eliminados, List<VersionShow> agregados) {
+        List<Par> modificados = new ArrayList<>();
+        emparejarPorUrl(eliminados, agregados, modificados);
+
+        List<EventoCambio> eventos = new ArrayList<>();
+        agregados.forEach(show -> eventos.add(EventoCambio.agregado(show)));
+        eliminados.forEach(show -> eventos.add(EventoCambio.eliminado(show)));
+        modificados.forEach(par -> eventos.addAll(compararCampos(par.anterior(), par.nuevo())));
+        return eventos;
+    }
+
+    /**
+     * El showIdUnico sale de título|venue|ciudad, así que un cambio real en esos
+     * campos llega como un eliminado y un agregado. Si los dos tienen la misma URL
+     * (y ningún otro show de su lado la comparte) son el mismo show modificado.
+     */
+    private static void emparejarPorUrl(List<VersionShow> eliminados, List<VersionShow> agregados,
+                                        List<Par> modificados) {
+        if (eliminados.isEmpty() || agregados.isEmpty()) {
+            return;
+        }
+
+        Map<String, VersionShow> eliminadosPorUrl = unicosPorUrl(eliminados);
+        Set<VersionShow> emparejados = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<String, VersionShow> agregado : unicosPorUrl(agregados).entrySet()) {
+            VersionShow anterior = eliminadosPorUrl.get(agregado.getKey());
+            if (anterior != null) {
+                modificados.add(new Par(anterior, agregado.getValue()));
+                emparejados.add(anterior);
+                emparejados.add(agregado.getValue());
+            }
+        }
+        eliminados.removeIf(emparejados::contains);
+        agregados.removeIf(emparejados::contains);
+    }
+
+    private static Map<String, VersionShow> unicosPorUrl(List<VersionShow> shows) {
+        Map<String, VersionShow> porUrl = new HashMap<>(shows.size() * 2);
+        Set<String> repetidas = new HashSet<>();
+        for (VersionShow show : shows) {
+            String url = claveUrl(show.getUrlFuente());
+            if (url != null && porUrl.putIfAbsent(url, show) != null) {
+                repetidas.add(url);
+            }
+        }
+        porUrl.keySet().removeAll(repetidas);
+        return porUrl;
+    }
+
+    // Sin query string, fragmento ni "/" final: la misma página de detalle
+    private static String claveUrl(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String sinConsulta = url.split("[?#]", 2)[0];
+        int fin = sinConsulta.length();
+        while (fin > 0 && sinConsulta.charAt(fin - 1) == '/') {
+            fin--;
+        }
+        return sinConsulta.substring(0, fin).toLowerCase(Locale.ROOT);
+    }
+
+    private static void comparar(List<EventoCambio> eventos, VersionShow nuevoShow, EventoCambio.Campo campo,
+                                 Object anterior, Object nuevo) {
+        if (!Objects.equals(anterior, nuevo)) {
+            eventos.add(EventoCambio.campoModificado(nuevoShow, campo, anterior, nuevo));
+        }
+    }
+
+    private record Par(VersionShow anterior, VersionShow nuevo) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.CambioShow;
+import com.armando0405.tuboletascraper.dao.repository.CambioShowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔎 CONSULTA DE CAMBIOS REGISTRADOS
+ *
+ * Cada filtro usa el índice de cambio_show que le corresponde: ciudad + campo +
+ * fecha, ciudad + fecha, campo + fecha, solo fecha, o show + fecha.
+ */
+@Service
+public class ChangeQueryService {
+
+    @Autowired
+    private CambioShowRepository cambioRepository;
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> buscar(EventoCambio.Campo campo, String ciudad,
+                                            LocalDateTime desde, LocalDateTime hasta) {
+        List<CambioShow> cambios;
+        if (campo != null && ciudad != null) {
+            cambios = cambioRepository.findByCiudadAndCampoAndFechaDeteccionBetweenOrderByFechaDeteccionDesc(
+                    ciudad, campo, desde, hasta);
+        } else if (campo != null) {
+            cambios = cambioRepository.findByCampoAndFechaDeteccionBetweenOrderByFechaDeteccionDesc(campo, desde, hasta);
+        } else if (ciudad != null) {
+            cambios = cambioRepository.findByCiudadAndFechaDeteccionBetweenOrderByFechaDeteccionDesc(ciudad, desde, hasta);
+        } else {
+            cambios = cambioRepository.findByFechaDeteccionBetweenOrderByFechaDeteccionDesc(desde, hasta);
+        }
+        return cambios.stream().map(ChangeQueryService::aRespuesta).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> deShow(String showId) {
+        return cambioRepository.findByShowIdUnicoOrderByFechaDeteccionDesc(showId).stream()
+                .map(ChangeQueryService::aRespuesta)
+                .toList();
+    }
+
+    private static Map<String, Object> aRespuesta(CambioShow cambio) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("tipo", cambio.getTipo());
+        item.put("showIdUnico", cambio.getShowIdUnico());
+        item.put("titulo", cambio.getTitulo());
+        item.put("ciudad", cambio.getCiudad());
+        item.put("fechaShow", cambio.getFechaShow());
+        item.put("campo", cambio.getCampo());
+        item.put("valorAnterior", cambio.getValorAnterior());
+        item.put("valorNuevo", cambio.getValorNuevo());
+        item.put("fechaDeteccion", cambio.getFechaDeteccion());
+        return item;
+    }
+}
@@ -0,0 +1,60 @@
+package com.armando0405.tuboletascraper.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🏷️ CACHÉ DE VALIDADORES HTTP Y HUELLAS DE PÁGINA
+ *
+ * Guarda por URL el ETag, el Last-Modified y un hash rápido (ver RegionFingerprint)
+ * de la región HTML que contiene los artículos. Con esto el crawler puede enviar
+ * peticiones condicionales y decidir si una página cambió sin construir el DOM.
+ *
+ * Las huellas solo se confirman cuando el monitoreo que las produjo terminó
+ * correctamente, así un fallo al persistir nunca oculta un cambio real.
+ */
+@Slf4j
+@Component
+public class ConditionalFetchCache {
+
+    private final Map<String, HuellaPagina> huellas = new ConcurrentHashMap<>();
+
+    public HuellaPagina obtener(String url) {
+        return huellas.get(url);
+    }
+
+    public void confirmar(Collection<HuellaPagina> nuevasHuellas) {
+        nuevasHuellas.forEach(huella -> huellas.put(huella.url(), huella));
+        log.debug("Huellas confirmadas: {}", nuevasHuellas.size());
+    }
+
+    public void invalidar() {
+        huellas.clear();
+    }
+
+    /**
+     * Hash de la región entre el primer <article y el último </article>.
+     * Scripts, tokens y footer quedan fuera, por lo que no alteran la huella.
+     */
+    public static String hashRegion(String html) {
+        return RegionFingerprint.de(html);
+    }
+
+    public record HuellaPagina(String url, String etag, String lastModified, String hashRegion, int totalPaginas) {
+
+        public HuellaPagina conValidadores(String nuevoEtag, String nuevoLastModified) {
+            return new HuellaPagina(url,
+                    nuevoEtag != null ? nuevoEtag : etag,
+                    nuevoLastModified != null ? nuevoLastModified : lastModified,
+                    hashRegion, totalPaginas);
+        }
+
+        public HuellaPagina conTotalPaginas(int total) {
+            return new HuellaPagina(url, etag, lastModified, hashRegion, total);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.armando0405.tuboletascraper.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 🧱 ETAPA DEL MONITOREO CON COLA ACOTADA
+ *
+ * Un único hilo virtual toma los elementos de la cola de entrada y les aplica el
+ * trabajo de la etapa en orden de llegada. enviar() bloquea mientras la cola está
+ * llena: encadenadas con thenCompose, el hilo de una etapa se queda esperando a la
+ * siguiente, así una etapa lenta frena a las anteriores en vez de acumular ciclos
+ * en memoria.
+ *
+ * Cualquier Throwable del trabajo (también un Error) completa el futuro de ese
+ * elemento y el hilo sigue con el siguiente: un futuro sin completar dejaría
+ * esperando para siempre a quien lo pidió.
+ */
+@Slf4j
+final class EtapaAcotada<E, S> implements AutoCloseable {
+
+    private final String nombre;
+    private final BlockingQueue<Pendiente<E, S>> cola;
+    private final Function<E, S> trabajo;
+    private final Thread consumidor;
+    private volatile boolean cerrada;
+
+    EtapaAcotada(String nombre, int capacidad, Function<E, S> trabajo) {
+        this.nombre = nombre;
+        this.cola = new ArrayBlockingQueue<>(Math.max(1, capacidad));
+        this.trabajo = trabajo;
+        this.consumidor = Thread.ofVirtual().name("monitoreo-" + nombre).start(this::consumir);
+    }
+
+    CompletableFuture<S> enviar(E entrada) {
+        Pendiente<E, S> pendiente = new Pendiente<>(entrada, new CompletableFuture<>());
+        if (cerrada || !consumidor.isAlive()) {
+            pendiente.resultado().completeExceptionally(new IllegalStateException("Etapa " + nombre + " detenida"));
+            return pendiente.resultado();
+        }
+        try {
+            cola.put(pendiente);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendiente.resultado().completeExceptionally(e);
+        }
+        return pendiente.resultado();
+    }
+
+    int pendientes() {
+        return cola.size();
+    }
+
+    private void consumir() {
+        while (true) {
+            Pendiente<E, S> pendiente;
+            try {
+                pendiente = cola.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            try {
+                pendiente.resultado().complete(trabajo.apply(pendiente.entrada()));
+            } catch (RuntimeException e) {
+                pendiente.resultado().completeExceptionally(e);
+            } catch (Throwable t) {
+                log.error("Error no recuperable en la etapa {}", nombre, t);
+                pendiente.resultado().completeExceptionally(t);
+            }
+        }
+    }
+
+    /**
+     * Detiene el hilo de la etapa; los elementos que seguían en cola terminan cancelados.
+     */
+    @Override
+    public void close() {
+        cerrada = true;
+        consumidor.interrupt();
+        List<Pendiente<E, S>> sinProcesar = new ArrayList<>();
+        cola.drainTo(sinProcesar);
+        sinProcesar.forEach(pendiente -> pendiente.resultado().completeExceptionally(
+                new CancellationException("Etapa " + nombre + " detenida")));
+        if (!sinProcesar.isEmpty()) {
+            log.warn("Etapa {} detenida con {} ciclos sin procesar", nombre, sinProcesar.size());
+        }
+    }
+
+    private record Pendiente<E, S>(E entrada, CompletableFuture<S> resultado) {
+    }
+}
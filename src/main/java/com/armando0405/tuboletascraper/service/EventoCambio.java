@@ -0,0 +1,74 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+
+import java.time.LocalDate;
+
+/**
+ * 🧾 CAMBIO TIPADO ENTRE DOS SNAPSHOTS
+ *
+ * AGREGADO y ELIMINADO no llevan campo; CAMPO_MODIFICADO indica el campo y sus
+ * valores anterior y nuevo (como texto, null si faltaba).
+ */
+public record EventoCambio(
+        Tipo tipo,
+        String showIdUnico,
+        String titulo,
+        String ciudad,
+        LocalDate fechaShow,
+        Campo campo,
+        String valorAnterior,
+        String valorNuevo) {
+
+    public enum Tipo {
+        AGREGADO,
+        ELIMINADO,
+        CAMPO_MODIFICADO
+    }
+
+    public enum Campo {
+        TITULO("título"),
+        VENUE("venue"),
+        CIUDAD("ciudad"),
+        FECHA("fecha"),
+        HORA("hora"),
+        URL("url");
+
+        private final String etiqueta;
+
+        Campo(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+
+        public String etiqueta() {
+            return etiqueta;
+        }
+    }
+
+    public static EventoCambio agregado(VersionShow show) {
+        return new EventoCambio(Tipo.AGREGADO, show.getShowIdUnico(), show.getTitulo(), show.getCiudad(),
+                show.getFechaShow(), null, null, null);
+    }
+
+    public static EventoCambio eliminado(VersionShow show) {
+        return new EventoCambio(Tipo.ELIMINADO, show.getShowIdUnico(), show.getTitulo(), show.getCiudad(),
+                show.getFechaShow(), null, null, null);
+    }
+
+    public static EventoCambio campoModificado(VersionShow nuevo, Campo campo, Object anterior, Object actual) {
+        return new EventoCambio(Tipo.CAMPO_MODIFICADO, nuevo.getShowIdUnico(), nuevo.getTitulo(), nuevo.getCiudad(),
+                nuevo.getFechaShow(), campo, anterior == null ? null : anterior.toString(), actual == null ? null : actual.toString());
+    }
+
+    /**
+     * Texto del cambio, con el mismo formato que usan los correos y el resumen del registro.
+     */
+    public String descripcion() {
+        return switch (tipo) {
+            case AGREGADO -> String.format("Agregado: %s en %s - %s", titulo, ciudad, fechaShow);
+            case ELIMINADO -> String.format("Eliminado: %s en %s", titulo, ciudad);
+            case CAMPO_MODIFICADO -> String.format("Modificado: %s en %s - %s cambió de %s a %s",
+                    titulo, ciudad, campo.etiqueta(), valorAnterior, valorNuevo);
+        };
+    }
+}
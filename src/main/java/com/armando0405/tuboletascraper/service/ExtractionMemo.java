@@ -0,0 +1,154 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.DataNode;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeVisitor;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🧠 MEMORIA LRU DE ARTÍCULOS YA EXTRAÍDOS
+ *
+ * Asocia el hash del outerHTML normalizado de cada article (espacios colapsados)
+ * con el Show que produjo, o con "descartado" si no era de Fucks News. La mayoría
+ * de los articles son idénticos de un ciclo al siguiente, así que se salta la
+ * extracción y el generateUniqueId.
+ *
+ * Se vacía al cambiar el día porque parsearFecha depende de la fecha actual
+ * (un show cuya fecha ya pasó pasa al año siguiente).
+ */
+class ExtractionMemo {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long SEMILLA_B = 0x9e3779b97f4a7c15L;
+
+    private final Map<Clave, Entrada> entradas = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private LocalDate dia = LocalDate.now();
+
+    /**
+     * Devuelve la entrada guardada (con una copia del Show, que los pasos
+     * siguientes pueden modificar) o null si el article no se ha visto.
+     */
+    synchronized Entrada obtener(Clave clave) {
+        LocalDate hoy = LocalDate.now();
+        if (!hoy.equals(dia)) {
+            entradas.clear();
+            dia = hoy;
+        }
+
+        Entrada entrada = entradas.get(clave);
+        if (entrada == null) {
+            fallos.incrementAndGet();
+            return null;
+        }
+        aciertos.incrementAndGet();
+        return new Entrada(copiar(entrada.show()));
+    }
+
+    synchronized void guardar(Clave clave, Show show, int capacidad) {
+        if (capacidad <= 0) {
+            return;
+        }
+        entradas.put(clave, new Entrada(copiar(show)));
+        while (entradas.size() > capacidad) {
+            entradas.remove(entradas.keySet().iterator().next());
+        }
+    }
+
+    synchronized Map<String, Object> resumen() {
+        long totalAciertos = aciertos.get();
+        long total = totalAciertos + fallos.get();
+        return Map.of(
+                "aciertos", totalAciertos,
+                "fallos", fallos.get(),
+                "tasaAciertos", total == 0 ? 0.0 : (double) totalAciertos / total,
+                "entradas", entradas.size());
+    }
+
+    /**
+     * Hash de 128 bits (dos carriles FNV-1a) del outerHTML normalizado: etiquetas,
+     * atributos y texto con cada racha de espacios reducida a uno, para que el
+     * reindentado del servidor no cuente como cambio. Se alimenta recorriendo los
+     * nodos, sin serializar el HTML (serializar cuesta casi lo mismo que extraer).
+     */
+    static Clave clave(Element articulo) {
+        HashNormalizado hash = new HashNormalizado();
+        articulo.traverse(new NodeVisitor() {
+            @Override
+            public void head(Node nodo, int profundidad) {
+                if (nodo instanceof Element elemento) {
+                    hash.mezclar('<').mezclar(elemento.normalName());
+                    for (Attribute atributo : elemento.attributes()) {
+                        hash.mezclar(' ').mezclar(atributo.getKey()).mezclar('=').mezclar(atributo.getValue());
+                    }
+                    hash.mezclar('>');
+                } else if (nodo instanceof TextNode texto) {
+                    hash.mezclar(texto.getWholeText());
+                } else if (nodo instanceof DataNode datos) {
+                    hash.mezclar(datos.getWholeData());
+                }
+            }
+
+            @Override
+            public void tail(Node nodo, int profundidad) {
+                if (nodo instanceof Element elemento) {
+                    hash.mezclar('<').mezclar('/').mezclar(elemento.normalName()).mezclar('>');
+                }
+            }
+        });
+        return new Clave(hash.a, hash.b);
+    }
+
+    private static final class HashNormalizado {
+        private long a = FNV_OFFSET;
+        private long b = FNV_OFFSET ^ SEMILLA_B;
+        private boolean enEspacio;
+
+        HashNormalizado mezclar(String texto) {
+            for (int i = 0; i < texto.length(); i++) {
+                mezclar(texto.charAt(i));
+            }
+            return this;
+        }
+
+        HashNormalizado mezclar(char c) {
+            if (Character.isWhitespace(c)) {
+                if (enEspacio) {
+                    return this;
+                }
+                enEspacio = true;
+                c = ' ';
+            } else {
+                enEspacio = false;
+            }
+            a = (a ^ c) * FNV_PRIME;
+            b = (b ^ (c * SEMILLA_B)) * FNV_PRIME;
+            return this;
+        }
+    }
+
+    private static Show copiar(Show show) {
+        if (show == null) {
+            return null;
+        }
+        return new Show(show.getShowUniqueId(), show.getTitulo(), show.getVenue(), show.getCiudad(),
+                show.getFechaShow(), show.getHoraShow(), show.getUrlFuente(), show.getRawHtml());
+    }
+
+    record Clave(long a, long b) {
+    }
+
+    // show == null: el article se descartó (no es de Fucks News)
+    record Entrada(Show show) {
+    }
+}
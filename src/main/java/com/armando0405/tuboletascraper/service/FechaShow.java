@@ -0,0 +1,127 @@
+package com.armando0405.tuboletascraper.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+
+/**
+ * 📅 PARSEO DE LA FECHA DE UN SHOW ("23" + "Sep")
+ *
+ * Mismo resultado que el parseo original (String.format("%04d-%s-%02d") +
+ * LocalDate.parse, pasando al año siguiente si la fecha ya pasó), pero leyendo
+ * el día carácter a carácter, el mes con un switch y la fecha de hoy desde una
+ * caché que solo se recalcula al cambiar el día. Lo único que asigna es el
+ * LocalDate resultante.
+ */
+@Slf4j
+public final class FechaShow {
+
+    private static volatile Hoy hoy = calcularHoy();
+
+    private FechaShow() {
+    }
+
+    public static LocalDate parsear(String dia, String mes) {
+        return parsear(dia, mes, hoy());
+    }
+
+    /**
+     * Devuelve null si falta el día o el mes, si el mes no es reconocido o si el
+     * día no forma una fecha válida (donde el parseo original lanzaba excepción).
+     */
+    public static LocalDate parsear(String dia, String mes, LocalDate hoy) {
+        if (dia.isEmpty() || mes.isEmpty()) {
+            return null;
+        }
+
+        int numeroMes = numeroMes(mes);
+        if (numeroMes == 0) {
+            log.warn("Mes no reconocido: {}", mes);
+            return null;
+        }
+
+        int numeroDia = parsearDia(dia);
+        // %02d + ISO_LOCAL_DATE solo aceptaban días de 1 a 99 que existan en ese mes
+        if (numeroDia < 1 || numeroDia > 99
+                || numeroDia > Month.of(numeroMes).length(Year.isLeap(hoy.getYear()))) {
+            log.warn("Día no válido: {} {}", dia, mes);
+            return null;
+        }
+
+        LocalDate fecha = LocalDate.of(hoy.getYear(), numeroMes, numeroDia);
+
+        // Si la fecha ya pasó, probablemente es del año siguiente
+        return fecha.isBefore(hoy) ? fecha.plusYears(1) : fecha;
+    }
+
+    /**
+     * Fecha actual en la zona del sistema; LocalDate.now() solo se llama al pasar la medianoche.
+     */
+    public static LocalDate hoy() {
+        Hoy actual = hoy;
+        if (System.currentTimeMillis() >= actual.finMs()) {
+            actual = calcularHoy();
+            hoy = actual;
+        }
+        return actual.fecha();
+    }
+
+    /**
+     * Mismas reglas que Integer.parseInt (signo opcional, dígitos Unicode);
+     * -1 si el texto no es un entero.
+     */
+    private static int parsearDia(String dia) {
+        int i = 0;
+        boolean negativo = false;
+        char primero = dia.charAt(0);
+        if (primero == '-' || primero == '+') {
+            negativo = primero == '-';
+            i = 1;
+            if (dia.length() == 1) {
+                return -1;
+            }
+        }
+
+        int valor = 0;
+        for (; i < dia.length(); i++) {
+            int digito = Character.digit(dia.charAt(i), 10);
+            if (digito < 0) {
+                return -1;
+            }
+            // Basta con saber que supera 99: se corta antes de desbordar
+            valor = Math.min(valor * 10 + digito, 1000);
+        }
+        return negativo && valor != 0 ? -1 : valor;
+    }
+
+    private static int numeroMes(String mes) {
+        return switch (mes) {
+            case "Ene" -> 1;
+            case "Feb" -> 2;
+            case "Mar" -> 3;
+            case "Abr" -> 4;
+            case "May" -> 5;
+            case "Jun" -> 6;
+            case "Jul" -> 7;
+            case "Ago" -> 8;
+            case "Sep" -> 9;
+            case "Oct" -> 10;
+            case "Nov" -> 11;
+            case "Dic" -> 12;
+            default -> 0;
+        };
+    }
+
+    private static Hoy calcularHoy() {
+        ZoneId zona = ZoneId.systemDefault();
+        LocalDate fecha = LocalDate.now(zona);
+        long finMs = fecha.plusDays(1).atStartOfDay(zona).toInstant().toEpochMilli();
+        return new Hoy(fecha, finMs);
+    }
+
+    private record Hoy(LocalDate fecha, long finMs) {
+    }
+}
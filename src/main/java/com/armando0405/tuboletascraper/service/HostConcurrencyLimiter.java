@@ -0,0 +1,51 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.config.ScrapingConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 🚦 LIMITADOR DE CONCURRENCIA POR HOST
+ *
+ * Mantiene un semáforo por host para que las consultas concurrentes
+ * no abran más de scraping.tuboleta.max-concurrent-per-host conexiones
+ * simultáneas contra el mismo servidor.
+ */
+@Slf4j
+@Component
+public class HostConcurrencyLimiter {
+
+    @Autowired
+    private ScrapingConfig scrapingConfig;
+
+    private final Map<String, Semaphore> semaforos = new ConcurrentHashMap<>();
+
+    public <T> T ejecutar(String url, Callable<T> tarea) throws Exception {
+        Semaphore semaforo = semaforos.computeIfAbsent(extraerHost(url),
+                host -> new Semaphore(Math.max(1, scrapingConfig.getMaxConcurrentPerHost()), true));
+
+        semaforo.acquire();
+        try {
+            return tarea.call();
+        } finally {
+            semaforo.release();
+        }
+    }
+
+    private String extraerHost(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            log.debug("URL sin host válido, se usa completa como clave: {}", url);
+            return url;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.armando0405.tuboletascraper.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 📬 MONITOREOS ASÍNCRONOS CON SEGUIMIENTO
+ *
+ * enviar() encola un monitoreo completo en monitorJobExecutor y devuelve de
+ * inmediato el trabajo con su id; el hilo de la petición HTTP queda libre
+ * mientras TuBoleta responde. Si ya hay un trabajo en cola (aún sin empezar) se
+ * devuelve ese en lugar de encolar otro: empezará después de la petición, así que
+ * su resultado sirve igual, y la cola no se llena de ciclos repetidos. Solo con
+ * monitor.jobs.threads > 1 pueden correr trabajos a la vez, y entonces comparten
+ * el ciclo gracias al single-flight de SnapshotService.
+ *
+ * Los trabajos terminados se conservan monitor.jobs.retention-minutes para
+ * poder consultar su resultado. Métricas: monitor.jobs.enviados,
+ * monitor.jobs.reutilizados, monitor.jobs.rechazados, monitor.jobs.fallidos,
+ * monitor.jobs.cola y monitor.jobs.activos.
+ */
+@Slf4j
+@Service
+public class MonitorJobService {
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    @Qualifier("monitorJobExecutor")
+    private ThreadPoolExecutor monitorJobExecutor;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${monitor.jobs.retention-minutes:60}")
+    private long retencionMinutos;
+
+    private final Map<String, TrabajoMonitoreo> trabajos = new ConcurrentHashMap<>();
+
+    private Counter enviados;
+    private Counter reutilizados;
+    private Counter rechazados;
+    private Counter fallidos;
+
+    @PostConstruct
+    void registrarMetricas() {
+        this.enviados = Counter.builder("monitor.jobs.enviados").register(registry);
+        this.reutilizados = Counter.builder("monitor.jobs.reutilizados")
+                .description("Envíos que devolvieron el trabajo que ya estaba en cola")
+                .register(registry);
+        this.rechazados = Counter.builder("monitor.jobs.rechazados")
+                .description("Monitoreos rechazados por cola llena")
+                .register(registry);
+        this.fallidos = Counter.builder("monitor.jobs.fallidos").register(registry);
+        Gauge.builder("monitor.jobs.cola", this, servicio -> servicio.monitorJobExecutor.getQueue().size())
+                .register(registry);
+        Gauge.builder("monitor.jobs.activos", this, servicio -> servicio.monitorJobExecutor.getActiveCount())
+                .register(registry);
+    }
+
+    /**
+     * Encola un monitoreo, o devuelve el que ya estaba en cola. Lanza
+     * RejectedExecutionException si la cola está llena.
+     */
+    public synchronized TrabajoMonitoreo enviar() {
+        purgarTerminados();
+
+        Optional<TrabajoMonitoreo> enCola = trabajos.values().stream()
+                .filter(trabajo -> trabajo.estado() == EstadoTrabajo.EN_COLA)
+                .findFirst();
+        if (enCola.isPresent()) {
+            reutilizados.increment();
+            log.info("📬 Ya hay un monitoreo en cola, se devuelve {}", enCola.get().id());
+            return enCola.get();
+        }
+
+        TrabajoMonitoreo trabajo = TrabajoMonitoreo.nuevo(UUID.randomUUID().toString());
+        trabajos.put(trabajo.id(), trabajo);
+        try {
+            monitorJobExecutor.execute(() -> ejecutar(trabajo.id()));
+        } catch (RejectedExecutionException e) {
+            trabajos.remove(trabajo.id());
+            rechazados.increment();
+            log.warn("📬 Monitoreo rechazado: cola llena ({} en espera)", monitorJobExecutor.getQueue().size());
+            throw e;
+        }
+
+        enviados.increment();
+        log.info("📬 Monitoreo {} encolado ({} en espera)", trabajo.id(), monitorJobExecutor.getQueue().size());
+        return trabajo;
+    }
+
+    public Optional<TrabajoMonitoreo> obtener(String id) {
+        return Optional.ofNullable(trabajos.get(id));
+    }
+
+    public Map<String, Object> resumen() {
+        return Map.of(
+                "enCola", monitorJobExecutor.getQueue().size(),
+                "activos", monitorJobExecutor.getActiveCount(),
+                "enviados", (long) enviados.count(),
+                "reutilizados", (long) reutilizados.count(),
+                "rechazados", (long) rechazados.count(),
+                "fallidos", (long) fallidos.count(),
+                "conservados", trabajos.size());
+    }
+
+    private void ejecutar(String id) {
+        trabajos.computeIfPresent(id, (clave, trabajo) -> trabajo.comoEnCurso());
+        try {
+            Map<String, Object> resultado = snapshotService.ejecutarMonitoreoCompleto();
+            trabajos.computeIfPresent(id, (clave, trabajo) -> trabajo.comoCompletado(resultado));
+        } catch (Throwable t) {
+            // También los Error: si no, el trabajo quedaría EN_CURSO para siempre
+            fallidos.increment();
+            log.error("📬 Monitoreo {} fallido: {}", id, t.getMessage(), t);
+            trabajos.computeIfPresent(id, (clave, trabajo) -> trabajo.comoFallido(t));
+            // Un Error (OutOfMemoryError...) no se traga: el pool descarta el hilo y lo reemplaza
+            if (t instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private void purgarTerminados() {
+        LocalDateTime limite = LocalDateTime.now().minus(Duration.ofMinutes(retencionMinutos));
+        trabajos.values().removeIf(trabajo -> trabajo.terminado() != null && trabajo.terminado().isBefore(limite));
+    }
+
+    public enum EstadoTrabajo {
+        EN_COLA,
+        EN_CURSO,
+        COMPLETADO,
+        FALLIDO
+    }
+
+    public record TrabajoMonitoreo(String id, EstadoTrabajo estado, LocalDateTime creado, LocalDateTime iniciado,
+                                   LocalDateTime terminado, Map<String, Object> resultado, String error) {
+
+        static TrabajoMonitoreo nuevo(String id) {
+            return new TrabajoMonitoreo(id, EstadoTrabajo.EN_COLA, LocalDateTime.now(), null, null, null, null);
+        }
+
+        TrabajoMonitoreo comoEnCurso() {
+            return new TrabajoMonitoreo(id, EstadoTrabajo.EN_CURSO, creado, LocalDateTime.now(), null, null, null);
+        }
+
+        TrabajoMonitoreo comoCompletado(Map<String, Object> resultado) {
+            return new TrabajoMonitoreo(id, EstadoTrabajo.COMPLETADO, creado, iniciado, LocalDateTime.now(), resultado, null);
+        }
+
+        TrabajoMonitoreo comoFallido(Throwable t) {
+            return new TrabajoMonitoreo(id, EstadoTrabajo.FALLIDO, creado, iniciado, LocalDateTime.now(), null,
+                    t.getClass().getSimpleName() + ": " + t.getMessage());
+        }
+
+        public boolean estaTerminado() {
+            return estado == EstadoTrabajo.COMPLETADO || estado == EstadoTrabajo.FALLIDO;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.config.ScrapingConfig;
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.service.ConditionalFetchCache.HuellaPagina;
+import com.armando0405.tuboletascraper.service.fetch.PageFetcher;
+import com.armando0405.tuboletascraper.service.fetch.PageRequest;
+import com.armando0405.tuboletascraper.service.fetch.PageResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 📄 CRAWLER DE RESULTADOS PAGINADOS
+ *
+ * Descarga la primera página de una búsqueda, detecta cuántas páginas
+ * tiene el paginador de Drupal (?page=N, base 0) y descarga el resto
+ * en paralelo. Los contenedores article.bg-grey-light se devuelven en
+ * el mismo orden en que aparecen en el sitio.
+ *
+ * En modo condicional reenvía ETag/Last-Modified y compara la huella de
+ * la región de artículos; si ninguna página cambió (y la página siguiente a
+ * la última conocida sigue vacía) no se parsea nada.
+ *
+ * Cada página se parsea según scraping.tuboleta.parse-mode: DOM completo
+ * o streaming artículo por artículo.
+ */
+@Slf4j
+@Component
+public class PaginatedCrawler {
+
+    private static final String SELECTOR_ARTICULOS = "article.bg-grey-light";
+    private static final Evaluator ARTICULO = QueryParser.parse(SELECTOR_ARTICULOS);
+    private static final Evaluator ENLACE_PAGINADOR = QueryParser.parse(".pager a[href*=page=], .pagination a[href*=page=]");
+    private static final Pattern PARAM_PAGINA = Pattern.compile("[?&]page=(\\d+)");
+    private static final String HUELLA_SIN_ARTICULOS = RegionFingerprint.de("");
+
+    @Value("${scraping.tuboleta.max-pages:20}")
+    private int maxPaginas;
+
+    @Autowired
+    private HostConcurrencyLimiter hostLimiter;
+
+    @Autowired
+    private ExecutorService scrapingExecutor;
+
+    @Autowired
+    private ConditionalFetchCache fetchCache;
+
+    @Autowired
+    private PageFetcher pageFetcher;
+
+    @Autowired
+    private ShowExtractor showExtractor;
+
+    @Autowired
+    private ScrapingConfig scrapingConfig;
+
+    public ResultadoCrawl crawl(String url) throws Exception {
+        PaginaProcesada primera = procesarPagina(url, 0);
+        int totalPaginas = Math.min(primera.totalPaginas(), Math.max(1, maxPaginas));
+
+        List<PaginaProcesada> paginas = new ArrayList<>();
+        paginas.add(primera);
+
+        if (totalPaginas > 1) {
+            log.debug("Paginador detectado: {} páginas para {}", totalPaginas, url);
+
+            List<Callable<PaginaProcesada>> tareas = new ArrayList<>();
+            for (int pagina = 1; pagina < totalPaginas; pagina++) {
+                final int numero = pagina;
+                tareas.add(() -> procesarPagina(construirUrlPagina(url, numero), numero));
+            }
+            paginas.addAll(ejecutarEnParalelo(tareas));
+        }
+
+        // Unir los shows respetando el orden de las páginas
+        List<Show> shows = new ArrayList<>();
+        List<TiempoPagina> tiempos = new ArrayList<>();
+        List<HuellaPagina> huellas = new ArrayList<>();
+        for (PaginaProcesada pagina : paginas) {
+            shows.addAll(pagina.shows());
+
+            TiempoPagina tiempo = new TiempoPagina(pagina.numero(), pagina.fetchMs(), pagina.parseMs(), pagina.articulos());
+            tiempos.add(tiempo);
+            log.debug("   📄 Página {}: fetch {} ms, parse {} ms, {} artículos",
+                    tiempo.pagina(), tiempo.fetchMs(), tiempo.parseMs(), tiempo.articulos());
+
+            huellas.add(pagina.numero() == 0 ? pagina.huella().conTotalPaginas(totalPaginas) : pagina.huella());
+        }
+
+        return new ResultadoCrawl(false, shows, tiempos, huellas);
+    }
+
+    /**
+     * 🏷️ CRAWL CONDICIONAL
+     *
+     * Revalida todas las páginas conocidas de la búsqueda. Si todas responden 304
+     * o su región de artículos tiene la misma huella, devuelve un resultado
+     * "sin cambios" sin haber construido ningún DOM. Si algo cambió, hace el crawl completo.
+     */
+    public ResultadoCrawl crawlCondicional(String url) throws Exception {
+        HuellaPagina huellaPrimera = fetchCache.obtener(url);
+        if (huellaPrimera == null) {
+            return crawl(url);
+        }
+
+        List<Callable<Optional<HuellaPagina>>> tareas = new ArrayList<>();
+        tareas.add(() -> revalidarPagina(url, huellaPrimera));
+        for (int pagina = 1; pagina < huellaPrimera.totalPaginas(); pagina++) {
+            String urlPagina = construirUrlPagina(url, pagina);
+            HuellaPagina huella = fetchCache.obtener(urlPagina);
+            tareas.add(() -> huella != null ? revalidarPagina(urlPagina, huella) : Optional.empty());
+        }
+
+        // Un 304 en la página 0 no dice nada de páginas nuevas: se sondea la siguiente a la última conocida
+        int siguiente = huellaPrimera.totalPaginas();
+        Future<Boolean> sondeo = siguiente < maxPaginas
+                ? scrapingExecutor.submit(() -> hayPaginaNueva(construirUrlPagina(url, siguiente)))
+                : null;
+
+        List<HuellaPagina> huellas = new ArrayList<>();
+        for (Optional<HuellaPagina> revalidada : ejecutarEnParalelo(tareas)) {
+            if (revalidada.isEmpty()) {
+                log.debug("Cambio detectado en la revalidación de {}, crawl completo", url);
+                cancelar(sondeo);
+                return crawl(url);
+            }
+            huellas.add(revalidada.get());
+        }
+
+        if (sondeo != null && esperar(sondeo)) {
+            log.debug("Apareció la página {} en {}, crawl completo", siguiente, url);
+            return crawl(url);
+        }
+
+        log.debug("Sin cambios en las {} páginas de {}", huellas.size(), url);
+        return new ResultadoCrawl(true, List.of(), List.of(), huellas);
+    }
+
+    /**
+     * Una página más allá del paginador responde 404 o un listado sin artículos;
+     * si trae artículos, el sitio agregó páginas de resultados.
+     */
+    private boolean hayPaginaNueva(String url) throws Exception {
+        return hostLimiter.ejecutar(url, () -> {
+            PageResponse respuesta = pageFetcher.fetch(PageRequest.get(url));
+            return respuesta.esExitosa()
+                    && !ConditionalFetchCache.hashRegion(respuesta.cuerpoComoTexto()).equals(HUELLA_SIN_ARTICULOS);
+        });
+    }
+
+    /**
+     * Devuelve la huella (con validadores actualizados) si la página no cambió,
+     * o vacío si cambió y hay que volver a procesarla. Cualquier respuesta que no
+     * sea 304 ni 2xx (una página que desapareció con 404, un 5xx...) también cuenta
+     * como cambio: el crawl completo decide cuántas páginas hay ahora.
+     */
+    private Optional<HuellaPagina> revalidarPagina(String url, HuellaPagina previa) throws Exception {
+        return hostLimiter.ejecutar(url, () -> {
+            PageRequest peticion = PageRequest.get(url);
+            if (previa.etag() != null) {
+                peticion = peticion.conHeader("If-None-Match", previa.etag());
+            }
+            if (previa.lastModified() != null) {
+                peticion = peticion.conHeader("If-Modified-Since", previa.lastModified());
+            }
+
+            PageResponse respuesta = pageFetcher.fetch(peticion);
+            if (respuesta.noModificada()) {
+                return Optional.of(previa);
+            }
+            if (!respuesta.esExitosa()) {
+                log.debug("HTTP {} al revalidar {}, se trata como cambio", respuesta.status(), url);
+                return Optional.empty();
+            }
+
+            String hash = ConditionalFetchCache.hashRegion(respuesta.cuerpoComoTexto());
+            if (!hash.equals(previa.hashRegion())) {
+                return Optional.empty();
+            }
+            return Optional.of(previa.conValidadores(respuesta.header("ETag"), respuesta.header("Last-Modified")));
+        });
+    }
+
+    /**
+     * Descarga una página y extrae sus shows con el modo de parseo configurado.
+     * El documento (o el flujo) se descarta al terminar, solo se conservan los shows.
+     */
+    private PaginaProcesada procesarPagina(String url, int numero) throws Exception {
+        return hostLimiter.ejecutar(url, () -> {
+            log.debug("Conectando a: {}", url);
+
+            long inicioFetch = System.nanoTime();
+            PageResponse respuesta = pageFetcher.fetch(PageRequest.get(url));
+            verificarEstado(respuesta);
+            long fetchMs = (System.nanoTime() - inicioFetch) / 1_000_000;
+
+            return scrapingConfig.getParseMode() == ScrapingConfig.ParseMode.STREAMING
+                    ? procesarStreaming(respuesta, numero, fetchMs)
+                    : procesarDom(respuesta, numero, fetchMs);
+        });
+    }
+
+    private void verificarEstado(PageResponse respuesta) throws IOException {
+        if (!respuesta.esExitosa()) {
+            throw new IOException("HTTP " + respuesta.status() + " al descargar " + respuesta.url());
+        }
+    }
+
+    private PaginaProcesada procesarDom(PageResponse respuesta, int numero, long fetchMs) {
+        long inicioParse = System.nanoTime();
+        String html = respuesta.cuerpoComoTexto();
+        Document documento = Jsoup.parse(html, respuesta.url());
+        List<Element> articulos = documento.select(SELECTOR_ARTICULOS);
+        List<Show> shows = showExtractor.extraerTodos(articulos);
+        int totalPaginas = detectarTotalPaginas(documento);
+        long parseMs = (System.nanoTime() - inicioParse) / 1_000_000;
+
+        log.debug("Conexión exitosa. Título de la página: {}", documento.title());
+        HuellaPagina huella = new HuellaPagina(respuesta.url(), respuesta.header("ETag"), respuesta.header("Last-Modified"),
+                ConditionalFetchCache.hashRegion(html), 1);
+        return new PaginaProcesada(numero, shows, articulos.size(), totalPaginas, fetchMs, parseMs, huella);
+    }
+
+    /**
+     * 🌊 MODO STREAMING
+     *
+     * El parser entrega cada elemento en cuanto se cierra. Los article se extraen
+     * y se quitan del árbol inmediatamente; cualquier otro elemento completo que no
+     * esté dentro de un article (nav, scripts, footer...) también se quita. Así el
+     * árbol vivo nunca es mucho más grande que un artículo. El cuerpo se descomprime
+     * sobre la marcha y la huella de la región se calcula sobre el mismo flujo.
+     */
+    private PaginaProcesada procesarStreaming(PageResponse respuesta, int numero, long fetchMs) throws IOException {
+        long inicioParse = System.nanoTime();
+
+        RegionFingerprint.Lector lector = new RegionFingerprint.Lector(
+                new InputStreamReader(respuesta.abrirCuerpo(), respuesta.charset()));
+
+        List<Show> shows = new ArrayList<>();
+        int articulos = 0;
+        int ultimaPagina = 0;
+
+        try (StreamParser streamer = new StreamParser(Parser.htmlParser()).parse(lector, respuesta.url())) {
+            Document documento = streamer.document();
+
+            Iterator<Element> elementos = streamer.iterator();
+            while (elementos.hasNext()) {
+                Element elemento = elementos.next();
+                if (ARTICULO.matches(documento, elemento)) {
+                    articulos++;
+                    Show show = showExtractor.extraer(elemento);
+                    if (show != null) {
+                        shows.add(show);
+                    }
+                    elemento.remove();
+                } else if (ENLACE_PAGINADOR.matches(documento, elemento)) {
+                    ultimaPagina = Math.max(ultimaPagina, numeroPagina(elemento.attr("href")));
+                    elemento.remove();
+                } else if (!dentroDeArticulo(elemento) && elemento.parent() != null && elemento != documento) {
+                    elemento.remove();
+                }
+            }
+        }
+        long parseMs = (System.nanoTime() - inicioParse) / 1_000_000;
+
+        HuellaPagina huella = new HuellaPagina(respuesta.url(), respuesta.header("ETag"), respuesta.header("Last-Modified"),
+                lector.huella(), 1);
+        return new PaginaProcesada(numero, shows, articulos, ultimaPagina + 1, fetchMs, parseMs, huella);
+    }
+
+    private static boolean dentroDeArticulo(Element elemento) {
+        for (Element padre = elemento.parent(); padre != null; padre = padre.parent()) {
+            if (padre.normalName().equals("article") && padre.hasClass("bg-grey-light")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean esperar(Future<Boolean> futuro) throws Exception {
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            throw (e.getCause() instanceof Exception causa) ? causa : e;
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private static void cancelar(Future<?> futuro) {
+        if (futuro != null) {
+            futuro.cancel(true);
+        }
+    }
+
+    private <T> List<T> ejecutarEnParalelo(List<Callable<T>> tareas) throws Exception {
+        List<Future<T>> futuros = new ArrayList<>();
+        for (Callable<T> tarea : tareas) {
+            futuros.add(scrapingExecutor.submit(tarea));
+        }
+
+        List<T> resultados = new ArrayList<>();
+        try {
+            for (Future<T> futuro : futuros) {
+                resultados.add(futuro.get());
+            }
+        } catch (ExecutionException e) {
+            futuros.forEach(f -> f.cancel(true));
+            throw (e.getCause() instanceof Exception causa) ? causa : e;
+        } catch (InterruptedException e) {
+            futuros.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        return resultados;
+    }
+
+    int detectarTotalPaginas(Document documento) {
+        int ultimaPagina = 0;
+        for (Element enlace : documento.select(ENLACE_PAGINADOR)) {
+            ultimaPagina = Math.max(ultimaPagina, numeroPagina(enlace.attr("href")));
+        }
+        return ultimaPagina + 1;
+    }
+
+    private static int numeroPagina(String href) {
+        Matcher matcher = PARAM_PAGINA.matcher(href);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    static String construirUrlPagina(String url, int pagina) {
+        return url + (url.contains("?") ? "&" : "?") + "page=" + pagina;
+    }
+
+    private record PaginaProcesada(int numero, List<Show> shows, int articulos, int totalPaginas,
+                                   long fetchMs, long parseMs, HuellaPagina huella) {
+    }
+
+    public record TiempoPagina(int pagina, long fetchMs, long parseMs, int articulos) {
+    }
+
+    public record ResultadoCrawl(boolean sinCambios, List<Show> shows,
+                                 List<TiempoPagina> tiempos, List<HuellaPagina> huellas) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.armando0405.tuboletascraper.service;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * 🔏 HUELLA INCREMENTAL DE LA REGIÓN DE ARTÍCULOS
+ *
+ * Calcula, carácter a carácter, un hash de 128 bits (dos carriles FNV-1a de 64 bits)
+ * de la región que va desde el primer "<article" hasta el último "</article>".
+ * Como se alimenta por bloques, sirve tanto para un String completo como para
+ * el flujo que está leyendo el parser en modo streaming, sin guardar el cuerpo.
+ */
+public class RegionFingerprint {
+
+    private static final char[] INICIO_REGION = "<article".toCharArray();
+    private static final char[] FIN_REGION = "</article>".toCharArray();
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long SEMILLA_B = 0x9e3779b97f4a7c15L;
+
+    private boolean enRegion;
+    private int coincidenciaInicio;
+    private int coincidenciaFin;
+
+    private long hashA = FNV_OFFSET;
+    private long hashB = FNV_OFFSET ^ SEMILLA_B;
+
+    // Estado del hash en el último "</article>" visto; la región termina ahí
+    private long cierreA = FNV_OFFSET;
+    private long cierreB = FNV_OFFSET ^ SEMILLA_B;
+    private boolean hayCierre;
+
+    public static String de(String html) {
+        RegionFingerprint huella = new RegionFingerprint();
+        huella.actualizar(html.toCharArray(), 0, html.length());
+        return huella.resultado();
+    }
+
+    public void actualizar(char[] buffer, int desde, int longitud) {
+        for (int i = desde; i < desde + longitud; i++) {
+            char c = buffer[i];
+
+            if (!enRegion) {
+                coincidenciaInicio = avanzar(INICIO_REGION, coincidenciaInicio, c);
+                if (coincidenciaInicio == INICIO_REGION.length) {
+                    enRegion = true;
+                    for (char previo : INICIO_REGION) {
+                        mezclar(previo);
+                    }
+                }
+                continue;
+            }
+
+            mezclar(c);
+            coincidenciaFin = avanzar(FIN_REGION, coincidenciaFin, c);
+            if (coincidenciaFin == FIN_REGION.length) {
+                coincidenciaFin = 0;
+                cierreA = hashA;
+                cierreB = hashB;
+                hayCierre = true;
+            }
+        }
+    }
+
+    public String resultado() {
+        long a = hayCierre ? cierreA : FNV_OFFSET;
+        long b = hayCierre ? cierreB : FNV_OFFSET ^ SEMILLA_B;
+        return String.format("%016x%016x", a, b);
+    }
+
+    private void mezclar(char c) {
+        hashA = (hashA ^ c) * FNV_PRIME;
+        hashB = (hashB ^ (c * SEMILLA_B)) * FNV_PRIME;
+    }
+
+    // Los patrones solo tienen '<' al inicio, así que basta con reiniciar al fallar
+    private static int avanzar(char[] patron, int coincidencia, char c) {
+        if (patron[coincidencia] == c) {
+            return coincidencia + 1;
+        }
+        return patron[0] == c ? 1 : 0;
+    }
+
+    /**
+     * Reader que deja pasar el contenido al parser mientras va calculando la huella.
+     */
+    public static class Lector extends FilterReader {
+
+        private final RegionFingerprint huella = new RegionFingerprint();
+
+        public Lector(Reader origen) {
+            super(origen);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c >= 0) {
+                huella.actualizar(new char[]{(char) c}, 0, 1);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int desde, int longitud) throws IOException {
+            int leidos = super.read(buffer, desde, longitud);
+            if (leidos > 0) {
+                huella.actualizar(buffer, desde, leidos);
+            }
+            return leidos;
+        }
+
+        public String huella() {
+            return huella.resultado();
+        }
+    }
+}
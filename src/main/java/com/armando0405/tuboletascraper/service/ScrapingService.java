@@ -1,21 +1,23 @@
 package com.armando0405.tuboletascraper.service;
 
 
+import com.armando0405.tuboletascraper.config.ScrapingConfig;
 import com.armando0405.tuboletascraper.dao.entity.Show;
 import com.armando0405.tuboletascraper.exception.ScrapingException;
+import com.armando0405.tuboletascraper.service.ConditionalFetchCache.HuellaPagina;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,209 +30,185 @@ public class ScrapingService {
     @Value("${scraping.tuboleta.search-url}")
     private String searchUrl;
 
-    @Value("${scraping.tuboleta.user-agent}")
-    private String userAgent;
+    @Autowired
+    private ScrapingConfig scrapingConfig;
 
-    @Value("${scraping.tuboleta.timeout}")
-    private int timeout;
+    @Autowired
+    private PaginatedCrawler paginatedCrawler;
 
-    // Mapeo de meses en español
-    private static final Map<String, String> MESES = Map.ofEntries(
-            Map.entry("Ene", "01"), Map.entry("Feb", "02"), Map.entry("Mar", "03"),
-            Map.entry("Abr", "04"), Map.entry("May", "05"), Map.entry("Jun", "06"),
-            Map.entry("Jul", "07"), Map.entry("Ago", "08"), Map.entry("Sep", "09"),
-            Map.entry("Oct", "10"), Map.entry("Nov", "11"), Map.entry("Dic", "12")
-    );
+    @Autowired
+    private ExecutorService scrapingExecutor;
 
-    public List<Show> scrapeShows() {
-        log.info("Iniciando scraping de shows de Fucks News");
-
-        try {
-            // 1. Conectar a TuBoleta
-            Document doc = conectarTuBoleta();
+    @Autowired
+    private ShowDetailEnricher showDetailEnricher;
 
-            // 2. Extraer shows
-            Elements showContainers = doc.select("article.bg-grey-light");
-            log.info("Encontrados {} contenedores de shows", showContainers.size());
+    @Autowired
+    private SingleFlightCoordinator singleFlight;
 
-            // 3. Procesar cada show
-            List<Show> shows = showContainers.stream()
-                    .map(this::extraerShow)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+    @Value("${scraping.tuboleta.single-flight.scraping-ttl-ms:15000}")
+    private long ttlScrapingMs;
 
-            log.info("Shows extraídos exitosamente: {}", shows.size());
-            return shows;
-
-        } catch (Exception e) {
-            log.error("Error durante el scraping", e);
-            throw new ScrapingException("Error al hacer scraping de TuBoleta", e);
-        }
+    public List<Show> scrapeShows() {
+        return ejecutarScraping(false).shows();
     }
 
-    private Document conectarTuBoleta() throws Exception {
-        String fullUrl = baseUrl + searchUrl;
-        log.debug("Conectando a: {}", fullUrl);
-
-        Document doc = Jsoup.connect(fullUrl)
-                .userAgent(userAgent)
-                .timeout(timeout)
-                .get();
-
-        log.debug("Conexión exitosa. Título de la página: {}", doc.title());
-        return doc;
+    /**
+     * 🛫 SCRAPING COMPARTIDO
+     *
+     * Para /api/scraping: las peticiones simultáneas comparten una sola descarga
+     * y durante scraping-ttl-ms se devuelve el último resultado sin volver a TuBoleta.
+     * Los tiempos por página son los de esa misma descarga, no los de otra que
+     * haya corrido en paralelo (por ejemplo un monitoreo).
+     */
+    public ScrapingReciente scrapeShowsCompartido() {
+        return singleFlight.ejecutar("scraping", ttlScrapingMs, () -> {
+            long inicio = System.currentTimeMillis();
+            ResultadoScraping resultado = ejecutarScraping(false);
+            return new ScrapingReciente(List.copyOf(resultado.shows()), resultado.tiemposPorPagina(),
+                    System.currentTimeMillis() - inicio, LocalDateTime.now());
+        });
     }
 
-    private Show extraerShow(Element showElement) {
-        try {
-            // Extraer título
-            String titulo = extraerTitulo(showElement);
-            if (titulo == null || !titulo.toLowerCase().contains("fucks news")) {
-                log.debug("Show descartado, no es de Fucks News: {}", titulo);
-                return null;
-            }
-
-            // Extraer venue
-            String venue = extraerVenue(showElement);
+    /**
+     * 🏷️ SCRAPING CONDICIONAL
+     *
+     * Revalida las páginas con peticiones condicionales. Si ninguna consulta cambió
+     * devuelve sinCambios=true sin parsear ni extraer nada. Las huellas devueltas
+     * deben confirmarse en ConditionalFetchCache cuando el resultado se haya persistido.
+     */
+    public ResultadoScraping scrapeShowsCondicional() {
+        return ejecutarScraping(true);
+    }
 
-            // Extraer ciudad
-            String ciudad = extraerCiudad(showElement);
+    private ResultadoScraping ejecutarScraping(boolean condicional) {
+        List<String> consultas = resolverConsultas();
 
-            // Extraer fecha
-            LocalDate fechaShow = extraerFecha(showElement);
+        List<ResultadoConsulta> resultados = consultas.size() == 1
+                ? List.of(scrapeConsulta(consultas.get(0), condicional))
+                : scrapeConsultasConcurrentes(consultas, condicional);
 
-            // Extraer URL
-            String urlFuente = extraerUrl(showElement);
+        if (resultados.stream().allMatch(ResultadoConsulta::sinCambios)) {
+            log.info("Sin cambios en las páginas de {} consultas, se omite la extracción", consultas.size());
+            return new ResultadoScraping(true, List.of(), recolectarHuellas(resultados), Map.of());
+        }
 
-            // Crear show
-            Show show = Show.builder()
-                    .titulo(titulo.trim())
-                    .venue(venue != null ? venue.trim() : "")
-                    .ciudad(ciudad != null ? ciudad.trim() : "")
-                    .fechaShow(fechaShow)
-                    .urlFuente(urlFuente)
-                    //.rawHtml(showElement.outerHtml()) //habilitar unicamente para debug guarda todo el html del show
-                    .build();
+        // Si solo algunas consultas cambiaron, las demás se procesan completas para no perder sus shows
+        List<ResultadoConsulta> completos = new ArrayList<>();
+        for (int i = 0; i < consultas.size(); i++) {
+            ResultadoConsulta resultado = resultados.get(i);
+            completos.add(resultado.sinCambios() ? scrapeConsulta(consultas.get(i), false) : resultado);
+        }
 
-            // Generar ID único
-            show.generateUniqueId();
+        Map<String, Show> showsUnicos = new LinkedHashMap<>();
+        for (ResultadoConsulta resultado : completos) {
+            for (Show show : resultado.shows()) {
+                showsUnicos.putIfAbsent(show.getShowUniqueId(), show);
+            }
+        }
 
-            log.debug("Show extraído: {} - {} - {}", show.getTitulo(), show.getVenue(), show.getFechaShow());
-            return show;
+        // La hora solo está en la página de detalle; se descargan únicamente los shows nuevos o modificados
+        List<Show> shows = new ArrayList<>(showsUnicos.values());
+        showDetailEnricher.enriquecer(shows);
 
-        } catch (Exception e) {
-            log.warn("Error extrayendo show: {}", e.getMessage());
-            return null;
-        }
+        return new ResultadoScraping(false, shows, recolectarHuellas(completos), recolectarTiempos(consultas, completos));
     }
 
-    private String extraerTitulo(Element showElement) {
-        // Selector principal para el título
-        Element tituloElement = showElement.selectFirst(".content-info .fs-8.fw-bold.mb-1 span");
-        if (tituloElement != null) {
-            return tituloElement.text();
-        }
-
-        // Fallback: buscar cualquier elemento con texto que contenga "FUCKS NEWS"
-        Elements posiblesTitulos = showElement.select("span:contains(FUCKS NEWS)");
-        if (!posiblesTitulos.isEmpty()) {
-            return posiblesTitulos.first().text();
+    /**
+     * 🔀 MODO MULTI-CONSULTA
+     *
+     * Lanza cada consulta en un hilo virtual (cada descarga limitada por host)
+     * y espera a todas; la fusión y deduplicación por showUniqueId la hace el llamador.
+     */
+    private List<ResultadoConsulta> scrapeConsultasConcurrentes(List<String> consultas, boolean condicional) {
+        log.info("Iniciando scraping concurrente de {} consultas", consultas.size());
+        long inicio = System.currentTimeMillis();
+
+        List<Future<ResultadoConsulta>> futuros = consultas.stream()
+                .map(consulta -> scrapingExecutor.submit(() -> scrapeConsulta(consulta, condicional)))
+                .collect(Collectors.toList());
+
+        List<ResultadoConsulta> resultados = new ArrayList<>();
+        try {
+            for (Future<ResultadoConsulta> futuro : futuros) {
+                resultados.add(futuro.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuros.forEach(f -> f.cancel(true));
+            throw new ScrapingException("Scraping concurrente interrumpido", e);
+        } catch (ExecutionException e) {
+            futuros.forEach(f -> f.cancel(true));
+            throw new ScrapingException("Error en una de las consultas concurrentes", e.getCause());
         }
 
-        return null;
+        log.info("Scraping concurrente completado: {} consultas en {} ms",
+                consultas.size(), System.currentTimeMillis() - inicio);
+        return resultados;
     }
 
-    private String extraerVenue(Element showElement) {
-        // Los venues están en los elementos con class "text-grey"
-        Elements elementosGrises = showElement.select(".content-info .text-grey span");
-
-        // El primer elemento gris es el venue
-        if (!elementosGrises.isEmpty()) {
-            return elementosGrises.get(0).text();
+    private List<String> resolverConsultas() {
+        List<String> consultas = scrapingConfig.getQueries();
+        if (consultas == null || consultas.isEmpty()) {
+            return List.of(searchUrl);
         }
-
-        return null;
+        return consultas.stream().distinct().collect(Collectors.toList());
     }
 
-    private String extraerCiudad(Element showElement) {
-        // Los venues están en los elementos con class "text-grey"
-        Elements elementosGrises = showElement.select(".content-info .text-grey span");
+    private List<HuellaPagina> recolectarHuellas(List<ResultadoConsulta> resultados) {
+        return resultados.stream()
+                .flatMap(resultado -> resultado.huellas().stream())
+                .collect(Collectors.toList());
+    }
 
-        // El segundo elemento gris es la ciudad
-        if (elementosGrises.size() >= 2) {
-            return elementosGrises.get(1).text();
+    private Map<String, List<PaginatedCrawler.TiempoPagina>> recolectarTiempos(List<String> consultas,
+                                                                            List<ResultadoConsulta> resultados) {
+        Map<String, List<PaginatedCrawler.TiempoPagina>> tiempos = new LinkedHashMap<>();
+        for (int i = 0; i < consultas.size(); i++) {
+            tiempos.put(consultas.get(i), resultados.get(i).tiempos());
         }
-
-        return null;
+        return tiempos;
     }
 
-    private LocalDate extraerFecha(Element showElement) {
+    private ResultadoConsulta scrapeConsulta(String consulta, boolean condicional) {
+        log.info("Iniciando scraping de shows de Fucks News: {}", consulta);
+
         try {
-            // Extraer día
-            Element diaElement = showElement.selectFirst(".content-date .fs-5.fw-bold.lh-1");
-            String dia = diaElement != null ? diaElement.text() : "";
-
-            // Extraer mes
-            Element mesElement = showElement.selectFirst(".content-date .fs-8.fw-bold");
-            String mes = mesElement != null ? mesElement.text() : "";
-
-            // Si no encontramos día y mes por separado, buscar formato conjunto
-            if (dia.isEmpty() || mes.isEmpty()) {
-                Element fechaCompacta = showElement.selectFirst(".content-date .fs-7.fw-bold");
-                if (fechaCompacta != null) {
-                    String fechaTexto = fechaCompacta.text(); // "23 Sep"
-                    String[] partes = fechaTexto.split("\\s+");
-                    if (partes.length >= 2) {
-                        dia = partes[0];
-                        mes = partes[1];
-                    }
-                }
+            // 1. Conectar a TuBoleta y recorrer todas las páginas de resultados
+            String url = baseUrl + consulta;
+            PaginatedCrawler.ResultadoCrawl resultado = condicional
+                    ? paginatedCrawler.crawlCondicional(url)
+                    : paginatedCrawler.crawl(url);
+
+            if (resultado.sinCambios()) {
+                return new ResultadoConsulta(true, List.of(), resultado.huellas(), List.of());
             }
 
-            return parsearFecha(dia, mes);
+            // 2. Los shows ya vienen extraídos página por página (DOM o streaming)
+            int contenedores = resultado.tiempos().stream().mapToInt(PaginatedCrawler.TiempoPagina::articulos).sum();
+            log.info("Encontrados {} contenedores de shows en {} páginas", contenedores, resultado.tiempos().size());
+
+            List<Show> shows = resultado.shows();
+            log.info("Shows extraídos exitosamente: {}", shows.size());
+            return new ResultadoConsulta(false, shows, resultado.huellas(), resultado.tiempos());
 
         } catch (Exception e) {
-            log.warn("Error extrayendo fecha: {}", e.getMessage());
-            return null;
+            log.error("Error durante el scraping", e);
+            throw new ScrapingException("Error al hacer scraping de TuBoleta", e);
         }
     }
 
-    private LocalDate parsearFecha(String dia, String mes) {
-        if (dia.isEmpty() || mes.isEmpty()) {
-            return null;
-        }
-
-        // Año actual (asumimos que todos los eventos son del año actual o siguiente)
-        int año = LocalDate.now().getYear();
-
-        // Convertir mes de texto a número
-        String mesNumero = MESES.get(mes);
-        if (mesNumero == null) {
-            log.warn("Mes no reconocido: {}", mes);
-            return null;
-        }
-
-        // Parsear fecha
-        String fechaString = String.format("%04d-%s-%02d", año, mesNumero, Integer.parseInt(dia));
-        LocalDate fecha = LocalDate.parse(fechaString, DateTimeFormatter.ISO_LOCAL_DATE);
-
-        // Si la fecha ya pasó, probablemente es del año siguiente
-        if (fecha.isBefore(LocalDate.now())) {
-            fecha = fecha.plusYears(1);
-        }
+    private record ResultadoConsulta(boolean sinCambios, List<Show> shows, List<HuellaPagina> huellas,
+                                     List<PaginatedCrawler.TiempoPagina> tiempos) {
+    }
 
-        return fecha;
+    /**
+     * tiemposPorPagina: ⏱️ tiempos de descarga y parseo de esta ejecución, agrupados por consulta
+     */
+    public record ResultadoScraping(boolean sinCambios, List<Show> shows, List<HuellaPagina> huellas,
+                                    Map<String, List<PaginatedCrawler.TiempoPagina>> tiemposPorPagina) {
     }
 
-    private String extraerUrl(Element showElement) {
-        Element linkElement = showElement.selectFirst("a.content-link-container");
-        if (linkElement != null) {
-            String href = linkElement.attr("href");
-            if (href.startsWith("/")) {
-                return baseUrl + href;
-            }
-            return href;
-        }
-        return null;
+    public record ScrapingReciente(List<Show> shows, Map<String, List<PaginatedCrawler.TiempoPagina>> tiemposPorPagina,
+                                   long duracionMs, LocalDateTime obtenidoEn) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,293 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.service.SnapshotActual.ShowVigente;
+import com.armando0405.tuboletascraper.service.fetch.PageFetcher;
+import com.armando0405.tuboletascraper.service.fetch.PageRequest;
+import com.armando0405.tuboletascraper.service.fetch.PageResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 🔎 ENRIQUECIMIENTO CON LA PÁGINA DE DETALLE
+ *
+ * La página de resultados no trae la hora del show, así que se descarga la
+ * página de detalle (urlFuente) de cada show y se completa horaShow, y venue/ciudad
+ * cuando los spans grises del listado venían vacíos.
+ *
+ * El detalle se guarda por URL junto con el hash del contenido del show en el
+ * listado: si el show no cambió no se vuelve a pedir, de modo que el costo por
+ * ciclo depende de los shows nuevos o modificados, no del total. Las descargas
+ * van en paralelo (hilos virtuales) acotadas por el límite por host.
+ *
+ * Si un detalle falla se conserva el último conocido (el de la caché o, tras un
+ * reinicio, el del snapshot vigente): un show que se queda sin hora cambiaría su
+ * hash y el del snapshot, y el ciclo siguiente lo revertiría.
+ *
+ * La caché vive en memoria. Tras un reinicio se siembra con el snapshot vigente:
+ * un show con el mismo id, URL y fecha que ya tenía hora no se vuelve a pedir.
+ * Además se descargan a lo sumo max-per-cycle detalles por ciclo; el resto conserva
+ * su último detalle y queda para los ciclos siguientes. Con el rate-limit de 2 s,
+ * 144 detalles serían casi 5 min, cerca del cycle-timeout-ms (10 min) del monitoreo;
+ * el tope deja cada ciclo muy por debajo de ese plazo.
+ */
+@Slf4j
+@Component
+public class ShowDetailEnricher {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // "startDate": "2025-10-12T20:00:00-05:00"
+    private static final Pattern HORA_ISO = Pattern.compile("T(\\d{2}):(\\d{2})");
+    // "Hora: 8:00 p.m." / "Hora de inicio 20:00"
+    private static final Pattern HORA_TEXTO = Pattern.compile(
+            "(?i)hora[^0-9]{0,30}(\\d{1,2}):(\\d{2})\\s*([ap])?\\.?\\s*m?\\.?");
+
+    @Autowired
+    private PageFetcher pageFetcher;
+
+    @Autowired
+    private HostConcurrencyLimiter hostLimiter;
+
+    @Autowired
+    private ExecutorService scrapingExecutor;
+
+    @Autowired
+    private SnapshotEnMemoria snapshotEnMemoria;
+
+    @Value("${scraping.tuboleta.enrichment.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${scraping.tuboleta.enrichment.max-per-cycle:40}")
+    private int maxPorCiclo = 40;
+
+    private final Map<String, DetalleCacheado> detalles = new ConcurrentHashMap<>();
+
+    public void enriquecer(List<Show> shows) {
+        if (!habilitado || shows.isEmpty()) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+
+        Map<String, ShowVigente> vigentesPorId = snapshotEnMemoria.actual()
+                .map(SnapshotActual::showsPorId)
+                .orElse(Map.of());
+
+        List<Show> pendientes = new ArrayList<>();
+        int sembrados = 0;
+        for (Show show : shows) {
+            if (show.getUrlFuente() == null) {
+                continue;
+            }
+            String hash = hashListado(show);
+            DetalleCacheado cacheado = detalles.get(show.getUrlFuente());
+            if (cacheado != null && cacheado.hashListado().equals(hash)) {
+                aplicar(show, cacheado.detalle());
+            } else if (cacheado == null && sembrar(show, hash, vigentesPorId.get(show.getShowUniqueId()))) {
+                sembrados++;
+            } else {
+                pendientes.add(show);
+            }
+        }
+
+        // Lo que pasa del tope conserva su último detalle y se pide en los próximos ciclos
+        List<Show> pospuestos = pendientes.size() > maxPorCiclo
+                ? List.copyOf(pendientes.subList(maxPorCiclo, pendientes.size()))
+                : List.of();
+        if (!pospuestos.isEmpty()) {
+            pendientes = pendientes.subList(0, maxPorCiclo);
+            pospuestos.forEach(this::conservarUltimoDetalle);
+        }
+
+        List<Future<?>> futuros = pendientes.stream()
+                .map(show -> scrapingExecutor.submit(() -> descargarDetalle(show)))
+                .collect(Collectors.toList());
+        esperar(futuros);
+
+        // Solo se conservan las URLs del ciclo actual, así la caché no crece con shows ya retirados
+        Set<String> vigentes = shows.stream()
+                .map(Show::getUrlFuente)
+                .filter(url -> url != null)
+                .collect(Collectors.toSet());
+        detalles.keySet().retainAll(vigentes);
+
+        log.info("🔎 Detalle de shows: {} descargados, {} desde caché ({} del snapshot vigente), {} pospuestos en {} ms",
+                pendientes.size(), shows.size() - pendientes.size() - pospuestos.size(), sembrados,
+                pospuestos.size(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Tras un reinicio la caché está vacía: si el snapshot vigente tiene el mismo show
+     * (id, URL y fecha) con hora, su detalle vale para este listado y pasa a la caché.
+     */
+    private boolean sembrar(Show show, String hash, ShowVigente vigente) {
+        if (vigente == null || vigente.horaShow() == null
+                || !show.getUrlFuente().equals(vigente.urlFuente())
+                || !Objects.equals(show.getFechaShow(), vigente.fechaShow())) {
+            return false;
+        }
+        DetalleShow detalle = new DetalleShow(vigente.horaShow(), vigente.venue(), vigente.ciudad());
+        detalles.put(show.getUrlFuente(), new DetalleCacheado(hash, detalle));
+        aplicar(show, detalle);
+        return true;
+    }
+
+    private void descargarDetalle(Show show) {
+        String url = show.getUrlFuente();
+        try {
+            PageResponse respuesta = hostLimiter.ejecutar(url, () -> pageFetcher.fetch(PageRequest.get(url)));
+            if (!respuesta.esExitosa()) {
+                log.warn("Detalle de {} respondió HTTP {}", url, respuesta.status());
+                conservarUltimoDetalle(show);
+                return;
+            }
+
+            DetalleShow detalle = parsearDetalle(Jsoup.parse(respuesta.cuerpoComoTexto(), url));
+            detalles.put(url, new DetalleCacheado(hashListado(show), detalle));
+            aplicar(show, detalle);
+
+        } catch (Exception e) {
+            // Un detalle fallido no frena el ciclo: se reintenta el próximo ciclo
+            log.warn("Error descargando detalle de {}: {}", url, e.getMessage());
+            conservarUltimoDetalle(show);
+        }
+    }
+
+    /**
+     * No actualiza la caché, así el detalle se vuelve a pedir en el próximo ciclo.
+     */
+    private void conservarUltimoDetalle(Show show) {
+        DetalleCacheado cacheado = detalles.get(show.getUrlFuente());
+        if (cacheado != null) {
+            aplicar(show, cacheado.detalle());
+            return;
+        }
+        snapshotEnMemoria.actual()
+                .map(snapshot -> snapshot.showsPorId().get(show.getShowUniqueId()))
+                .ifPresent(vigente -> aplicar(show, new DetalleShow(vigente.horaShow(), vigente.venue(), vigente.ciudad())));
+    }
+
+    /**
+     * Primero busca un Event de schema.org en JSON-LD; si no hay, la hora se toma
+     * del texto cercano a la palabra "hora".
+     */
+    DetalleShow parsearDetalle(Document doc) {
+        for (Element script : doc.select("script[type=application/ld+json]")) {
+            try {
+                DetalleShow detalle = desdeJsonLd(JSON.readTree(script.data()));
+                if (detalle != null) {
+                    return detalle;
+                }
+            } catch (IOException e) {
+                log.debug("JSON-LD inválido en {}: {}", doc.location(), e.getMessage());
+            }
+        }
+        return new DetalleShow(horaDesdeTexto(doc.text()), null, null);
+    }
+
+    private DetalleShow desdeJsonLd(JsonNode nodo) {
+        if (nodo.isArray()) {
+            for (JsonNode elemento : nodo) {
+                DetalleShow detalle = desdeJsonLd(elemento);
+                if (detalle != null) {
+                    return detalle;
+                }
+            }
+            return null;
+        }
+        if (nodo.has("@graph")) {
+            return desdeJsonLd(nodo.get("@graph"));
+        }
+        if (!nodo.path("@type").asText().endsWith("Event") || !nodo.has("startDate")) {
+            return null;
+        }
+
+        Matcher hora = HORA_ISO.matcher(nodo.get("startDate").asText());
+        JsonNode lugar = nodo.path("location");
+        return new DetalleShow(
+                hora.find() ? LocalTime.of(Integer.parseInt(hora.group(1)), Integer.parseInt(hora.group(2))) : null,
+                textoONulo(lugar.path("name")),
+                textoONulo(lugar.path("address").path("addressLocality")));
+    }
+
+    private LocalTime horaDesdeTexto(String texto) {
+        Matcher matcher = HORA_TEXTO.matcher(texto);
+        if (!matcher.find()) {
+            return null;
+        }
+        int hora = Integer.parseInt(matcher.group(1));
+        int minutos = Integer.parseInt(matcher.group(2));
+        String meridiano = matcher.group(3);
+        if (meridiano != null) {
+            hora = hora % 12 + (meridiano.equalsIgnoreCase("p") ? 12 : 0);
+        }
+        return hora < 24 && minutos < 60 ? LocalTime.of(hora, minutos) : null;
+    }
+
+    /**
+     * El showUniqueId no se recalcula: sigue saliendo del listado para que un
+     * detalle que falla un ciclo no cambie la identidad del show.
+     */
+    private void aplicar(Show show, DetalleShow detalle) {
+        show.setHoraShow(detalle.hora());
+        if ((show.getVenue() == null || show.getVenue().isEmpty()) && detalle.venue() != null) {
+            show.setVenue(detalle.venue());
+        }
+        if ((show.getCiudad() == null || show.getCiudad().isEmpty()) && detalle.ciudad() != null) {
+            show.setCiudad(detalle.ciudad());
+        }
+    }
+
+    private void esperar(List<Future<?>> futuros) {
+        try {
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuros.forEach(f -> f.cancel(true));
+        } catch (ExecutionException e) {
+            log.warn("Error inesperado enriqueciendo shows: {}", e.getCause().getMessage());
+        }
+    }
+
+    private static String hashListado(Show show) {
+        return DigestUtils.md5Hex(String.join("|",
+                String.valueOf(show.getTitulo()), String.valueOf(show.getVenue()),
+                String.valueOf(show.getCiudad()), String.valueOf(show.getFechaShow())));
+    }
+
+    private static String textoONulo(JsonNode nodo) {
+        String texto = nodo.asText(null);
+        return texto == null || texto.isBlank() ? null : texto.trim();
+    }
+
+    record DetalleShow(LocalTime hora, String venue, String ciudad) {
+    }
+
+    private record DetalleCacheado(String hashListado, DetalleShow detalle) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 🧩 EXTRACTOR DE SHOWS EN UNA SOLA PASADA
+ *
+ * Los selectores CSS se compilan una única vez al cargar la clase y cada
+ * article se recorre una sola vez: en cada elemento se evalúan todos los
+ * selectores y se van llenando los campos del Show. Las reglas son las
+ * mismas que aplicaban los select/selectFirst individuales.
+ *
+ * Con páginas grandes (más de parallel-threshold artículos) la extracción
+ * se reparte entre los hilos del ForkJoinPool común, conservando el orden.
+ *
+ * Los articles idénticos a uno ya visto (mismo HTML normalizado) salen de una
+ * memoria LRU de extraction.cache-size entradas sin volver a extraerse.
+ */
+@Slf4j
+@Component
+public class ShowExtractor {
+
+    private static final Evaluator TITULO = QueryParser.parse(".content-info .fs-8.fw-bold.mb-1 span");
+    private static final Evaluator TITULO_FALLBACK = QueryParser.parse("span:contains(FUCKS NEWS)");
+    private static final Evaluator GRISES = QueryParser.parse(".content-info .text-grey span");
+    private static final Evaluator DIA = QueryParser.parse(".content-date .fs-5.fw-bold.lh-1");
+    private static final Evaluator MES = QueryParser.parse(".content-date .fs-8.fw-bold");
+    private static final Evaluator FECHA_COMPACTA = QueryParser.parse(".content-date .fs-7.fw-bold");
+    private static final Evaluator ENLACE = QueryParser.parse("a.content-link-container");
+
+    @Value("${scraping.tuboleta.base-url}")
+    private String baseUrl;
+
+    @Value("${scraping.tuboleta.extraction.parallel-threshold:200}")
+    private int umbralParalelo;
+
+    @Value("${scraping.tuboleta.extraction.cache-size:5000}")
+    private int capacidadMemo = 5000;
+
+    private final ExtractionMemo memo = new ExtractionMemo();
+
+    public List<Show> extraerTodos(List<Element> articulos) {
+        Stream<Element> stream = articulos.size() > umbralParalelo
+                ? articulos.parallelStream()
+                : articulos.stream();
+
+        return stream
+                .map(this::extraer)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    public Show extraer(Element showElement) {
+        ExtractionMemo.Clave clave = ExtractionMemo.clave(showElement);
+        ExtractionMemo.Entrada memorizada = memo.obtener(clave);
+        if (memorizada != null) {
+            return memorizada.show();
+        }
+
+        Show show = extraerSinMemo(showElement);
+        memo.guardar(clave, show, capacidadMemo);
+        return show;
+    }
+
+    /**
+     * 🧠 Aciertos/fallos de la memoria de artículos desde el arranque
+     */
+    public Map<String, Object> getEstadisticasMemo() {
+        return memo.resumen();
+    }
+
+    private Show extraerSinMemo(Element showElement) {
+        try {
+            CamposArticulo campos = recorrer(showElement);
+
+            // Extraer título (el fallback :contains calcula el texto de cada nodo, solo se usa si falta el principal)
+            Element tituloElement = campos.titulo != null ? campos.titulo : showElement.selectFirst(TITULO_FALLBACK);
+            String titulo = tituloElement != null ? tituloElement.text() : null;
+            if (titulo == null || !titulo.toLowerCase().contains("fucks news")) {
+                log.debug("Show descartado, no es de Fucks News: {}", titulo);
+                return null;
+            }
+
+            // El primer elemento gris es el venue y el segundo la ciudad
+            String venue = !campos.grises.isEmpty() ? campos.grises.get(0).text() : null;
+            String ciudad = campos.grises.size() >= 2 ? campos.grises.get(1).text() : null;
+
+            // Crear show
+            Show show = Show.builder()
+                    .titulo(titulo.trim())
+                    .venue(venue != null ? venue.trim() : "")
+                    .ciudad(ciudad != null ? ciudad.trim() : "")
+                    .fechaShow(extraerFecha(campos))
+                    .urlFuente(extraerUrl(campos))
+                    //.rawHtml(showElement.outerHtml()) //habilitar unicamente para debug guarda todo el html del show
+                    .build();
+
+            // Generar ID único
+            show.generateUniqueId();
+
+            log.debug("Show extraído: {} - {} - {}", show.getTitulo(), show.getVenue(), show.getFechaShow());
+            return show;
+
+        } catch (Exception e) {
+            log.warn("Error extrayendo show: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Recorre el subárbol del article una sola vez evaluando todos los selectores
+     * precompilados sobre cada elemento (mismo orden de documento que select).
+     */
+    private CamposArticulo recorrer(Element raiz) {
+        CamposArticulo campos = new CamposArticulo();
+
+        raiz.traverse((nodo, profundidad) -> {
+            if (!(nodo instanceof Element elemento)) {
+                return;
+            }
+            if (campos.titulo == null && TITULO.matches(raiz, elemento)) {
+                campos.titulo = elemento;
+            }
+            if (GRISES.matches(raiz, elemento)) {
+                campos.grises.add(elemento);
+            }
+            if (campos.dia == null && DIA.matches(raiz, elemento)) {
+                campos.dia = elemento;
+            }
+            if (campos.mes == null && MES.matches(raiz, elemento)) {
+                campos.mes = elemento;
+            }
+            if (campos.fechaCompacta == null && FECHA_COMPACTA.matches(raiz, elemento)) {
+                campos.fechaCompacta = elemento;
+            }
+            if (campos.enlace == null && ENLACE.matches(raiz, elemento)) {
+                campos.enlace = elemento;
+            }
+        });
+
+        return campos;
+    }
+
+    private LocalDate extraerFecha(CamposArticulo campos) {
+        try {
+            String dia = campos.dia != null ? campos.dia.text() : "";
+            String mes = campos.mes != null ? campos.mes.text() : "";
+
+            // Si no encontramos día y mes por separado, buscar formato conjunto
+            if ((dia.isEmpty() || mes.isEmpty()) && campos.fechaCompacta != null) {
+                String fechaTexto = campos.fechaCompacta.text(); // "23 Sep"
+                String[] partes = fechaTexto.split("\\s+");
+                if (partes.length >= 2) {
+                    dia = partes[0];
+                    mes = partes[1];
+                }
+            }
+
+            return FechaShow.parsear(dia, mes);
+
+        } catch (Exception e) {
+            log.warn("Error extrayendo fecha: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String extraerUrl(CamposArticulo campos) {
+        if (campos.enlace != null) {
+            String href = campos.enlace.attr("href");
+            if (href.startsWith("/")) {
+                return baseUrl + href;
+            }
+            return href;
+        }
+        return null;
+    }
+
+    private static final class CamposArticulo {
+        private Element titulo;
+        private final List<Element> grises = new ArrayList<>();
+        private Element dia;
+        private Element mes;
+        private Element fechaCompacta;
+        private Element enlace;
+    }
+}
@@ -0,0 +1,144 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.ConsultaInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.HistorialShow;
+import com.armando0405.tuboletascraper.dao.entity.ShowInstantanea;
+import com.armando0405.tuboletascraper.dao.repository.HistorialShowRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🕰️ HISTORIAL DE VIGENCIA DE LOS SHOWS (SCD TIPO 2)
+ *
+ * Con cada snapshot nuevo solo se tocan los shows que cambiaron respecto al
+ * anterior: se cierra su intervalo abierto (eliminados y modificados) y se abre
+ * uno nuevo (agregados y modificados). Los shows sin cambios siguen con su
+ * intervalo abierto, así el costo depende de los cambios y no del total.
+ *
+ * Las consultas "a la fecha" y por rango leen por separado los intervalos abiertos
+ * y los cerrados (ver HistorialShow) y no recorren snapshots.
+ */
+@Slf4j
+@Service
+public class ShowHistoryService {
+
+    private static final int MAX_IDS_POR_CONSULTA = 500;
+
+    @Autowired
+    private HistorialShowRepository historialRepository;
+
+    /**
+     * @param anterior snapshot anterior en memoria, o null en la primera ejecución
+     */
+    @Transactional
+    public void registrar(SnapshotActual anterior, ConsultaInstantanea nuevo) {
+        LocalDateTime instante = nuevo.getFechaHora();
+        Map<String, String> hashesAnteriores = new HashMap<>();
+        if (anterior != null) {
+            anterior.showsPorId().forEach((showId, show) -> hashesAnteriores.put(showId, show.hashContenido()));
+        }
+
+        List<String> aCerrar = new ArrayList<>();
+        List<HistorialShow> aAbrir = new ArrayList<>();
+        for (ShowInstantanea show : nuevo.getShows()) {
+            String hashAnterior = hashesAnteriores.remove(show.getShowIdUnico());
+            if (show.getHashContenido().equals(hashAnterior)) {
+                continue;
+            }
+            if (hashAnterior != null) {
+                aCerrar.add(show.getShowIdUnico());
+            }
+            aAbrir.add(HistorialShow.builder()
+                    .showIdUnico(show.getShowIdUnico())
+                    .versionShow(show.getVersionShow())
+                    .validFrom(instante)
+                    .validTo(HistorialShow.VIGENTE)
+                    .build());
+        }
+        // Lo que queda son los shows que ya no se listan
+        aCerrar.addAll(hashesAnteriores.keySet());
+
+        int cerrados = 0;
+        for (int i = 0; i < aCerrar.size(); i += MAX_IDS_POR_CONSULTA) {
+            cerrados += historialRepository.cerrarVigentes(
+                    aCerrar.subList(i, Math.min(i + MAX_IDS_POR_CONSULTA, aCerrar.size())),
+                    instante, HistorialShow.VIGENTE);
+        }
+        historialRepository.saveAll(aAbrir);
+
+        log.info("🕰️ Historial actualizado: {} intervalos cerrados, {} abiertos", cerrados, aAbrir.size());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> carteleraEn(LocalDateTime instante) {
+        List<HistorialShow> vigentes = new ArrayList<>(historialRepository.findAbiertosEn(instante, HistorialShow.VIGENTE));
+        vigentes.addAll(historialRepository.findCerradosEn(instante, HistorialShow.VIGENTE));
+        vigentes.sort(Comparator.comparing(intervalo -> intervalo.getVersionShow().getTitulo()));
+        return vigentes.stream()
+                .map(ShowHistoryService::aRespuesta)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> vigentesEntre(LocalDateTime desde, LocalDateTime hasta) {
+        List<HistorialShow> vigentes = new ArrayList<>(historialRepository.findAbiertosEntre(hasta, HistorialShow.VIGENTE));
+        vigentes.addAll(historialRepository.findCerradosEntre(desde, hasta, HistorialShow.VIGENTE));
+        vigentes.sort(Comparator.comparing(HistorialShow::getValidFrom));
+        return vigentes.stream()
+                .map(ShowHistoryService::aRespuesta)
+                .toList();
+    }
+
+    /**
+     * Intervalos de un show y el tiempo total que estuvo listado (hasta ahora si sigue vigente).
+     * Un show que vuelve a una versión anterior abre otro intervalo con la misma versión,
+     * por eso totalIntervalos y totalVersiones pueden diferir.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> historiaDeShow(String showId) {
+        List<HistorialShow> intervalos = historialRepository.findByShowIdUnico(showId);
+        LocalDateTime ahora = LocalDateTime.now();
+        Duration listado = Duration.ZERO;
+        for (HistorialShow intervalo : intervalos) {
+            LocalDateTime fin = intervalo.estaVigente() ? ahora : intervalo.getValidTo();
+            listado = listado.plus(Duration.between(intervalo.getValidFrom(), fin));
+        }
+
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("showIdUnico", showId);
+        respuesta.put("totalIntervalos", intervalos.size());
+        respuesta.put("totalVersiones", intervalos.stream()
+                .map(intervalo -> intervalo.getVersionShow().getId())
+                .distinct()
+                .count());
+        respuesta.put("vigente", !intervalos.isEmpty() && intervalos.get(intervalos.size() - 1).estaVigente());
+        respuesta.put("horasListado", listado.toMinutes() / 60.0);
+        respuesta.put("intervalos", intervalos.stream().map(ShowHistoryService::aRespuesta).toList());
+        return respuesta;
+    }
+
+    private static Map<String, Object> aRespuesta(HistorialShow intervalo) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("showIdUnico", intervalo.getShowIdUnico());
+        item.put("titulo", intervalo.getVersionShow().getTitulo());
+        item.put("venue", intervalo.getVersionShow().getVenue());
+        item.put("ciudad", intervalo.getVersionShow().getCiudad());
+        item.put("fechaShow", intervalo.getVersionShow().getFechaShow());
+        item.put("horaShow", intervalo.getVersionShow().getHoraShow());
+        item.put("urlFuente", intervalo.getVersionShow().getUrlFuente());
+        item.put("validoDesde", intervalo.getValidFrom());
+        item.put("validoHasta", intervalo.estaVigente() ? null : intervalo.getValidTo());
+        return item;
+    }
+}
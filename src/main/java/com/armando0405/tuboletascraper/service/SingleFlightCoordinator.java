@@ -0,0 +1,120 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.exception.ScrapingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 🛫 EJECUCIÓN ÚNICA POR CLAVE (SINGLE-FLIGHT)
+ *
+ * Si llega una llamada mientras otra con la misma clave está en curso, no
+ * vuelve a ejecutar la tarea: espera a la que ya corre y recibe el mismo
+ * resultado (o la misma excepción). Con ttlMs > 0 el resultado se reutiliza
+ * además durante ese tiempo después de terminar.
+ *
+ * La deduplicación es por clave: el scheduler y /api/monitor comparten
+ * "monitoreo", y las peticiones simultáneas a /api/scraping comparten "scraping".
+ * Un monitoreo y un /api/scraping que coinciden siguen siendo dos descargas.
+ */
+@Slf4j
+@Component
+public class SingleFlightCoordinator {
+
+    private final Map<String, CompletableFuture<Object>> enCurso = new ConcurrentHashMap<>();
+    private final Map<String, Reciente> recientes = new ConcurrentHashMap<>();
+
+    private final AtomicLong ejecuciones = new AtomicLong();
+    private final AtomicLong unidas = new AtomicLong();
+    private final AtomicLong desdeCache = new AtomicLong();
+
+    public <T> T ejecutar(String clave, Supplier<T> tarea) {
+        return ejecutar(clave, 0, tarea);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T ejecutar(String clave, long ttlMs, Supplier<T> tarea) {
+        Reciente reciente = vigente(clave, ttlMs);
+        if (reciente != null) {
+            desdeCache.incrementAndGet();
+            return (T) reciente.valor();
+        }
+
+        CompletableFuture<Object> propio = new CompletableFuture<>();
+        CompletableFuture<Object> existente = enCurso.putIfAbsent(clave, propio);
+        if (existente != null) {
+            unidas.incrementAndGet();
+            log.info("🛫 '{}' ya está en curso, esperando su resultado", clave);
+            return (T) esperar(clave, existente);
+        }
+
+        try {
+            // La ejecución anterior pudo terminar entre la consulta a la caché y el putIfAbsent
+            reciente = vigente(clave, ttlMs);
+            if (reciente != null) {
+                desdeCache.incrementAndGet();
+                propio.complete(reciente.valor());
+                return (T) reciente.valor();
+            }
+
+            ejecuciones.incrementAndGet();
+            T valor = tarea.get();
+            if (ttlMs > 0) {
+                // Antes de liberar la clave, para que quien llegue después la encuentre en caché
+                recientes.put(clave, new Reciente(valor, System.currentTimeMillis()));
+            }
+            propio.complete(valor);
+            return valor;
+
+        } catch (RuntimeException | Error e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propio);
+        }
+    }
+
+    public Map<String, Object> resumen() {
+        return Map.of(
+                "ejecuciones", ejecuciones.get(),
+                "unidas", unidas.get(),
+                "desdeCache", desdeCache.get(),
+                "enCurso", Set.copyOf(enCurso.keySet()));
+    }
+
+    private Reciente vigente(String clave, long ttlMs) {
+        if (ttlMs <= 0) {
+            return null;
+        }
+        Reciente reciente = recientes.get(clave);
+        return reciente != null && System.currentTimeMillis() - reciente.completadoMs() < ttlMs ? reciente : null;
+    }
+
+    private Object esperar(String clave, CompletableFuture<Object> futuro) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScrapingException("Espera interrumpida de '" + clave + "'", e);
+        } catch (ExecutionException e) {
+            // Misma excepción que recibió quien ejecutó la tarea
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new ScrapingException("Error en '" + clave + "'", e.getCause());
+        }
+    }
+
+    private record Reciente(Object valor, long completadoMs) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import com.armando0405.tuboletascraper.dao.repository.ShowInstantaneaRepository.HuellaShow;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔥 COPIA INMUTABLE DEL ÚLTIMO SNAPSHOT PERSISTIDO
+ *
+ * Hash, shows por showIdUnico (en orden de título) y las respuestas de la API ya
+ * serializadas a JSON. Nunca se modifica: cada snapshot nuevo produce otra
+ * instancia que reemplaza a esta (ver SnapshotEnMemoria). Los arreglos de bytes
+ * se comparten tal cual con los controladores y no deben alterarse.
+ */
+public record SnapshotActual(
+        Long consultaId,
+        LocalDateTime fechaHora,
+        int totalShows,
+        String hash,
+        Map<String, ShowVigente> showsPorId,
+        byte[] payload,
+        byte[] payloadResumen) {
+
+    public List<HuellaShow> huellas() {
+        return List.copyOf(showsPorId.values());
+    }
+
+    /**
+     * Versiones del snapshot como entidades sueltas (con su id), para ChangeDetector.
+     */
+    public List<VersionShow> shows(Collection<String> showIds) {
+        List<VersionShow> shows = new ArrayList<>(showIds.size());
+        for (String showId : showIds) {
+            ShowVigente show = showsPorId.get(showId);
+            if (show != null) {
+                shows.add(show.comoVersion());
+            }
+        }
+        return shows;
+    }
+
+    public record ShowVigente(Long versionId, String showIdUnico, String titulo, String venue, String ciudad,
+                              LocalDate fechaShow, LocalTime horaShow, String urlFuente,
+                              String hashContenido) implements HuellaShow {
+
+        static ShowVigente de(VersionShow version) {
+            return new ShowVigente(version.getId(), version.getShowIdUnico(), version.getTitulo(),
+                    version.getVenue(), version.getCiudad(), version.getFechaShow(), version.getHoraShow(),
+                    version.getUrlFuente(), version.getHashContenido());
+        }
+
+        @Override
+        public String getShowIdUnico() {
+            return showIdUnico;
+        }
+
+        @Override
+        public String getHashContenido() {
+            return hashContenido;
+        }
+
+        /**
+         * Versión suelta con su id: sirve para referenciarla desde un snapshot nuevo sin leerla de la BD.
+         */
+        VersionShow comoVersion() {
+            return VersionShow.builder()
+                    .id(versionId)
+                    .showIdUnico(showIdUnico)
+                    .titulo(titulo)
+                    .venue(venue)
+                    .ciudad(ciudad)
+                    .fechaShow(fechaShow)
+                    .horaShow(horaShow)
+                    .urlFuente(urlFuente)
+                    .hashContenido(hashContenido)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import com.armando0405.tuboletascraper.dao.repository.ConsultaInstantaneaRepository;
+import com.armando0405.tuboletascraper.dao.repository.ShowInstantaneaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 🔀 DIFF ENTRE DOS SNAPSHOTS CUALESQUIERA
+ *
+ * Lee ambos snapshots desde la BD ordenados por showIdUnico (cursor con fetch
+ * size) y los combina como un merge-join: de los shows presentes en ambos lados
+ * solo hay una fila de cada lado en memoria. Si el hash de contenido es el mismo
+ * el show no se compara campo a campo.
+ *
+ * Los eliminados y agregados se guardan hasta el final para emparejarlos por URL
+ * igual que ChangeDetector (un show renombrado cambia de showIdUnico). Ese buffer
+ * está acotado por max-unpaired: si se llena, el resto se emite sin emparejar.
+ *
+ * Los snapshots no se modifican una vez guardados, así que el resultado para un
+ * par (desde, hasta) no cambia nunca y se guarda en una caché LRU.
+ */
+@Slf4j
+@Service
+public class SnapshotDiffService {
+
+    @Autowired
+    private ConsultaInstantaneaRepository consultaRepository;
+
+    @Autowired
+    private ShowInstantaneaRepository showRepository;
+
+    @Autowired
+    private ChangeDetector changeDetector;
+
+    @Value("${scraping.tuboleta.diff.cache-size:32}")
+    private int capacidadCache = 32;
+
+    @Value("${scraping.tuboleta.diff.max-unpaired:5000}")
+    private int maxSinPareja = 5000;
+
+    private final Map<ParSnapshots, List<EventoCambio>> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Eventos para pasar del snapshot desde al snapshot hasta, o vacío si alguno no existe.
+     * Transaccional porque los streams del repositorio necesitan la conexión abierta.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResultadoDiff> diferencias(Long desde, Long hasta) {
+        ParSnapshots par = new ParSnapshots(desde, hasta);
+        List<EventoCambio> cacheado = obtenerDeCache(par);
+        if (cacheado != null) {
+            return Optional.of(new ResultadoDiff(cacheado, true));
+        }
+        if (!consultaRepository.existsById(desde) || !consultaRepository.existsById(hasta)) {
+            return Optional.empty();
+        }
+
+        long inicio = System.currentTimeMillis();
+        List<EventoCambio> eventos = new ArrayList<>();
+        recorrer(desde, hasta, eventos::add);
+        List<EventoCambio> inmutables = List.copyOf(eventos);
+        guardarEnCache(par, inmutables);
+
+        log.info("🔀 Diff {} → {}: {} eventos en {} ms", desde, hasta, eventos.size(),
+                System.currentTimeMillis() - inicio);
+        return Optional.of(new ResultadoDiff(inmutables, false));
+    }
+
+    /**
+     * Merge-join de los dos snapshots; cada evento se entrega a medida que se detecta.
+     */
+    @Transactional(readOnly = true)
+    public void recorrer(Long desde, Long hasta, Consumer<EventoCambio> destino) {
+        try (Stream<VersionShow> anteriores = showRepository.streamVersionesOrdenadas(desde);
+             Stream<VersionShow> nuevos = showRepository.streamVersionesOrdenadas(hasta)) {
+            combinar(anteriores.iterator(), nuevos.iterator(), destino);
+        }
+    }
+
+    void combinar(Iterator<VersionShow> anteriores, Iterator<VersionShow> nuevos, Consumer<EventoCambio> destino) {
+        Cursor a = new Cursor(anteriores);
+        Cursor b = new Cursor(nuevos);
+        SinPareja sinPareja = new SinPareja(destino);
+
+        while (a.actual != null || b.actual != null) {
+            int orden = a.actual == null ? 1
+                    : b.actual == null ? -1
+                    : a.actual.getShowIdUnico().compareTo(b.actual.getShowIdUnico());
+
+            if (orden < 0) {
+                sinPareja.eliminado(a.actual);
+                a.avanzar();
+            } else if (orden > 0) {
+                sinPareja.agregado(b.actual);
+                b.avanzar();
+            } else {
+                if (!a.actual.getHashContenido().equals(b.actual.getHashContenido())) {
+                    changeDetector.compararCampos(a.actual, b.actual).forEach(destino);
+                }
+                a.avanzar();
+                b.avanzar();
+            }
+        }
+
+        sinPareja.cerrar();
+    }
+
+    private synchronized List<EventoCambio> obtenerDeCache(ParSnapshots par) {
+        return cache.get(par);
+    }
+
+    private synchronized void guardarEnCache(ParSnapshots par, List<EventoCambio> eventos) {
+        if (capacidadCache <= 0) {
+            return;
+        }
+        cache.put(par, eventos);
+        while (cache.size() > capacidadCache) {
+            cache.remove(cache.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Iterador con la fila actual. El merge-join supone que la BD ordena igual que
+     * String.compareTo (orden binario, el de H2); si no, se falla en lugar de
+     * producir un diff incorrecto.
+     */
+    private static final class Cursor {
+        private final Iterator<VersionShow> filas;
+        private VersionShow actual;
+
+        Cursor(Iterator<VersionShow> filas) {
+            this.filas = filas;
+            avanzar();
+        }
+
+        void avanzar() {
+            VersionShow anterior = actual;
+            actual = filas.hasNext() ? filas.next() : null;
+            if (anterior != null && actual != null
+                    && anterior.getShowIdUnico().compareTo(actual.getShowIdUnico()) > 0) {
+                throw new IllegalStateException("Snapshot no ordenado por showIdUnico: "
+                        + anterior.getShowIdUnico() + " antes de " + actual.getShowIdUnico());
+            }
+        }
+    }
+
+    /**
+     * Eliminados y agregados pendientes de emparejar por URL al terminar el recorrido.
+     * Al pasar de maxSinPareja se emiten los pendientes sin emparejar y se deja de guardar.
+     */
+    private final class SinPareja {
+        private final Consumer<EventoCambio> destino;
+        private final List<VersionShow> eliminados = new ArrayList<>();
+        private final List<VersionShow> agregados = new ArrayList<>();
+        private boolean desbordado;
+
+        SinPareja(Consumer<EventoCambio> destino) {
+            this.destino = destino;
+        }
+
+        void eliminado(VersionShow show) {
+            if (desbordado) {
+                destino.accept(EventoCambio.eliminado(show));
+            } else {
+                eliminados.add(show);
+                verificarLimite();
+            }
+        }
+
+        void agregado(VersionShow show) {
+            if (desbordado) {
+                destino.accept(EventoCambio.agregado(show));
+            } else {
+                agregados.add(show);
+                verificarLimite();
+            }
+        }
+
+        void cerrar() {
+            if (!desbordado) {
+                changeDetector.eventosSinPareja(eliminados, agregados).forEach(destino);
+            }
+        }
+
+        private void verificarLimite() {
+            if (eliminados.size() + agregados.size() <= maxSinPareja) {
+                return;
+            }
+            log.warn("🔀 Más de {} shows sin pareja por id, el resto del diff no se empareja por URL", maxSinPareja);
+            desbordado = true;
+            agregados.forEach(show -> destino.accept(EventoCambio.agregado(show)));
+            eliminados.forEach(show -> destino.accept(EventoCambio.eliminado(show)));
+            agregados.clear();
+            eliminados.clear();
+        }
+    }
+
+    private record ParSnapshots(Long desde, Long hasta) {
+    }
+
+    public record ResultadoDiff(List<EventoCambio> eventos, boolean desdeCache) {
+    }
+}
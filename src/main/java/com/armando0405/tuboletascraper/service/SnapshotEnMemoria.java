@@ -0,0 +1,117 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.ConsultaInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.ShowInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import com.armando0405.tuboletascraper.dao.repository.ConsultaInstantaneaRepository;
+import com.armando0405.tuboletascraper.dao.repository.ShowInstantaneaRepository;
+import com.armando0405.tuboletascraper.service.SnapshotActual.ShowVigente;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🔥 ESTADO CALIENTE DEL ÚLTIMO SNAPSHOT
+ *
+ * Mantiene un SnapshotActual que el monitoreo usa para comparar y que los
+ * endpoints de lectura sirven directamente, sin consultar la BD. Se calienta
+ * desde la BD al arrancar y se reemplaza de forma atómica tras cada commit;
+ * una publicación nunca sustituye a un snapshot más reciente.
+ */
+@Slf4j
+@Component
+public class SnapshotEnMemoria {
+
+    @Autowired
+    private ConsultaInstantaneaRepository consultaRepository;
+
+    @Autowired
+    private ShowInstantaneaRepository showRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicReference<SnapshotActual> actual = new AtomicReference<>();
+
+    public Optional<SnapshotActual> actual() {
+        return Optional.ofNullable(actual.get());
+    }
+
+    /**
+     * Estado actual o, si todavía no se ha calentado, el cargado desde la BD.
+     */
+    public Optional<SnapshotActual> obtenerOCargar() {
+        SnapshotActual estado = actual.get();
+        return estado != null ? Optional.of(estado) : calentar();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alArrancar() {
+        if (actual.get() == null) {
+            calentar();
+        }
+    }
+
+    private Optional<SnapshotActual> calentar() {
+        long inicio = System.currentTimeMillis();
+        Optional<ConsultaInstantanea> ultima = consultaRepository.findTopByOrderByFechaHoraDesc();
+        if (ultima.isEmpty()) {
+            log.info("🔥 Sin snapshots en BD: el estado en memoria se creará con el primer monitoreo");
+            return Optional.empty();
+        }
+
+        ConsultaInstantanea consulta = ultima.get();
+        SnapshotActual estado = publicar(consulta, showRepository.findConVersionByConsultaId(consulta.getId()));
+        log.info("🔥 Estado en memoria cargado desde BD: snapshot {} con {} shows en {} ms",
+                consulta.getId(), consulta.getTotalShows(), System.currentTimeMillis() - inicio);
+        return Optional.of(estado);
+    }
+
+    /**
+     * Construye el estado a partir de una consulta ya persistida y sus pertenencias
+     * (con la versión cargada) y lo publica. Si
+     * entretanto se publicó un snapshot más nuevo, se conserva ese y se devuelve.
+     */
+    public SnapshotActual publicar(ConsultaInstantanea consulta, List<ShowInstantanea> shows) {
+        SnapshotActual nuevo = construir(consulta, shows);
+        return actual.accumulateAndGet(nuevo, (previo, candidato) ->
+                previo == null || candidato.consultaId() >= previo.consultaId() ? candidato : previo);
+    }
+
+    SnapshotActual construir(ConsultaInstantanea consulta, List<ShowInstantanea> shows) {
+        Map<String, ShowVigente> showsPorId = new LinkedHashMap<>(shows.size() * 2);
+        shows.stream()
+                .map(ShowInstantanea::getVersionShow)
+                .sorted(Comparator.comparing(VersionShow::getTitulo, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(version -> showsPorId.put(version.getShowIdUnico(), ShowVigente.de(version)));
+
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("consultaId", consulta.getId());
+        resumen.put("fechaHora", consulta.getFechaHora());
+        resumen.put("totalShows", showsPorId.size());
+        resumen.put("hash", consulta.getHashContenido());
+
+        Map<String, Object> completo = new LinkedHashMap<>(resumen);
+        completo.put("shows", showsPorId.values());
+
+        try {
+            return new SnapshotActual(consulta.getId(), consulta.getFechaHora(), showsPorId.size(),
+                    consulta.getHashContenido(), Collections.unmodifiableMap(showsPorId),
+                    objectMapper.writeValueAsBytes(completo), objectMapper.writeValueAsBytes(resumen));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el snapshot " + consulta.getId(), e);
+        }
+    }
+}
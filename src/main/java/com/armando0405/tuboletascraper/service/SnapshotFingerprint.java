@@ -0,0 +1,56 @@
+package com.armando0405.tuboletascraper.service;
+
+/**
+ * 🧮 HUELLA COMBINABLE DE UN SNAPSHOT
+ *
+ * Suma módulo 2^128 de los hashes de contenido (MD5, 32 hex) de cada show.
+ * Como la suma es conmutativa el orden de los shows no importa, y la huella
+ * se actualiza en O(1) al agregar o quitar un show, sin recorrer el resto.
+ */
+public final class SnapshotFingerprint {
+
+    private long alto;
+    private long bajo;
+
+    private SnapshotFingerprint(long alto, long bajo) {
+        this.alto = alto;
+        this.bajo = bajo;
+    }
+
+    public static SnapshotFingerprint vacia() {
+        return new SnapshotFingerprint(0, 0);
+    }
+
+    public static SnapshotFingerprint desdeHex(String hex) {
+        return new SnapshotFingerprint(parsear(hex, 0), parsear(hex, 16));
+    }
+
+    public SnapshotFingerprint agregar(String hashShow) {
+        long b = parsear(hashShow, 16);
+        long suma = bajo + b;
+        alto += parsear(hashShow, 0) + (Long.compareUnsigned(suma, bajo) < 0 ? 1 : 0);
+        bajo = suma;
+        return this;
+    }
+
+    public SnapshotFingerprint quitar(String hashShow) {
+        long b = parsear(hashShow, 16);
+        long resta = bajo - b;
+        alto -= parsear(hashShow, 0) + (Long.compareUnsigned(bajo, b) < 0 ? 1 : 0);
+        bajo = resta;
+        return this;
+    }
+
+    public String hex() {
+        return String.format("%016x%016x", alto, bajo);
+    }
+
+    // 16 dígitos hexadecimales desde la posición indicada, sin substring
+    private static long parsear(String hex, int desde) {
+        long valor = 0;
+        for (int i = desde; i < desde + 16; i++) {
+            valor = (valor << 4) | Character.digit(hex.charAt(i), 16);
+        }
+        return valor;
+    }
+}
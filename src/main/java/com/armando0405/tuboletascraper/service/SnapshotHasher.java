@@ -0,0 +1,31 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 🔑 HASH DEL CONTENIDO DE UN SNAPSHOT
+ *
+ * Cada show tiene su propio hash (MD5 de todos sus campos), que identifica su
+ * VersionShow; el hash del snapshot es la combinación sin orden de esos
+ * hashes (ver SnapshotFingerprint). Si no cambia, el snapshot no cambió.
+ */
+@Component
+public class SnapshotHasher {
+
+    public String generarHash(List<Show> shows) {
+        SnapshotFingerprint huella = SnapshotFingerprint.vacia();
+        for (Show show : shows) {
+            huella.agregar(hashShow(show));
+        }
+        return huella.hex();
+    }
+
+    public String hashShow(Show show) {
+        return DigestUtils.md5Hex(show.getShowUniqueId() + '|' + show.getTitulo() + '|' + show.getVenue() + '|'
+                + show.getCiudad() + '|' + show.getFechaShow() + '|' + show.getHoraShow() + '|' + show.getUrlFuente());
+    }
+}
@@ -1,33 +1,42 @@
 package com.armando0405.tuboletascraper.service;
 
+import com.armando0405.tuboletascraper.dao.entity.CambioShow;
 import com.armando0405.tuboletascraper.dao.entity.ConsultaInstantanea;
 import com.armando0405.tuboletascraper.dao.entity.RegistroCambios;
-import com.armando0405.tuboletascraper.dao.entity.ShowInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
 import com.armando0405.tuboletascraper.dao.repository.ConsultaInstantaneaRepository;
 import com.armando0405.tuboletascraper.dao.repository.RegistroCambiosRepository;
-import com.armando0405.tuboletascraper.dao.repository.ShowInstantaneaRepository;
 import com.armando0405.tuboletascraper.exception.ScrapingException;
 import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.service.fetch.CircuitBreaker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
 public class SnapshotService {
 
-    @Autowired
-    private ConsultaInstantaneaRepository consultaRepository;
+    private static final String CLAVE_MONITOREO = "monitoreo";
+
+    // El single-flight deja un solo ciclo en el pipeline: una plaza basta, y solo espera
+    // en ella un ciclo nuevo mientras uno vencido termina de salir de su etapa
+    private static final int CAPACIDAD_ETAPA = 1;
 
     @Autowired
-    private ShowInstantaneaRepository showRepository;
+    private ConsultaInstantaneaRepository consultaRepository;
 
     @Autowired
     private RegistroCambiosRepository cambiosRepository;
@@ -35,244 +44,379 @@ public class SnapshotService {
     @Autowired
     private ScrapingService scrapingService;
 
-    @Value("${scraping.tuboleta.search-url}")
-    private String searchUrl;
+    @Autowired
+    private ConditionalFetchCache fetchCache;
+
+    @Autowired
+    private CircuitBreaker circuitBreaker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SnapshotHasher snapshotHasher;
+
+    @Autowired
+    private SnapshotWriter snapshotWriter;
+
+    @Autowired
+    private ChangeDetector changeDetector;
+
+    @Autowired
+    private ShowHistoryService showHistoryService;
+
+    // Último snapshot persistido: la comparación de cada ciclo no consulta la BD
+    @Autowired
+    private SnapshotEnMemoria snapshotEnMemoria;
+
+    @Autowired
+    private SingleFlightCoordinator singleFlight;
+
+    @Value("${scraping.tuboleta.pipeline.cycle-timeout-ms:600000}")
+    private long timeoutCicloMs;
+
+    private EtapaAcotada<Ciclo, Descarga> etapaDescarga;
+    private EtapaAcotada<Descarga, Huella> etapaHuella;
+    private EtapaAcotada<Huella, Comparacion> etapaComparacion;
+    private EtapaAcotada<Comparacion, Persistido> etapaEscritura;
+    private EtapaAcotada<Persistido, Map<String, Object>> etapaRespuesta;
+
+    /**
+     * 🧱 ETAPAS DEL MONITOREO
+     *
+     * descarga (red + parseo) → huella → comparación → escritura → respuesta.
+     * Cada etapa tiene su hilo y una cola de entrada de una plaza; solo la escritura
+     * abre una transacción, así la conexión a la BD se ocupa lo que dura el INSERT
+     * y no lo que tarda TuBoleta en responder. El correo no es una etapa: lo envía
+     * MonitoringScheduler con la respuesta del ciclo.
+     */
+    @PostConstruct
+    void iniciarEtapas() {
+        etapaDescarga = new EtapaAcotada<>("descarga", CAPACIDAD_ETAPA, this::descargar);
+        etapaHuella = new EtapaAcotada<>("huella", CAPACIDAD_ETAPA, this::calcularHuella);
+        etapaComparacion = new EtapaAcotada<>("comparacion", CAPACIDAD_ETAPA, this::comparar);
+        etapaEscritura = new EtapaAcotada<>("escritura", CAPACIDAD_ETAPA, this::persistir);
+        etapaRespuesta = new EtapaAcotada<>("respuesta", CAPACIDAD_ETAPA, this::responder);
+    }
+
+    @PreDestroy
+    void detenerEtapas() {
+        etapaDescarga.close();
+        etapaHuella.close();
+        etapaComparacion.close();
+        etapaEscritura.close();
+        etapaRespuesta.close();
+    }
 
-    // 🎯 MÉTODO PRINCIPAL - EJECUTA TODO EN SECUENCIA
-    @Transactional
+    // 🎯 MÉTODO PRINCIPAL - EJECUTA TODAS LAS ETAPAS EN SECUENCIA
     public Map<String, Object> ejecutarMonitoreoCompleto() {
+        // Scheduler y /api/monitor simultáneos se unen al ciclo en curso: una descarga y una escritura
+        return new HashMap<>(singleFlight.ejecutar(CLAVE_MONITOREO, this::ejecutarCiclo));
+    }
+
+    private Map<String, Object> ejecutarCiclo() {
+        // 🔌 Con el circuito abierto se falla de inmediato: ni red ni conexión a la BD
+        if (circuitBreaker.estaAbierto()) {
+            log.warn("🔌 Monitoreo omitido: circuito abierto hasta {}", circuitBreaker.getAbiertoHasta());
+            throw new ScrapingException("TuBoleta no disponible, circuito abierto hasta " + circuitBreaker.getAbiertoHasta());
+        }
+
         long startTime = System.currentTimeMillis();
 
         log.info("========================================");
         log.info("🚀 INICIANDO MONITOREO COMPLETO DE SHOWS");
         log.info("========================================");
 
+        Ciclo ciclo = new Ciclo(startTime, timeoutCicloMs);
+        CompletableFuture<Map<String, Object>> resultado = etapaDescarga.enviar(ciclo)
+                .thenCompose(etapaHuella::enviar)
+                .thenCompose(etapaComparacion::enviar)
+                .thenCompose(etapaEscritura::enviar)
+                .thenCompose(etapaRespuesta::enviar);
         try {
-            // ✅ PASO 1: HACER SCRAPING
-            log.info("📡 PASO 1: Consultando información de TuBoleta...");
-            List<Show> showsActuales = scrapingService.scrapeShows();
-            log.info("✅ Scraping completado. Shows encontrados: {}", showsActuales.size());
-
-            // Mostrar detalles de los shows encontrados
-            showsActuales.forEach(show ->
-                    log.info("   📅 Show: {} en {} - {}", show.getTitulo(), show.getCiudad(), show.getFechaShow())
-            );
-
-            // ✅ PASO 2: GENERAR HASH PARA COMPARACIÓN
-            log.info("🔍 PASO 2: Generando hash para comparación...");
-            String hashActual = generarHash(showsActuales);
-            log.info("✅ Hash generado: {}", hashActual);
-
-            // ✅ PASO 3: BUSCAR ÚLTIMO SNAPSHOT EN BD
-            log.info("🗄️ PASO 3: Consultando último snapshot en base de datos...");
-            Optional<ConsultaInstantanea> ultimoSnapshot = consultaRepository.findTopByOrderByFechaHoraDesc();
-
-            if (!ultimoSnapshot.isPresent()) {
-                log.info("ℹ️ No se encontraron snapshots anteriores. Esta es la primera ejecución.");
-                return ejecutarPrimeraVez(showsActuales, hashActual, startTime);
-            }
+            return resultado.get(timeoutCicloMs, TimeUnit.MILLISECONDS);
+
+        } catch (TimeoutException e) {
+            // La etapa atascada puede seguir trabajando, pero ya no escribe: las etapas siguientes ven la marca
+            ciclo.cancelar();
+            resultado.cancel(true);
+            log.error("❌ Monitoreo sin terminar tras {} ms", timeoutCicloMs);
+            throw new ScrapingException("Monitoreo sin terminar tras " + timeoutCicloMs + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScrapingException("Monitoreo interrumpido", e);
+        } catch (ExecutionException e) {
+            log.error("❌ ERROR EN MONITOREO: {}", e.getCause().getMessage(), e.getCause());
+            throw new ScrapingException("Error en monitoreo completo", e.getCause());
+        }
+    }
 
-            ConsultaInstantanea snapshotAnterior = ultimoSnapshot.get();
-            log.info("✅ Último snapshot encontrado:");
-            log.info("   📅 Fecha: {}", snapshotAnterior.getFechaHora());
-            log.info("   🔢 Total shows: {}", snapshotAnterior.getTotalShows());
-            log.info("   🔑 Hash anterior: {}", snapshotAnterior.getHashContenido());
-
-            // ✅ PASO 4: COMPARAR HASHES
-            log.info("⚖️ PASO 4: Comparando con snapshot anterior...");
-            if (hashActual.equals(snapshotAnterior.getHashContenido())) {
-                log.info("✅ RESULTADO: Sin cambios detectados");
-                return crearRespuestaSinCambios(snapshotAnterior, startTime);
-            }
+    // ✅ PASO 1: HACER SCRAPING (CONDICIONAL) - sin transacción
+    private Descarga descargar(Ciclo ciclo) {
+        log.info("📡 PASO 1: Consultando información de TuBoleta...");
+        ScrapingService.ResultadoScraping resultadoScraping = scrapingService.scrapeShowsCondicional();
+
+        Optional<SnapshotActual> conocido = snapshotEnMemoria.actual();
+        if (resultadoScraping.sinCambios() && conocido.isPresent()) {
+            // Páginas idénticas al último snapshot persistido: no se parsea nada
+            log.info("✅ Páginas sin modificar desde el snapshot {}", conocido.get().consultaId());
+            return new Descarga(ciclo, resultadoScraping, null, conocido.get());
+        }
+
+        List<Show> showsActuales = resultadoScraping.sinCambios()
+                ? scrapingService.scrapeShows()
+                : resultadoScraping.shows();
+        log.info("✅ Scraping completado. Shows encontrados: {}", showsActuales.size());
+
+        // Mostrar detalles de los shows encontrados
+        showsActuales.forEach(show ->
+                log.info("   📅 Show: {} en {} - {}", show.getTitulo(), show.getCiudad(), show.getFechaShow())
+        );
+        return new Descarga(ciclo, resultadoScraping, showsActuales, null);
+    }
+
+    // ✅ PASO 2: GENERAR HASH PARA COMPARACIÓN
+    private Huella calcularHuella(Descarga descarga) {
+        descarga.ciclo().verificarVigente("huella");
+        if (descarga.paginasSinModificar()) {
+            return new Huella(descarga, descarga.conocido().hash());
+        }
+
+        log.info("🔍 PASO 2: Generando hash para comparación...");
+        String hashActual = snapshotHasher.generarHash(descarga.shows());
+        log.info("✅ Hash generado: {}", hashActual);
+        return new Huella(descarga, hashActual);
+    }
+
+    // ✅ PASO 3: COMPARAR CONTRA EL ÚLTIMO SNAPSHOT (EN MEMORIA; LA BD SOLO SI AÚN NO SE CALENTÓ)
+    private Comparacion comparar(Huella huella) {
+        huella.descarga().ciclo().verificarVigente("comparacion");
+        if (huella.descarga().paginasSinModificar()) {
+            log.info("✅ RESULTADO: Sin cambios detectados (páginas sin modificar)");
+            return new Comparacion(huella, huella.descarga().conocido(), false, List.of());
+        }
+
+        log.info("🗄️ PASO 3: Obteniendo último snapshot...");
+        SnapshotActual anterior = snapshotEnMemoria.actual()
+                .or(snapshotEnMemoria::obtenerOCargar)
+                .orElse(null);
+        return compararCon(huella, anterior);
+    }
+
+    private Comparacion compararCon(Huella huella, SnapshotActual anterior) {
+        if (anterior == null) {
+            log.info("ℹ️ No se encontraron snapshots anteriores. Esta es la primera ejecución.");
+            return new Comparacion(huella, null, true, List.of());
+        }
 
-            // ✅ PASO 5: HAY CAMBIOS - GUARDAR NUEVO SNAPSHOT
-            log.info("🆕 PASO 5: ¡Cambios detectados! Guardando nuevo snapshot...");
-            ConsultaInstantanea nuevoSnapshot = guardarNuevoSnapshot(showsActuales, hashActual, startTime);
-            log.info("✅ Nuevo snapshot guardado con ID: {}", nuevoSnapshot.getId());
+        log.info("✅ Último snapshot encontrado:");
+        log.info("   📅 Fecha: {}", anterior.fechaHora());
+        log.info("   🔢 Total shows: {}", anterior.totalShows());
+        log.info("   🔑 Hash anterior: {}", anterior.hash());
 
-            // ✅ PASO 6: DETECTAR CAMBIOS ESPECÍFICOS
-            log.info("🔍 PASO 6: Analizando cambios específicos...");
-            List<String> cambiosDetectados = detectarCambios(snapshotAnterior, nuevoSnapshot);
+        log.info("⚖️ PASO 4: Comparando con snapshot anterior...");
+        if (huella.hash().equals(anterior.hash())) {
+            log.info("✅ RESULTADO: Sin cambios detectados");
+            return new Comparacion(huella, anterior, false, List.of());
+        }
 
-            if (!cambiosDetectados.isEmpty()) {
-                log.info("✅ Cambios detectados:");
-                cambiosDetectados.forEach(cambio -> log.info("   🔸 {}", cambio));
+        // Los cambios específicos se calculan contra la copia en memoria, antes de abrir la transacción
+        log.info("🔍 PASO 5: ¡Cambios detectados! Analizando cambios específicos...");
+        List<VersionShow> versionesNuevas = huella.descarga().shows().stream()
+                .map(show -> SnapshotWriter.convertirAVersion(show, snapshotHasher.hashShow(show)))
+                .toList();
+        List<EventoCambio> eventos = changeDetector.detectarEventos(
+                anterior.huellas(), versionesNuevas, anterior::shows);
+
+        if (!eventos.isEmpty()) {
+            log.info("✅ Cambios detectados:");
+            ChangeDetector.describir(eventos).forEach(cambio -> log.info("   🔸 {}", cambio));
+        }
+        return new Comparacion(huella, anterior, true, eventos);
+    }
 
-                // Guardar registro de cambios
-                guardarRegistroCambios(snapshotAnterior, nuevoSnapshot, cambiosDetectados);
-                log.info("✅ Registro de cambios guardado en BD");
+    // ✅ PASO 6: GUARDAR NUEVO SNAPSHOT - única etapa con transacción
+    private Persistido persistir(Comparacion comparacion) {
+        Ciclo ciclo = comparacion.huella().descarga().ciclo();
+        ciclo.verificarVigente("escritura");
+        if (!comparacion.hayCambios()) {
+            return new Persistido(comparacion, null);
+        }
+
+        // Otro ciclo pudo escribir un snapshot entre la comparación y esta etapa: se compara contra ese
+        SnapshotActual vigente = snapshotEnMemoria.actual().orElse(null);
+        if (!mismoSnapshot(vigente, comparacion.anterior())) {
+            log.info("🔁 Se publicó otro snapshot mientras este ciclo esperaba, repitiendo la comparación");
+            comparacion = compararCon(comparacion.huella(), vigente);
+            if (!comparacion.hayCambios()) {
+                return new Persistido(comparacion, null);
             }
+        }
 
-            // ✅ PASO 7: CREAR RESPUESTA FINAL
-            log.info("📋 PASO 7: Preparando respuesta final...");
-            Map<String, Object> respuesta = crearRespuestaConCambios(cambiosDetectados, startTime);
+        log.info("🆕 PASO 6: Guardando nuevo snapshot...");
+        Comparacion aGuardar = comparacion;
+        long inicioEscritura = System.currentTimeMillis();
+        ConsultaInstantanea nuevoSnapshot = transactionTemplate.execute(status -> {
+            ConsultaInstantanea guardado = guardar(aGuardar);
+            // Si el plazo venció durante el INSERT, la excepción hace rollback antes del commit
+            ciclo.verificarVigente("commit");
+            return guardado;
+        });
+        log.info("✅ Nuevo snapshot guardado con ID: {} (transacción de {} ms)",
+                nuevoSnapshot.getId(), System.currentTimeMillis() - inicioEscritura);
+
+        // Ya hizo commit: los ciclos siguientes comparan contra este snapshot
+        snapshotEnMemoria.publicar(nuevoSnapshot, nuevoSnapshot.getShows());
+        return new Persistido(aGuardar, nuevoSnapshot);
+    }
 
-            log.info("🎉 MONITOREO COMPLETADO EXITOSAMENTE");
-            log.info("========================================");
+    private ConsultaInstantanea guardar(Comparacion comparacion) {
+        Huella huella = comparacion.huella();
+        SnapshotActual anterior = comparacion.anterior();
 
-            return respuesta;
+        ConsultaInstantanea nuevoSnapshot = snapshotWriter.guardarNuevoSnapshot(
+                huella.descarga().shows(), huella.hash(), huella.descarga().ciclo().startTime());
+        showHistoryService.registrar(anterior, nuevoSnapshot);
 
-        } catch (Exception e) {
-            log.error("❌ ERROR EN MONITOREO: {}", e.getMessage(), e);
-            throw new ScrapingException("Error en monitoreo completo", e);
+        if (anterior != null && !comparacion.eventos().isEmpty()) {
+            guardarRegistroCambios(consultaRepository.getReferenceById(anterior.consultaId()),
+                    nuevoSnapshot, comparacion.eventos());
+            log.info("✅ Registro de cambios guardado en BD");
         }
+        return nuevoSnapshot;
     }
 
-    private Map<String, Object> ejecutarPrimeraVez(List<Show> shows, String hash, long startTime) {
-        log.info("🏁 Primera ejecución: Guardando snapshot inicial...");
+    /**
+     * ✅ PASO 7: Confirma las huellas de página y prepara la respuesta. Solo se llega
+     * aquí si la escritura (cuando la hubo) hizo commit; si algo falla, el próximo
+     * ciclo vuelve a procesar las páginas completas y compara contra el snapshot anterior.
+     * La notificación por correo la decide quien recibe la respuesta (MonitoringScheduler).
+     */
+    private Map<String, Object> responder(Persistido persistido) {
+        Comparacion comparacion = persistido.comparacion();
+        Descarga descarga = comparacion.huella().descarga();
+        long startTime = descarga.ciclo().startTime();
+        fetchCache.confirmar(descarga.scraping().huellas());
+
+        if (!comparacion.hayCambios()) {
+            SnapshotActual conocido = comparacion.anterior();
+            return crearRespuestaSinCambios(conocido.fechaHora(), conocido.totalShows(), startTime);
+        }
+        if (comparacion.anterior() == null) {
+            log.info("🎉 Primera ejecución completada exitosamente");
+            return crearRespuestaPrimeraVez(descarga.shows().size(), startTime);
+        }
+
+        log.info("📋 PASO 7: Preparando respuesta final...");
+        Map<String, Object> respuesta = crearRespuestaConCambios(
+                ChangeDetector.describir(comparacion.eventos()), comparacion.eventos(), startTime);
 
-        ConsultaInstantanea primerSnapshot = guardarNuevoSnapshot(shows, hash, startTime);
-        log.info("✅ Snapshot inicial guardado con ID: {}", primerSnapshot.getId());
+        log.info("🎉 MONITOREO COMPLETADO EXITOSAMENTE");
+        log.info("========================================");
+        return respuesta;
+    }
 
+    private static boolean mismoSnapshot(SnapshotActual a, SnapshotActual b) {
+        return a == null || b == null ? a == b : a.consultaId().equals(b.consultaId());
+    }
+
+    private Map<String, Object> crearRespuestaPrimeraVez(int totalShows, long startTime) {
         Map<String, Object> respuesta = new HashMap<>();
         respuesta.put("esPrimeraEjecucion", true);
         respuesta.put("message", "Primera ejecución completada. Snapshot inicial guardado.");
-        respuesta.put("totalShows", shows.size());
+        respuesta.put("totalShows", totalShows);
         respuesta.put("executionTimeMs", System.currentTimeMillis() - startTime);
 
-        log.info("🎉 Primera ejecución completada exitosamente");
         return respuesta;
     }
 
-    private Map<String, Object> crearRespuestaSinCambios(ConsultaInstantanea ultimoSnapshot, long startTime) {
+    private Map<String, Object> crearRespuestaSinCambios(LocalDateTime fechaHora, Integer totalShows, long startTime) {
         Map<String, Object> respuesta = new HashMap<>();
         respuesta.put("hayCambios", false);
-        respuesta.put("message", String.format("Sin cambios desde %s", ultimoSnapshot.getFechaHora()));
-        respuesta.put("ultimaActualizacion", ultimoSnapshot.getFechaHora());
-        respuesta.put("totalShows", ultimoSnapshot.getTotalShows());
+        respuesta.put("message", String.format("Sin cambios desde %s", fechaHora));
+        respuesta.put("ultimaActualizacion", fechaHora);
+        respuesta.put("totalShows", totalShows);
         respuesta.put("executionTimeMs", System.currentTimeMillis() - startTime);
 
         return respuesta;
     }
 
-    private Map<String, Object> crearRespuestaConCambios(List<String> cambios, long startTime) {
+    private Map<String, Object> crearRespuestaConCambios(List<String> cambios, List<EventoCambio> eventos, long startTime) {
         Map<String, Object> respuesta = new HashMap<>();
         respuesta.put("hayCambios", true);
         respuesta.put("message", "¡Cambios detectados!");
         respuesta.put("totalCambios", cambios.size());
         respuesta.put("cambios", cambios);
+        respuesta.put("eventos", eventos);
         respuesta.put("executionTimeMs", System.currentTimeMillis() - startTime);
 
         return respuesta;
     }
 
-    private String generarHash(List<Show> shows) {
-        if (shows.isEmpty()) {
-            return DigestUtils.md5Hex("empty");
-        }
-
-        String contenido = shows.stream()
-                .sorted(Comparator.comparing(Show::getShowUniqueId))
-                .map(show -> String.format("%s|%s|%s|%s",
-                        show.getShowUniqueId(),
-                        show.getTitulo(),
-                        show.getVenue(),
-                        show.getFechaShow()))
-                .collect(Collectors.joining(","));
-
-        return DigestUtils.md5Hex(contenido);
-    }
+    private void guardarRegistroCambios(ConsultaInstantanea anterior, ConsultaInstantanea nueva, List<EventoCambio> eventos) {
+        if (eventos.isEmpty()) return;
 
-    @Transactional
-    private ConsultaInstantanea guardarNuevoSnapshot(List<Show> shows, String hash, long startTime) {
-        ConsultaInstantanea consulta = ConsultaInstantanea.builder()
-                .fechaHora(LocalDateTime.now())
-                .totalShows(shows.size())
-                .hashContenido(hash)
-                .urlConsulta(searchUrl)
-                .tiempoEjecucionMs(System.currentTimeMillis() - startTime)
+        RegistroCambios registro = RegistroCambios.builder()
+                .consultaAnterior(anterior)
+                .consultaNueva(nueva)
+                .resumenCambios(String.join("; ", ChangeDetector.describir(eventos)))
+                .totalCambios(eventos.size())
                 .build();
 
-        ConsultaInstantanea savedConsulta = consultaRepository.save(consulta);
+        // Un CambioShow por evento, para poder filtrar por show, campo, ciudad y fecha
+        LocalDateTime deteccion = LocalDateTime.now();
+        eventos.forEach(evento -> registro.getCambios().add(CambioShow.de(evento, registro, deteccion)));
 
-        List<ShowInstantanea> showsEntities = shows.stream()
-                .map(show -> convertirAEntity(show, savedConsulta))
-                .collect(Collectors.toList());
-
-        showRepository.saveAll(showsEntities);
-        savedConsulta.setShows(showsEntities);
-
-        return savedConsulta;
-    }
-
-    private ShowInstantanea convertirAEntity(Show show, ConsultaInstantanea consulta) {
-        return ShowInstantanea.builder()
-                .consultaInstantanea(consulta)
-                .showIdUnico(show.getShowUniqueId())
-                .titulo(show.getTitulo())
-                .venue(show.getVenue())
-                .ciudad(show.getCiudad())
-                .fechaShow(show.getFechaShow())
-                .horaShow(show.getHoraShow())
-                .urlFuente(show.getUrlFuente())
-                .build();
+        cambiosRepository.save(registro);
     }
 
-    private List<String> detectarCambios(ConsultaInstantanea anterior, ConsultaInstantanea nueva) {
-        List<String> cambios = new ArrayList<>();
+    /**
+     * Marca compartida por las etapas de un ciclo. Quien espera la activa al vencer el
+     * plazo; cada etapa además mira el plazo por su cuenta, así un ciclo vencido que
+     * sale tarde de la descarga no llega a escribir un snapshot que nadie espera.
+     */
+    private static final class Ciclo {
 
-        List<ShowInstantanea> showsAnteriores = showRepository
-                .findByConsultaInstantaneaIdOrderByTitulo(anterior.getId());
-        List<ShowInstantanea> showsNuevos = nueva.getShows();
+        private final long startTime;
+        private final long plazoNanos;
+        private volatile boolean cancelado;
 
-        Map<String, ShowInstantanea> mapaAnterior = showsAnteriores.stream()
-                .collect(Collectors.toMap(ShowInstantanea::getShowIdUnico, s -> s));
-
-        Map<String, ShowInstantanea> mapaNuevo = showsNuevos.stream()
-                .collect(Collectors.toMap(ShowInstantanea::getShowIdUnico, s -> s));
+        Ciclo(long startTime, long timeoutMs) {
+            this.startTime = startTime;
+            this.plazoNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        }
 
-        // Shows agregados
-        for (String showId : mapaNuevo.keySet()) {
-            if (!mapaAnterior.containsKey(showId)) {
-                ShowInstantanea show = mapaNuevo.get(showId);
-                cambios.add(String.format("Agregado: %s en %s - %s",
-                        show.getTitulo(), show.getCiudad(), show.getFechaShow()));
-            }
+        long startTime() {
+            return startTime;
         }
 
-        // Shows eliminados
-        for (String showId : mapaAnterior.keySet()) {
-            if (!mapaNuevo.containsKey(showId)) {
-                ShowInstantanea show = mapaAnterior.get(showId);
-                cambios.add(String.format("Eliminado: %s en %s",
-                        show.getTitulo(), show.getCiudad()));
-            }
+        void cancelar() {
+            cancelado = true;
         }
 
-        // Shows modificados
-        for (String showId : mapaNuevo.keySet()) {
-            if (mapaAnterior.containsKey(showId)) {
-                ShowInstantanea anteriorShow = mapaAnterior.get(showId);
-                ShowInstantanea nuevoShow = mapaNuevo.get(showId);
-
-                if (!Objects.equals(anteriorShow.getFechaShow(), nuevoShow.getFechaShow())) {
-                    cambios.add(String.format("Modificado: %s en %s - fecha cambió de %s a %s",
-                            nuevoShow.getTitulo(), nuevoShow.getCiudad(),
-                            anteriorShow.getFechaShow(), nuevoShow.getFechaShow()));
-                }
-
-                if (!Objects.equals(anteriorShow.getVenue(), nuevoShow.getVenue())) {
-                    cambios.add(String.format("Modificado: %s en %s - venue cambió de %s a %s",
-                            nuevoShow.getTitulo(), nuevoShow.getCiudad(),
-                            anteriorShow.getVenue(), nuevoShow.getVenue()));
-                }
+        void verificarVigente(String etapa) {
+            if (cancelado || System.nanoTime() - plazoNanos > 0) {
+                throw new CancellationException("Ciclo de monitoreo vencido antes de " + etapa);
             }
         }
+    }
 
-        return cambios;
+    // shows == null: páginas sin modificar desde el snapshot conocido
+    private record Descarga(Ciclo ciclo, ScrapingService.ResultadoScraping scraping,
+                            List<Show> shows, SnapshotActual conocido) {
+        boolean paginasSinModificar() {
+            return shows == null;
+        }
     }
 
-    @Transactional
-    private void guardarRegistroCambios(ConsultaInstantanea anterior, ConsultaInstantanea nueva, List<String> cambios) {
-        if (cambios.isEmpty()) return;
+    private record Huella(Descarga descarga, String hash) {
+    }
 
-        RegistroCambios registro = RegistroCambios.builder()
-                .consultaAnterior(anterior)
-                .consultaNueva(nueva)
-                .resumenCambios(String.join("; ", cambios))
-                .totalCambios(cambios.size())
-                .build();
+    // anterior == null: primera ejecución
+    private record Comparacion(Huella huella, SnapshotActual anterior, boolean hayCambios, List<EventoCambio> eventos) {
+    }
 
-        cambiosRepository.save(registro);
+    // nuevoSnapshot == null: no hubo nada que escribir
+    private record Persistido(Comparacion comparacion, ConsultaInstantanea nuevoSnapshot) {
     }
-}
\ No newline at end of file
+}
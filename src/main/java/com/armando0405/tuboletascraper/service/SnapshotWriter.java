@@ -0,0 +1,142 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.ConsultaInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.dao.entity.ShowInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import com.armando0405.tuboletascraper.dao.repository.ConsultaInstantaneaRepository;
+import com.armando0405.tuboletascraper.dao.repository.ShowInstantaneaRepository;
+import com.armando0405.tuboletascraper.dao.repository.VersionShowRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 💾 PERSISTENCIA DE UN SNAPSHOT NUEVO
+ *
+ * Guarda la consulta y sus shows. Al ser un bean aparte, el @Transactional sí
+ * aplica: se une a la transacción de la etapa de escritura o abre una propia si no la hay.
+ *
+ * Cada versión distinta de un show se guarda una sola vez (VersionShow, por hash
+ * de contenido); el snapshot solo inserta una pertenencia por show. Las versiones
+ * del snapshot anterior salen del estado en memoria, las demás se buscan por hash
+ * (p. ej. un show que vuelve a un estado anterior) y solo las nuevas se insertan.
+ */
+@Slf4j
+@Component
+public class SnapshotWriter {
+
+    private static final int MAX_HASHES_POR_CONSULTA = 500;
+
+    @Autowired
+    private ConsultaInstantaneaRepository consultaRepository;
+
+    @Autowired
+    private ShowInstantaneaRepository showRepository;
+
+    @Autowired
+    private VersionShowRepository versionRepository;
+
+    @Autowired
+    private SnapshotHasher snapshotHasher;
+
+    @Autowired
+    private SnapshotEnMemoria snapshotEnMemoria;
+
+    @Value("${scraping.tuboleta.search-url}")
+    private String searchUrl;
+
+    @Transactional
+    public ConsultaInstantanea guardarNuevoSnapshot(List<Show> shows, String hash, long startTime) {
+        ConsultaInstantanea consulta = ConsultaInstantanea.builder()
+                .fechaHora(LocalDateTime.now())
+                .totalShows(shows.size())
+                .hashContenido(hash)
+                .urlConsulta(searchUrl)
+                .tiempoEjecucionMs(System.currentTimeMillis() - startTime)
+                .build();
+
+        ConsultaInstantanea savedConsulta = consultaRepository.save(consulta);
+
+        Map<String, Show> porHash = new LinkedHashMap<>(shows.size() * 2);
+        for (Show show : shows) {
+            porHash.put(snapshotHasher.hashShow(show), show);
+        }
+        Map<String, VersionShow> versiones = resolverVersiones(porHash);
+
+        List<ShowInstantanea> showsEntities = new ArrayList<>(porHash.size());
+        porHash.forEach((hashShow, show) -> showsEntities.add(ShowInstantanea.builder()
+                .consultaInstantanea(savedConsulta)
+                .versionShow(versiones.get(hashShow))
+                .showIdUnico(show.getShowUniqueId())
+                .hashContenido(hashShow)
+                .build()));
+
+        showRepository.saveAll(showsEntities);
+        savedConsulta.setShows(showsEntities);
+
+        return savedConsulta;
+    }
+
+    private Map<String, VersionShow> resolverVersiones(Map<String, Show> porHash) {
+        Map<String, VersionShow> versiones = new HashMap<>(porHash.size() * 2);
+
+        // 1. Sin cambios respecto al snapshot anterior: la versión ya está en memoria
+        snapshotEnMemoria.actual().ifPresent(actual -> porHash.forEach((hashShow, show) -> {
+            SnapshotActual.ShowVigente vigente = actual.showsPorId().get(show.getShowUniqueId());
+            if (vigente != null && vigente.hashContenido().equals(hashShow)) {
+                versiones.put(hashShow, vigente.comoVersion());
+            }
+        }));
+        int desdeMemoria = versiones.size();
+
+        // 2. Versiones vistas en snapshots más antiguos
+        List<String> pendientes = porHash.keySet().stream()
+                .filter(hashShow -> !versiones.containsKey(hashShow))
+                .toList();
+        for (int i = 0; i < pendientes.size(); i += MAX_HASHES_POR_CONSULTA) {
+            versionRepository.findByHashContenidoIn(
+                            pendientes.subList(i, Math.min(i + MAX_HASHES_POR_CONSULTA, pendientes.size())))
+                    .forEach(version -> versiones.put(version.getHashContenido(), version));
+        }
+        int desdeBd = versiones.size() - desdeMemoria;
+
+        // 3. Versiones nuevas
+        List<VersionShow> nuevas = new ArrayList<>();
+        for (String hashShow : pendientes) {
+            if (!versiones.containsKey(hashShow)) {
+                nuevas.add(convertirAVersion(porHash.get(hashShow), hashShow));
+            }
+        }
+        versionRepository.saveAll(nuevas).forEach(version -> versiones.put(version.getHashContenido(), version));
+
+        log.info("💾 Versiones de shows: {} nuevas, {} reutilizadas ({} desde memoria)",
+                nuevas.size(), desdeMemoria + desdeBd, desdeMemoria);
+        return versiones;
+    }
+
+    /**
+     * Versión sin id: la comparación la usa antes de persistir y resolverVersiones solo para las nuevas.
+     */
+    static VersionShow convertirAVersion(Show show, String hashShow) {
+        return VersionShow.builder()
+                .hashContenido(hashShow)
+                .showIdUnico(show.getShowUniqueId())
+                .titulo(show.getTitulo())
+                .venue(show.getVenue())
+                .ciudad(show.getCiudad())
+                .fechaShow(show.getFechaShow())
+                .horaShow(show.getHoraShow())
+                .urlFuente(show.getUrlFuente())
+                .build();
+    }
+}
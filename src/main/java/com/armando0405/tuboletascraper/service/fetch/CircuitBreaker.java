@@ -0,0 +1,203 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🔌 CIRCUIT BREAKER DE LAS DESCARGAS A TUBOLETA
+ *
+ * - CERRADO: todo pasa; tras failure-threshold fallos seguidos se abre.
+ * - ABIERTO: se rechaza sin tocar la red hasta que vence la ventana. La ventana
+ *   crece exponencialmente con cada apertura consecutiva (con jitter) hasta max-open-ms.
+ * - SEMI_ABIERTO: se deja pasar una única sonda; si sale bien se cierra, si no se reabre.
+ */
+@Slf4j
+@Component
+public class CircuitBreaker {
+
+    private static final int MAX_TRANSICIONES = 20;
+
+    public enum Estado {
+        CERRADO,
+        ABIERTO,
+        SEMI_ABIERTO
+    }
+
+    /**
+     * Resultado de pedir permiso: quien recibe SONDA es el único responsable de
+     * liberar la sonda (con éxito, fallo o liberarSonda).
+     */
+    public enum Permiso {
+        CONCEDIDO,
+        SONDA,
+        RECHAZADO
+    }
+
+    @Value("${scraping.tuboleta.circuit-breaker.failure-threshold:3}")
+    private int umbralFallos;
+
+    @Value("${scraping.tuboleta.circuit-breaker.open-ms:60000}")
+    private long aperturaBaseMs;
+
+    @Value("${scraping.tuboleta.circuit-breaker.max-open-ms:900000}")
+    private long aperturaMaximaMs;
+
+    private final AtomicReference<Estado> estado = new AtomicReference<>(Estado.CERRADO);
+    private final AtomicInteger fallosConsecutivos = new AtomicInteger();
+    private final AtomicInteger aperturasConsecutivas = new AtomicInteger();
+    private final AtomicBoolean sondaEnCurso = new AtomicBoolean();
+    private final AtomicLong abiertoHastaMs = new AtomicLong();
+
+    private final AtomicLong exitos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong rechazos = new AtomicLong();
+    private final Deque<Transicion> transiciones = new ArrayDeque<>();
+
+    /**
+     * Pide permiso para una llamada. En SEMI_ABIERTO solo concede una sonda a la vez;
+     * el permiso dice si esta llamada es la sonda, sin volver a consultar el estado.
+     */
+    public Permiso intentarAdquirir() {
+        while (true) {
+            Estado actual = estado.get();
+            switch (actual) {
+                case CERRADO:
+                    return Permiso.CONCEDIDO;
+                case ABIERTO:
+                    if (System.currentTimeMillis() < abiertoHastaMs.get()) {
+                        rechazos.incrementAndGet();
+                        return Permiso.RECHAZADO;
+                    }
+                    transicionar(Estado.ABIERTO, Estado.SEMI_ABIERTO, "ventana de apertura vencida");
+                    continue;
+                case SEMI_ABIERTO:
+                    if (sondaEnCurso.compareAndSet(false, true)) {
+                        log.info("🔌 Circuit breaker: enviando sonda");
+                        return Permiso.SONDA;
+                    }
+                    rechazos.incrementAndGet();
+                    return Permiso.RECHAZADO;
+                default:
+                    throw new IllegalStateException("Estado desconocido: " + actual);
+            }
+        }
+    }
+
+    /**
+     * Consulta sin efectos: true si ahora mismo una llamada sería rechazada.
+     */
+    public boolean estaAbierto() {
+        return estado.get() == Estado.ABIERTO && System.currentTimeMillis() < abiertoHastaMs.get();
+    }
+
+    public void registrarExito() {
+        exitos.incrementAndGet();
+        fallosConsecutivos.set(0);
+        if (transicionar(Estado.SEMI_ABIERTO, Estado.CERRADO, "sonda exitosa")) {
+            aperturasConsecutivas.set(0);
+        }
+        sondaEnCurso.set(false);
+    }
+
+    /**
+     * sonda: la llamada se concedió como sonda de SEMI_ABIERTO. Los fallos tardíos
+     * de llamadas que empezaron antes de abrirse el circuito no cuentan.
+     */
+    public void registrarFallo(String motivo, boolean sonda) {
+        fallos.incrementAndGet();
+        if (sonda) {
+            abrir(Estado.SEMI_ABIERTO, "sonda fallida: " + motivo);
+            sondaEnCurso.set(false);
+        } else if (estado.get() == Estado.CERRADO && fallosConsecutivos.incrementAndGet() >= umbralFallos) {
+            abrir(Estado.CERRADO, umbralFallos + " fallos seguidos: " + motivo);
+        }
+    }
+
+    /**
+     * La sonda terminó sin decir nada de la salud del host (un 429, por ejemplo):
+     * el circuito sigue SEMI_ABIERTO y la próxima llamada será otra sonda.
+     */
+    public void liberarSonda() {
+        sondaEnCurso.set(false);
+    }
+
+    public Instant getAbiertoHasta() {
+        long hasta = abiertoHastaMs.get();
+        return hasta > 0 ? Instant.ofEpochMilli(hasta) : null;
+    }
+
+    public Estado getEstado() {
+        return estado.get();
+    }
+
+    public Map<String, Object> resumen() {
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("estado", estado.get());
+        resumen.put("fallosConsecutivos", fallosConsecutivos.get());
+        resumen.put("aperturasConsecutivas", aperturasConsecutivas.get());
+        resumen.put("abiertoHasta", estado.get() == Estado.ABIERTO ? getAbiertoHasta() : null);
+        resumen.put("exitos", exitos.get());
+        resumen.put("fallos", fallos.get());
+        resumen.put("rechazos", rechazos.get());
+        synchronized (transiciones) {
+            resumen.put("transiciones", List.copyOf(transiciones));
+        }
+        return resumen;
+    }
+
+    /**
+     * Solo el hilo que gana la transición cuenta la apertura y fija la ventana: los
+     * fallos simultáneos de una misma caída no escalan el backoff. La ventana se
+     * escribe antes del CAS para que quien vea ABIERTO vea ya la ventana nueva;
+     * ninguna otra transición lleva a ABIERTO, así que no pisa una ventana vigente.
+     */
+    private synchronized void abrir(Estado desde, String motivo) {
+        if (estado.get() != desde) {
+            return;
+        }
+
+        int apertura = aperturasConsecutivas.get() + 1;
+        long ventana = Math.min(aperturaMaximaMs, aperturaBaseMs << Math.min(apertura - 1, 20));
+        long jitter = (long) (ventana * ThreadLocalRandom.current().nextDouble(0, 0.2));
+        abiertoHastaMs.set(System.currentTimeMillis() + ventana + jitter);
+
+        if (transicionar(desde, Estado.ABIERTO, motivo)) {
+            aperturasConsecutivas.set(apertura);
+            fallosConsecutivos.set(0);
+            log.warn("🔌 Circuit breaker ABIERTO por {} s ({})", TimeUnit.MILLISECONDS.toSeconds(ventana + jitter), motivo);
+        }
+    }
+
+    private boolean transicionar(Estado desde, Estado hacia, String motivo) {
+        if (!estado.compareAndSet(desde, hacia)) {
+            return false;
+        }
+        if (hacia == Estado.CERRADO) {
+            log.info("🔌 Circuit breaker CERRADO ({})", motivo);
+        }
+        synchronized (transiciones) {
+            transiciones.addFirst(new Transicion(Instant.now(), desde, hacia, motivo));
+            while (transiciones.size() > MAX_TRANSICIONES) {
+                transiciones.removeLast();
+            }
+        }
+        return true;
+    }
+
+    public record Transicion(Instant fecha, Estado desde, Estado hacia, String motivo) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 🔌 Decorador con circuit breaker y reintentos con backoff exponencial + jitter.
+ *
+ * Con el circuito abierto lanza CircuitOpenException sin tocar la red. Los
+ * errores de red y los 5xx se reintentan (full jitter: espera aleatoria entre 0
+ * y base·2^intento, acotada) y, si se agotan, cuentan como un fallo del breaker.
+ * Las sondas en semi-abierto no se reintentan, y el 503 tampoco: ya lo reintentó
+ * RateLimitedPageFetcher, y multiplicar los reintentos empeora la sobrecarga.
+ * Un 429 que sobrevive a esos reintentos no cuenta ni como éxito ni como fallo:
+ * el host está vivo pero nos está frenando. Cualquier excepción inesperada cuenta
+ * como fallo, así una sonda nunca queda tomada para siempre.
+ */
+@Slf4j
+public class CircuitBreakerPageFetcher implements PageFetcher {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final PageFetcher delegado;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxIntentos;
+    private final long backoffBaseMs;
+    private final long backoffMaximoMs;
+
+    public CircuitBreakerPageFetcher(PageFetcher delegado, CircuitBreaker circuitBreaker,
+                                     int maxIntentos, long backoffBaseMs, long backoffMaximoMs) {
+        this.delegado = delegado;
+        this.circuitBreaker = circuitBreaker;
+        this.maxIntentos = Math.max(1, maxIntentos);
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaximoMs = backoffMaximoMs;
+    }
+
+    @Override
+    public PageResponse fetch(PageRequest request) throws IOException {
+        CircuitBreaker.Permiso permiso = circuitBreaker.intentarAdquirir();
+        if (permiso == CircuitBreaker.Permiso.RECHAZADO) {
+            throw new CircuitOpenException("Circuito abierto hasta " + circuitBreaker.getAbiertoHasta()
+                    + ", no se consulta " + request.url());
+        }
+
+        boolean sonda = permiso == CircuitBreaker.Permiso.SONDA;
+        try {
+            return fetchConReintentos(request, sonda);
+        } catch (RuntimeException | Error e) {
+            circuitBreaker.registrarFallo(e.getClass().getSimpleName() + ": " + e.getMessage(), sonda);
+            throw e;
+        }
+    }
+
+    private PageResponse fetchConReintentos(PageRequest request, boolean sonda) throws IOException {
+        int intentos = sonda ? 1 : maxIntentos;
+        IOException ultimoError = null;
+        PageResponse ultimaRespuesta = null;
+
+        for (int intento = 0; intento < intentos; intento++) {
+            if (intento > 0) {
+                esperarBackoff(intento, request.url());
+            }
+            try {
+                ultimaRespuesta = delegado.fetch(request);
+                ultimoError = null;
+                if (ultimaRespuesta.status() == TOO_MANY_REQUESTS) {
+                    // RateLimitedPageFetcher ya agotó sus reintentos: no dice nada de la salud del host
+                    if (sonda) {
+                        circuitBreaker.liberarSonda();
+                    }
+                    return ultimaRespuesta;
+                }
+                if (ultimaRespuesta.status() < 500) {
+                    circuitBreaker.registrarExito();
+                    return ultimaRespuesta;
+                }
+                log.debug("HTTP {} en {} (intento {}/{})", ultimaRespuesta.status(), request.url(), intento + 1, intentos);
+                if (ultimaRespuesta.status() == SERVICE_UNAVAILABLE) {
+                    // RateLimitedPageFetcher ya reintentó el 503 respetando Retry-After
+                    break;
+                }
+            } catch (InterruptedIOException e) {
+                circuitBreaker.registrarFallo("interrumpido", sonda);
+                throw e;
+            } catch (IOException e) {
+                ultimoError = e;
+                log.debug("Error de red en {} (intento {}/{}): {}", request.url(), intento + 1, intentos, e.getMessage());
+            }
+        }
+
+        if (ultimoError != null) {
+            circuitBreaker.registrarFallo(ultimoError.getClass().getSimpleName() + ": " + ultimoError.getMessage(), sonda);
+            throw ultimoError;
+        }
+        circuitBreaker.registrarFallo("HTTP " + ultimaRespuesta.status(), sonda);
+        return ultimaRespuesta;
+    }
+
+    private void esperarBackoff(int intento, String url) throws InterruptedIOException {
+        long tope = Math.min(backoffMaximoMs, backoffBaseMs << Math.min(intento, 20));
+        long espera = ThreadLocalRandom.current().nextLong(tope + 1);
+        log.debug("Backoff de {} ms antes de reintentar {}", espera, url);
+        try {
+            Thread.sleep(espera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Backoff interrumpido: " + url);
+        }
+    }
+
+    public static class CircuitOpenException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        public CircuitOpenException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🏇 Decorador de peticiones "hedged" con timeout adaptativo.
+ *
+ * - Timeout: p99 observado × timeoutMultiplier, acotado entre timeoutMinimo y el
+ *   timeout configurado (que sigue siendo el valor cuando no hay histórico).
+ * - Hedge: si la primera petición supera el p95 observado se lanza UNA copia;
+ *   gana la primera respuesta y la otra se cancela (interrumpiendo su hilo).
+ *
+ * Solo el ~5% más lento de las peticiones genera una copia, así que el volumen
+ * medio casi no sube. La copia pide su propio token al TokenBucketRateLimiter
+ * antes de salir: el token de la petición original solo cubre a esa petición.
+ * Solo las respuestas 200 alimentan el histograma; un 304 sin cuerpo es mucho
+ * más rápido y bajaría el p95 hasta disparar copias de cada descarga completa.
+ */
+@Slf4j
+public class HedgingPageFetcher implements PageFetcher {
+
+    private static final int OK = 200;
+
+    private final PageFetcher delegado;
+    private final LatencyTracker latencias;
+    private final TokenBucketRateLimiter limiter;
+    private final ExecutorService executor;
+    private final Duration timeoutMaximo;
+    private final Duration timeoutMinimo;
+    private final double multiplicadorTimeout;
+
+    private final AtomicLong hedgesEnviados = new AtomicLong();
+    private final AtomicLong hedgesGanadores = new AtomicLong();
+
+    public HedgingPageFetcher(PageFetcher delegado, LatencyTracker latencias, TokenBucketRateLimiter limiter,
+                              ExecutorService executor, Duration timeoutMaximo, Duration timeoutMinimo,
+                              double multiplicadorTimeout) {
+        this.delegado = delegado;
+        this.latencias = latencias;
+        this.limiter = limiter;
+        this.executor = executor;
+        this.timeoutMaximo = timeoutMaximo;
+        this.timeoutMinimo = timeoutMinimo;
+        this.multiplicadorTimeout = multiplicadorTimeout;
+    }
+
+    @Override
+    public PageResponse fetch(PageRequest request) throws IOException {
+        PageRequest peticion = request.timeout() != null ? request : request.conTimeout(calcularTimeout(request.url()));
+
+        Optional<Duration> p95 = latencias.percentil(request.url(), 0.95);
+        if (p95.isEmpty()) {
+            return medir(peticion);
+        }
+
+        Carrera carrera = new Carrera();
+        Future<?> primero = lanzar(peticion, carrera, false);
+        Future<?> copia = null;
+
+        try {
+            try {
+                return carrera.ganador.get(p95.get().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                hedgesEnviados.incrementAndGet();
+                log.debug("🏇 {} superó el p95 ({} ms), enviando petición hedged", request.url(), p95.get().toMillis());
+                copia = lanzar(peticion, carrera, true);
+            }
+            return carrera.ganador.get();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Descarga interrumpida: " + request.url());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Error descargando " + request.url(), e.getCause());
+        } finally {
+            // La petición perdedora (o ambas, si nos interrumpieron) se cancela
+            primero.cancel(true);
+            if (copia != null) {
+                copia.cancel(true);
+            }
+        }
+    }
+
+    public long getHedgesEnviados() {
+        return hedgesEnviados.get();
+    }
+
+    public long getHedgesGanadores() {
+        return hedgesGanadores.get();
+    }
+
+    private Future<?> lanzar(PageRequest peticion, Carrera carrera, boolean esCopia) {
+        carrera.lanzados.incrementAndGet();
+        return executor.submit(() -> {
+            try {
+                if (esCopia) {
+                    limiter.adquirir(peticion.url());
+                }
+                PageResponse respuesta = medir(peticion);
+                if (carrera.ganador.complete(respuesta) && esCopia) {
+                    hedgesGanadores.incrementAndGet();
+                }
+            } catch (Exception e) {
+                // El error solo se propaga cuando ya fallaron todos los intentos lanzados
+                if (carrera.fallidos.incrementAndGet() >= carrera.lanzados.get()) {
+                    carrera.ganador.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    private PageResponse medir(PageRequest peticion) throws IOException {
+        long inicio = System.nanoTime();
+        PageResponse respuesta = delegado.fetch(peticion);
+        if (respuesta.status() == OK) {
+            latencias.registrar(peticion.url(), System.nanoTime() - inicio);
+        }
+        return respuesta;
+    }
+
+    private Duration calcularTimeout(String url) {
+        return latencias.percentil(url, 0.99)
+                .map(p99 -> Duration.ofNanos((long) (p99.toNanos() * multiplicadorTimeout)))
+                .map(t -> t.compareTo(timeoutMinimo) < 0 ? timeoutMinimo : t)
+                .map(t -> t.compareTo(timeoutMaximo) > 0 ? timeoutMaximo : t)
+                .orElse(timeoutMaximo);
+    }
+
+    private static final class Carrera {
+        private final CompletableFuture<PageResponse> ganador = new CompletableFuture<>();
+        private final AtomicInteger lanzados = new AtomicInteger();
+        private final AtomicInteger fallidos = new AtomicInteger();
+    }
+}
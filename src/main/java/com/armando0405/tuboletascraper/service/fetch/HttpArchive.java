@@ -0,0 +1,169 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 📼 ARCHIVO HTTP EN DISCO PARA GRABAR Y REPRODUCIR DESCARGAS
+ *
+ * Estructura de archive.dir:
+ * - index.jsonl: una línea por respuesta grabada (URL, status, headers, hash del cuerpo, latencia)
+ * - bodies/<sha256>: cuerpos direccionados por contenido; una página que no cambió entre
+ *   ciclos se guarda una sola vez. Se guardan comprimidos: tal cual llegaron si traían
+ *   Content-Encoding, o con gzip en disco si no.
+ *
+ * En reproducción las grabaciones de cada URL se sirven en el orden en que se grabaron
+ * (una por descarga) y la última se repite, así varios ciclos grabados se reproducen igual.
+ */
+@Slf4j
+@Component
+public class HttpArchive {
+
+    private static final String INDICE = "index.jsonl";
+    private static final String CUERPOS = "bodies";
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Value("${scraping.tuboleta.archive.dir:http-archive}")
+    private String directorio;
+
+    private final Map<String, List<Entrada>> entradasPorUrl = new ConcurrentHashMap<>();
+    private final Map<String, Integer> posiciones = new ConcurrentHashMap<>();
+    private volatile boolean cargado;
+
+    /**
+     * Graba una respuesta. Un 304 se guarda apuntando al último cuerpo completo de esa URL,
+     * para poder reproducir tanto la revalidación como una descarga sin validadores.
+     */
+    public synchronized void grabar(PageResponse respuesta, long latenciaMs) throws IOException {
+        cargar();
+        Entrada entrada;
+
+        if (respuesta.noModificada()) {
+            List<Entrada> previas = entradasPorUrl.get(respuesta.url());
+            if (previas == null || previas.isEmpty()) {
+                log.debug("📼 304 sin cuerpo previo grabado para {}, se omite", respuesta.url());
+                return;
+            }
+            Entrada ultima = previas.get(previas.size() - 1);
+            entrada = new Entrada(respuesta.url(), ultima.status(), ultima.headers(), ultima.cuerpo(),
+                    ultima.gzipEnDisco(), true, latenciaMs, Instant.now().toString());
+        } else {
+            boolean gzipEnDisco = respuesta.header("Content-Encoding") == null;
+            byte[] enDisco = gzipEnDisco ? gzip(respuesta.cuerpo()) : respuesta.cuerpo();
+            String hash = DigestUtils.sha256Hex(enDisco);
+            guardarCuerpo(hash, enDisco);
+            entrada = new Entrada(respuesta.url(), respuesta.status(), respuesta.headers(), hash,
+                    gzipEnDisco, false, latenciaMs, Instant.now().toString());
+        }
+
+        Files.createDirectories(raiz());
+        Files.writeString(raiz().resolve(INDICE), json.writeValueAsString(entrada) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        entradasPorUrl.computeIfAbsent(entrada.url(), u -> new ArrayList<>()).add(entrada);
+    }
+
+    /**
+     * Siguiente grabación de la URL (la última se repite indefinidamente).
+     */
+    public synchronized Optional<Grabacion> siguiente(String url) throws IOException {
+        cargar();
+        List<Entrada> entradas = entradasPorUrl.get(url);
+        if (entradas == null || entradas.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int posicion = posiciones.getOrDefault(url, 0);
+        posiciones.put(url, Math.min(posicion + 1, entradas.size() - 1));
+        Entrada entrada = entradas.get(Math.min(posicion, entradas.size() - 1));
+
+        byte[] cuerpo = Files.readAllBytes(raiz().resolve(CUERPOS).resolve(entrada.cuerpo()));
+        return Optional.of(new Grabacion(entrada, entrada.gzipEnDisco() ? gunzip(cuerpo) : cuerpo));
+    }
+
+    /**
+     * Vuelve al inicio de cada URL (para repetir una reproducción completa).
+     */
+    public synchronized void rebobinar() {
+        posiciones.clear();
+    }
+
+    private void cargar() throws IOException {
+        if (cargado) {
+            return;
+        }
+        Path indice = raiz().resolve(INDICE);
+        if (Files.exists(indice)) {
+            for (String linea : Files.readAllLines(indice, StandardCharsets.UTF_8)) {
+                if (!linea.isBlank()) {
+                    Entrada entrada = json.readValue(linea, Entrada.class);
+                    entradasPorUrl.computeIfAbsent(entrada.url(), u -> new ArrayList<>()).add(entrada);
+                }
+            }
+            log.info("📼 Archivo HTTP cargado: {} URLs desde {}", entradasPorUrl.size(), raiz().toAbsolutePath());
+        }
+        cargado = true;
+    }
+
+    private void guardarCuerpo(String hash, byte[] cuerpo) throws IOException {
+        Path destino = raiz().resolve(CUERPOS).resolve(hash);
+        if (Files.exists(destino)) {
+            return;
+        }
+        Files.createDirectories(destino.getParent());
+        Path temporal = Files.createTempFile(destino.getParent(), hash, ".tmp");
+        Files.write(temporal, cuerpo);
+        Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path raiz() {
+        return Path.of(directorio);
+    }
+
+    private static byte[] gzip(byte[] datos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] datos) throws IOException {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(datos))) {
+            return entrada.readAllBytes();
+        }
+    }
+
+    /**
+     * Línea de index.jsonl. revalidada = se grabó un 304 (el cuerpo es el último completo).
+     */
+    public record Entrada(String url, int status, Map<String, List<String>> headers, String cuerpo,
+                          boolean gzipEnDisco, boolean revalidada, long latenciaMs, String grabadaEn) {
+    }
+
+    public record Grabacion(Entrada entrada, byte[] cuerpo) {
+    }
+}
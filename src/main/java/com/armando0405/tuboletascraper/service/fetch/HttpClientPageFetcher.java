@@ -0,0 +1,56 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 🚀 FETCHER POR DEFECTO SOBRE java.net.http.HttpClient
+ *
+ * Usa un único HttpClient compartido (HTTP/2 con fallback a HTTP/1.1), que
+ * mantiene las conexiones vivas entre ciclos. Negocia gzip/deflate y deja el
+ * cuerpo comprimido en la respuesta; PageResponse lo descomprime al leerlo.
+ */
+@Slf4j
+@Component
+public class HttpClientPageFetcher implements PageFetcher {
+
+    @Autowired
+    private HttpClient scrapingHttpClient;
+
+    @Value("${scraping.tuboleta.user-agent}")
+    private String userAgent;
+
+    @Value("${scraping.tuboleta.timeout}")
+    private int timeout;
+
+    @Override
+    public PageResponse fetch(PageRequest request) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.url()))
+                .timeout(request.timeout() != null ? request.timeout() : Duration.ofMillis(timeout))
+                .header("User-Agent", userAgent)
+                .header("Accept", "text/html,application/xhtml+xml")
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET();
+        request.headers().forEach(builder::header);
+
+        try {
+            HttpResponse<byte[]> respuesta = scrapingHttpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            log.debug("GET {} -> {} ({}, {} bytes)", request.url(), respuesta.statusCode(),
+                    respuesta.version(), respuesta.body().length);
+            return new PageResponse(request.url(), respuesta.statusCode(), respuesta.headers().map(), respuesta.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Descarga interrumpida: " + request.url());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ⏱️ HISTOGRAMA MÓVIL DE LATENCIAS POR URL
+ *
+ * Guarda las últimas latency.window-size latencias de respuestas 200 de cada URL
+ * en un buffer circular y calcula percentiles sobre esa ventana. Con menos de
+ * latency.min-samples muestras no se devuelve percentil (no hay base suficiente).
+ */
+@Component
+public class LatencyTracker {
+
+    @Value("${scraping.tuboleta.latency.window-size:200}")
+    private int tamanoVentana;
+
+    @Value("${scraping.tuboleta.latency.min-samples:10}")
+    private int minMuestras;
+
+    private final Map<String, Ventana> ventanas = new ConcurrentHashMap<>();
+
+    public void registrar(String url, long nanos) {
+        ventanas.computeIfAbsent(url, u -> new Ventana(Math.max(1, tamanoVentana))).agregar(nanos);
+    }
+
+    public Optional<Duration> percentil(String url, double percentil) {
+        Ventana ventana = ventanas.get(url);
+        if (ventana == null) {
+            return Optional.empty();
+        }
+        long[] muestras = ventana.copiar();
+        if (muestras.length < minMuestras) {
+            return Optional.empty();
+        }
+        Arrays.sort(muestras);
+        int indice = (int) Math.ceil(percentil * muestras.length) - 1;
+        return Optional.of(Duration.ofNanos(muestras[Math.max(0, Math.min(indice, muestras.length - 1))]));
+    }
+
+    private static final class Ventana {
+
+        private final long[] muestras;
+        private int siguiente;
+        private int total;
+
+        private Ventana(int tamano) {
+            this.muestras = new long[tamano];
+        }
+
+        synchronized void agregar(long nanos) {
+            muestras[siguiente] = nanos;
+            siguiente = (siguiente + 1) % muestras.length;
+            total = Math.min(total + 1, muestras.length);
+        }
+
+        synchronized long[] copiar() {
+            return Arrays.copyOf(muestras, total);
+        }
+    }
+}
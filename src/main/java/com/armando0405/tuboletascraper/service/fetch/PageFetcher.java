@@ -0,0 +1,15 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import java.io.IOException;
+
+/**
+ * 🌐 ABSTRACCIÓN DE DESCARGA DE PÁGINAS
+ *
+ * Todo el tráfico saliente del scraper pasa por aquí. La implementación por
+ * defecto usa un HttpClient compartido; en pruebas y benchmarks se puede
+ * inyectar un fetcher falso que sirva páginas guardadas sin tocar la red.
+ */
+public interface PageFetcher {
+
+    PageResponse fetch(PageRequest request) throws IOException;
+}
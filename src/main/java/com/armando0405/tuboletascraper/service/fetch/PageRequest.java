@@ -0,0 +1,25 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Petición GET de una página. Un timeout nulo significa "usar el configurado".
+ */
+public record PageRequest(String url, Map<String, String> headers, Duration timeout) {
+
+    public static PageRequest get(String url) {
+        return new PageRequest(url, Map.of(), null);
+    }
+
+    public PageRequest conHeader(String nombre, String valor) {
+        Map<String, String> nuevos = new LinkedHashMap<>(headers);
+        nuevos.put(nombre, valor);
+        return new PageRequest(url, Map.copyOf(nuevos), timeout);
+    }
+
+    public PageRequest conTimeout(Duration nuevoTimeout) {
+        return new PageRequest(url, headers, nuevoTimeout);
+    }
+}
@@ -0,0 +1,86 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Respuesta de una descarga. El cuerpo se guarda tal como llegó por la red
+ * (posiblemente comprimido con gzip/deflate) y se descomprime al leerlo,
+ * así en modo streaming nunca se materializa la página completa descomprimida.
+ */
+public record PageResponse(String url, int status, Map<String, List<String>> headers, byte[] cuerpo) {
+
+    private static final Pattern CHARSET = Pattern.compile("charset=\"?([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+
+    public PageResponse {
+        Map<String, List<String>> ordenados = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (headers != null) {
+            headers.forEach((nombre, valores) -> {
+                if (nombre != null) {
+                    ordenados.put(nombre, List.copyOf(valores));
+                }
+            });
+        }
+        headers = ordenados;
+        cuerpo = cuerpo != null ? cuerpo : new byte[0];
+    }
+
+    public String header(String nombre) {
+        List<String> valores = headers.get(nombre);
+        return valores == null || valores.isEmpty() ? null : valores.get(0);
+    }
+
+    public boolean esExitosa() {
+        return status >= 200 && status < 300;
+    }
+
+    public boolean noModificada() {
+        return status == 304;
+    }
+
+    public Charset charset() {
+        String contentType = header("Content-Type");
+        if (contentType != null) {
+            Matcher matcher = CHARSET.matcher(contentType);
+            if (matcher.find() && Charset.isSupported(matcher.group(1))) {
+                return Charset.forName(matcher.group(1));
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Flujo del cuerpo ya descomprimido según Content-Encoding.
+     */
+    public InputStream abrirCuerpo() throws IOException {
+        InputStream crudo = new ByteArrayInputStream(cuerpo);
+        String encoding = header("Content-Encoding");
+        if (encoding == null) {
+            return crudo;
+        }
+        return switch (encoding.trim().toLowerCase()) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(crudo);
+            case "deflate" -> new InflaterInputStream(crudo);
+            default -> crudo;
+        };
+    }
+
+    public String cuerpoComoTexto() {
+        try (InputStream entrada = abrirCuerpo()) {
+            return new String(entrada.readAllBytes(), charset());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo descomprimir el cuerpo de " + url, e);
+        }
+    }
+}
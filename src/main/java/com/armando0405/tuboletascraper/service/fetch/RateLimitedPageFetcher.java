@@ -0,0 +1,54 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * 🚦 Decorador que hace pasar cada descarga por el TokenBucketRateLimiter.
+ *
+ * Si el servidor responde 429 o 503 se registra la limitación (que aplaza las
+ * siguientes reservas según Retry-After) y se reintenta hasta maxReintentos veces.
+ */
+@Slf4j
+public class RateLimitedPageFetcher implements PageFetcher {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final PageFetcher delegado;
+    private final TokenBucketRateLimiter limiter;
+    private final int maxReintentos;
+
+    public RateLimitedPageFetcher(PageFetcher delegado, TokenBucketRateLimiter limiter, int maxReintentos) {
+        this.delegado = delegado;
+        this.limiter = limiter;
+        this.maxReintentos = maxReintentos;
+    }
+
+    @Override
+    public PageResponse fetch(PageRequest request) throws IOException {
+        int intento = 0;
+        while (true) {
+            try {
+                limiter.adquirir(request.url());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Espera de rate limit interrumpida: " + request.url());
+            }
+
+            PageResponse respuesta = delegado.fetch(request);
+            if (respuesta.status() != TOO_MANY_REQUESTS && respuesta.status() != SERVICE_UNAVAILABLE) {
+                limiter.registrarExito(request.url());
+                return respuesta;
+            }
+
+            limiter.registrarLimitado(request.url(), respuesta.header("Retry-After"));
+            if (++intento > maxReintentos) {
+                return respuesta;
+            }
+            log.debug("Reintento {} de {} tras HTTP {}", intento, request.url(), respuesta.status());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+/**
+ * 🔴 Decorador que graba en el HttpArchive la respuesta que devuelve el delegado.
+ *
+ * Un error al grabar no afecta la descarga: solo se registra en el log.
+ */
+@Slf4j
+public class RecordingPageFetcher implements PageFetcher {
+
+    private final PageFetcher delegado;
+    private final HttpArchive archivo;
+
+    public RecordingPageFetcher(PageFetcher delegado, HttpArchive archivo) {
+        this.delegado = delegado;
+        this.archivo = archivo;
+    }
+
+    @Override
+    public PageResponse fetch(PageRequest request) throws IOException {
+        long inicio = System.currentTimeMillis();
+        PageResponse respuesta = delegado.fetch(request);
+
+        try {
+            archivo.grabar(respuesta, System.currentTimeMillis() - inicio);
+        } catch (IOException e) {
+            log.warn("📼 No se pudo grabar la respuesta de {}: {}", request.url(), e.getMessage());
+        }
+        return respuesta;
+    }
+}
@@ -0,0 +1,76 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * ⏯️ PageFetcher que sirve las respuestas grabadas en el HttpArchive en lugar de ir a la red.
+ *
+ * - Latencia: latenciaMs fija, o la latencia grabada si latenciaMs es negativa.
+ * - Peticiones condicionales: si los validadores coinciden con la grabación (o se grabó
+ *   un 304) responde 304 sin cuerpo, igual que TuBoleta.
+ * - URL sin grabar: 404.
+ */
+@Slf4j
+public class ReplayPageFetcher implements PageFetcher {
+
+    private final HttpArchive archivo;
+    private final long latenciaMs;
+
+    public ReplayPageFetcher(HttpArchive archivo, long latenciaMs) {
+        this.archivo = archivo;
+        this.latenciaMs = latenciaMs;
+    }
+
+    @Override
+    public PageResponse fetch(PageRequest request) throws IOException {
+        HttpArchive.Grabacion grabacion = archivo.siguiente(request.url()).orElse(null);
+        if (grabacion == null) {
+            log.warn("⏯️ Sin grabación para {}", request.url());
+            return new PageResponse(request.url(), 404, Map.of(), new byte[0]);
+        }
+
+        HttpArchive.Entrada entrada = grabacion.entrada();
+        esperar(latenciaMs >= 0 ? latenciaMs : entrada.latenciaMs());
+
+        PageResponse respuesta = new PageResponse(request.url(), entrada.status(), entrada.headers(), grabacion.cuerpo());
+        if (esRevalidacion(request, respuesta, entrada)) {
+            return new PageResponse(request.url(), 304, Map.of(
+                    "ETag", valores(respuesta.header("ETag")),
+                    "Last-Modified", valores(respuesta.header("Last-Modified"))), new byte[0]);
+        }
+        return respuesta;
+    }
+
+    private static boolean esRevalidacion(PageRequest request, PageResponse respuesta, HttpArchive.Entrada entrada) {
+        String ifNoneMatch = request.headers().get("If-None-Match");
+        String ifModifiedSince = request.headers().get("If-Modified-Since");
+        if (ifNoneMatch == null && ifModifiedSince == null) {
+            return false;
+        }
+        return entrada.revalidada()
+                || ifNoneMatch != null && Objects.equals(ifNoneMatch, respuesta.header("ETag"))
+                || ifModifiedSince != null && Objects.equals(ifModifiedSince, respuesta.header("Last-Modified"));
+    }
+
+    private static List<String> valores(String valor) {
+        return valor != null ? List.of(valor) : List.of();
+    }
+
+    private static void esperar(long ms) throws InterruptedIOException {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Reproducción interrumpida");
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 🪣 LIMITADOR TOKEN-BUCKET POR HOST (SIN LOCKS)
+ *
+ * Implementa el token bucket como GCRA: por host se guarda el "tiempo teórico
+ * de llegada" en un AtomicLong y cada petición lo reserva con CAS. El intervalo
+ * base es scraping.tuboleta.rate-limit (ms entre peticiones) y se permite una
+ * ráfaga de rate-limit-burst peticiones seguidas.
+ *
+ * Ante 429/503 el intervalo del host se duplica (hasta max-backoff-ms) y se
+ * respeta el Retry-After; con cada respuesta buena vuelve poco a poco al base.
+ * La pausa del Retry-After es un plazo aparte ("bloqueado hasta") que se cumple
+ * sin la tolerancia de la ráfaga: esa tolerancia solo aplica al ritmo normal.
+ */
+@Slf4j
+@Component
+public class TokenBucketRateLimiter {
+
+    @Value("${scraping.tuboleta.rate-limit:2000}")
+    private long intervaloBaseMs;
+
+    @Value("${scraping.tuboleta.rate-limit-burst:2}")
+    private int rafaga;
+
+    @Value("${scraping.tuboleta.max-backoff-ms:120000}")
+    private long maxBackoffMs;
+
+    private final Map<String, Cubeta> cubetas = new ConcurrentHashMap<>();
+
+    // Reloj en nanos; las pruebas lo sustituyen para no depender del tiempo real
+    private LongSupplier reloj = System::nanoTime;
+
+    /**
+     * Bloquea (dormir es barato en hilos virtuales) hasta que el host tenga un token libre.
+     */
+    public void adquirir(String url) throws InterruptedException {
+        long esperaNanos = reservar(url);
+        if (esperaNanos > 0) {
+            log.debug("Rate limit: esperando {} ms antes de {}", TimeUnit.NANOSECONDS.toMillis(esperaNanos), url);
+            TimeUnit.NANOSECONDS.sleep(esperaNanos);
+        }
+    }
+
+    /**
+     * Reserva un token del host y devuelve cuántos nanos hay que esperar para usarlo.
+     */
+    long reservar(String url) {
+        return cubeta(url).reservar();
+    }
+
+    public void registrarExito(String url) {
+        cubeta(url).relajar();
+    }
+
+    /**
+     * 429/503: duplica el intervalo del host y bloquea nuevas reservas hasta Retry-After.
+     */
+    public void registrarLimitado(String url, String retryAfter) {
+        long pausaNanos = parsearRetryAfter(retryAfter).map(Duration::toNanos).orElse(0L);
+        Cubeta cubeta = cubeta(url);
+        long intervalo = cubeta.penalizar(pausaNanos);
+        log.warn("⚠️ Respuesta de limitación desde {}: intervalo ahora {} ms, Retry-After={}",
+                extraerHost(url), TimeUnit.NANOSECONDS.toMillis(intervalo), retryAfter);
+    }
+
+    public long getIntervaloActualMs(String url) {
+        return TimeUnit.NANOSECONDS.toMillis(cubeta(url).intervalo.get());
+    }
+
+    private Cubeta cubeta(String url) {
+        return cubetas.computeIfAbsent(extraerHost(url), host -> new Cubeta(reloj,
+                TimeUnit.MILLISECONDS.toNanos(Math.max(0, intervaloBaseMs)),
+                TimeUnit.MILLISECONDS.toNanos(Math.max(intervaloBaseMs, maxBackoffMs)),
+                Math.max(1, rafaga)));
+    }
+
+    static Optional<Duration> parsearRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return Optional.empty();
+        }
+        String valor = retryAfter.trim();
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(valor))));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime fecha = ZonedDateTime.parse(valor, DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration hastaFecha = Duration.between(ZonedDateTime.now(fecha.getZone()), fecha);
+                return Optional.of(hastaFecha.isNegative() ? Duration.ZERO : hastaFecha);
+            } catch (DateTimeParseException ignorada) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static String extraerHost(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static final class Cubeta {
+
+        private final LongSupplier reloj;
+        private final long intervaloBase;
+        private final long intervaloMaximo;
+        private final int rafaga;
+
+        // Tiempo teórico de llegada (GCRA), intervalo vigente y fin del Retry-After, en nanos
+        private final AtomicLong tat;
+        private final AtomicLong intervalo;
+        private final AtomicLong bloqueadoHasta;
+
+        private Cubeta(LongSupplier reloj, long intervaloBase, long intervaloMaximo, int rafaga) {
+            this.reloj = reloj;
+            this.intervaloBase = intervaloBase;
+            this.intervaloMaximo = intervaloMaximo;
+            this.rafaga = rafaga;
+            this.tat = new AtomicLong(reloj.getAsLong());
+            this.intervalo = new AtomicLong(intervaloBase);
+            this.bloqueadoHasta = new AtomicLong(reloj.getAsLong());
+        }
+
+        /**
+         * Reserva un token y devuelve cuántos nanos hay que esperar para usarlo.
+         * Mientras dure el bloqueo nadie sale antes de su fin; el ritmo se retoma desde ahí.
+         */
+        long reservar() {
+            while (true) {
+                long ahora = reloj.getAsLong();
+                long actual = tat.get();
+                long paso = intervalo.get();
+                long bloqueo = bloqueadoHasta.get();
+                long base = Math.max(actual, Math.max(ahora, bloqueo));
+                if (tat.compareAndSet(actual, base + paso)) {
+                    long tolerancia = (rafaga - 1) * paso;
+                    return Math.max(0, Math.max(base - tolerancia, bloqueo) - ahora);
+                }
+            }
+        }
+
+        long penalizar(long pausaNanos) {
+            long nuevoIntervalo = intervalo.updateAndGet(
+                    actual -> Math.min(intervaloMaximo, Math.max(actual * 2, TimeUnit.MILLISECONDS.toNanos(500))));
+
+            // Nadie sale antes de que pase el Retry-After (o un intervalo, si no vino)
+            long desbloqueo = reloj.getAsLong() + Math.max(pausaNanos, nuevoIntervalo);
+            bloqueadoHasta.accumulateAndGet(desbloqueo, Math::max);
+            return nuevoIntervalo;
+        }
+
+        void relajar() {
+            intervalo.updateAndGet(actual -> Math.max(intervaloBase, actual - (actual - intervaloBase) / 4));
+        }
+    }
+}
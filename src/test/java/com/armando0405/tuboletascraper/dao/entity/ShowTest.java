@@ -0,0 +1,46 @@
+package com.armando0405.tuboletascraper.dao.entity;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * generateUniqueId de una sola pasada contra la cadena original de replaceAll.
+ */
+class ShowTest {
+
+    // Letras, dígitos, todos los espacios de \s, pipes, guiones, acentos y los casos raros de toLowerCase
+    private static final String ALFABETO = "aZ09 |\t\n\u000B\f\r-_.éÑ\u0130\u212AI\u0131x  ";
+
+    @Property(tries = 5000)
+    void idIgualAlDeLaNormalizacionOriginal(@ForAll("textos") String titulo,
+                                            @ForAll("textos") String venue,
+                                            @ForAll("textos") String ciudad) {
+        Show show = Show.builder().titulo(titulo).venue(venue).ciudad(ciudad).build();
+
+        show.generateUniqueId();
+
+        assertThat(show.getShowUniqueId()).isEqualTo(idOriginal(titulo, venue, ciudad));
+    }
+
+    @Provide
+    Arbitrary<String> textos() {
+        return Arbitraries.oneOf(
+                        Arbitraries.strings().withChars(ALFABETO.toCharArray()).ofMaxLength(15),
+                        Arbitraries.strings().all().ofMaxLength(15))
+                .injectNull(0.05);
+    }
+
+    private static String idOriginal(String titulo, String venue, String ciudad) {
+        String base = titulo + "|" + venue + "|" + ciudad;
+        return base.toLowerCase()
+                .replaceAll("[^a-z0-9|\\s]", "")
+                .replaceAll("\\s+", "-")
+                .replaceAll("\\|+", "|")
+                .replaceAll("^-+|-+$", "");
+    }
+}
@@ -0,0 +1,100 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Verifica los eventos tipados y su descripción en texto.
+ */
+class ChangeDetectorTest {
+
+    private static final String URL_A = "https://www.tuboleta.com/es/fucks-news-medellin";
+
+    private final ChangeDetector detector = new ChangeDetector();
+
+    @Test
+    void unCambioDeTituloOCiudadConLaMismaUrlEsUnShowModificado() {
+        VersionShow anterior = version("FUCKS NEWS", "Medellín", LocalTime.of(20, 0), URL_A);
+        VersionShow nuevo = version("FUCKS NEWS + invitados", "Envigado", LocalTime.of(21, 0), URL_A + "/");
+
+        // El id sale de título|venue|ciudad: sin emparejar por URL serían un eliminado y un agregado
+        assertThat(nuevo.getShowIdUnico()).isNotEqualTo(anterior.getShowIdUnico());
+
+        assertThat(detector.detectarEventos(List.of(anterior), List.of(nuevo)))
+                .extracting(EventoCambio::tipo, EventoCambio::campo, EventoCambio::valorAnterior, EventoCambio::valorNuevo)
+                .containsExactly(
+                        tuple(EventoCambio.Tipo.CAMPO_MODIFICADO, EventoCambio.Campo.TITULO, "FUCKS NEWS", "FUCKS NEWS + invitados"),
+                        tuple(EventoCambio.Tipo.CAMPO_MODIFICADO, EventoCambio.Campo.CIUDAD, "Medellín", "Envigado"),
+                        tuple(EventoCambio.Tipo.CAMPO_MODIFICADO, EventoCambio.Campo.HORA, "20:00", "21:00"),
+                        tuple(EventoCambio.Tipo.CAMPO_MODIFICADO, EventoCambio.Campo.URL, URL_A, URL_A + "/"));
+    }
+
+    @Test
+    void unCambioDeUrlDelMismoShowEsUnCampoModificado() {
+        VersionShow anterior = version("FUCKS NEWS", "Medellín", LocalTime.of(20, 0), URL_A);
+        VersionShow nuevo = version("FUCKS NEWS", "Medellín", LocalTime.of(20, 0), URL_A + "-2");
+
+        assertThat(detector.detectarEventos(List.of(anterior), List.of(nuevo)))
+                .extracting(EventoCambio::campo, EventoCambio::valorAnterior, EventoCambio::valorNuevo)
+                .containsExactly(tuple(EventoCambio.Campo.URL, URL_A, URL_A + "-2"));
+    }
+
+    @Test
+    void unaUrlCompartidaNoEmpareja() {
+        VersionShow anterior = version("FUCKS NEWS", "Medellín", null, URL_A);
+        VersionShow nuevo = version("FUCKS NEWS", "Envigado", null, URL_A);
+        VersionShow otroNuevo = version("FUCKS NEWS", "Itagüí", null, URL_A);
+
+        assertThat(detector.detectarEventos(List.of(anterior), List.of(nuevo, otroNuevo)))
+                .extracting(EventoCambio::tipo)
+                .containsExactlyInAnyOrder(EventoCambio.Tipo.AGREGADO, EventoCambio.Tipo.AGREGADO, EventoCambio.Tipo.ELIMINADO);
+    }
+
+    @Test
+    void unaHoraNulaNoEsUnCambio() {
+        VersionShow anterior = version("FUCKS NEWS", "Medellín", LocalTime.of(20, 0), URL_A);
+        VersionShow nuevo = version("FUCKS NEWS", "Medellín", null, URL_A);
+
+        assertThat(detector.detectarEventos(List.of(anterior), List.of(nuevo))).isEmpty();
+    }
+
+    @Test
+    void laDescripcionConservaElFormatoDeLosCorreos() {
+        VersionShow agregado = version("FUCKS NEWS", "Bogotá", null, "https://www.tuboleta.com/es/fucks-news-bogota");
+        VersionShow eliminado = version("FUCKS NEWS", "Cali", null, "https://www.tuboleta.com/es/fucks-news-cali");
+
+        assertThat(detector.detectarCambios(List.of(eliminado), List.of(agregado))).containsExactly(
+                "Agregado: FUCKS NEWS en Bogotá - 2025-12-05",
+                "Eliminado: FUCKS NEWS en Cali");
+    }
+
+    /**
+     * El showIdUnico se calcula como en el scraping (Show.generateUniqueId).
+     */
+    private static VersionShow version(String titulo, String ciudad, LocalTime hora, String url) {
+        Show show = Show.builder()
+                .titulo(titulo)
+                .venue("Teatro")
+                .ciudad(ciudad)
+                .build();
+        show.generateUniqueId();
+
+        return VersionShow.builder()
+                .showIdUnico(show.getShowUniqueId())
+                .titulo(titulo)
+                .venue("Teatro")
+                .ciudad(ciudad)
+                .fechaShow(LocalDate.of(2025, 12, 5))
+                .horaShow(hora)
+                .urlFuente(url)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.armando0405.tuboletascraper.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica el encadenamiento de etapas, que un error nunca deja un futuro sin
+ * completar y que la cola acotada frena al productor.
+ */
+class EtapaAcotadaTest {
+
+    @Test
+    void encadenaEtapasYPropagaErrores() throws Exception {
+        try (EtapaAcotada<Integer, Integer> doble = new EtapaAcotada<>("doble", 1, n -> n * 2);
+             EtapaAcotada<Integer, String> texto = new EtapaAcotada<>("texto", 1, n -> {
+                 if (n < 0) {
+                     throw new IllegalArgumentException("negativo");
+                 }
+                 return "n=" + n;
+             })) {
+
+            assertThat(doble.enviar(21).thenCompose(texto::enviar).get(1, TimeUnit.SECONDS)).isEqualTo("n=42");
+
+            assertThatThrownBy(() -> doble.enviar(-1).thenCompose(texto::enviar).get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void unErrorCompletaElFuturoYLaEtapaSigue() throws Exception {
+        try (EtapaAcotada<Integer, Integer> etapa = new EtapaAcotada<>("error", 1, n -> {
+            if (n == 0) {
+                throw new StackOverflowError("recursión");
+            }
+            return n;
+        })) {
+            assertThatThrownBy(() -> etapa.enviar(0).get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(StackOverflowError.class);
+
+            assertThat(etapa.enviar(7).get(1, TimeUnit.SECONDS)).isEqualTo(7);
+        }
+    }
+
+    @Test
+    void unaEtapaDetenidaRechazaEnVezDeColgarse() {
+        EtapaAcotada<Integer, Integer> etapa = new EtapaAcotada<>("cerrada", 1, n -> n);
+        etapa.close();
+
+        assertThatThrownBy(() -> etapa.enviar(1).get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void laColaLlenaBloqueaAlProductor() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        try (EtapaAcotada<Integer, Integer> lenta = new EtapaAcotada<>("lenta", 1, n -> {
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return n;
+        })) {
+            CompletableFuture<Integer> primero = lenta.enviar(1);
+            // El consumidor toma el primero y se queda esperando; el segundo ocupa la única plaza
+            while (lenta.pendientes() > 0) {
+                Thread.onSpinWait();
+            }
+            CompletableFuture<Integer> segundo = lenta.enviar(2);
+
+            CompletableFuture<CompletableFuture<Integer>> tercero = CompletableFuture.supplyAsync(() -> lenta.enviar(3));
+            Thread.sleep(100);
+            assertThat(tercero).isNotDone();
+
+            liberar.countDown();
+            assertThat(primero.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(segundo.get(1, TimeUnit.SECONDS)).isEqualTo(2);
+            assertThat(tercero.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS)).isEqualTo(3);
+        }
+    }
+}
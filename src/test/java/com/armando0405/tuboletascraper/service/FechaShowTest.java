@@ -0,0 +1,61 @@
+package com.armando0405.tuboletascraper.service;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FechaShow.parsear contra el parseo original con String.format + LocalDate.parse.
+ */
+class FechaShowTest {
+
+    private static final Map<String, String> MESES = Map.ofEntries(
+            Map.entry("Ene", "01"), Map.entry("Feb", "02"), Map.entry("Mar", "03"),
+            Map.entry("Abr", "04"), Map.entry("May", "05"), Map.entry("Jun", "06"),
+            Map.entry("Jul", "07"), Map.entry("Ago", "08"), Map.entry("Sep", "09"),
+            Map.entry("Oct", "10"), Map.entry("Nov", "11"), Map.entry("Dic", "12")
+    );
+
+    @Property(tries = 5000)
+    void fechaIgualAlParseoOriginal(@ForAll("dias") String dia, @ForAll("meses") String mes) {
+        assertThat(FechaShow.parsear(dia, mes)).isEqualTo(parsearOriginal(dia, mes));
+    }
+
+    @Provide
+    Arbitrary<String> dias() {
+        return Arbitraries.oneOf(
+                Arbitraries.integers().between(-5, 120).map(String::valueOf),
+                Arbitraries.strings().withChars("0123456789+- a٣".toCharArray()).ofMaxLength(4),
+                Arbitraries.just("99999999999"));
+    }
+
+    @Provide
+    Arbitrary<String> meses() {
+        return Arbitraries.oneOf(
+                Arbitraries.of(MESES.keySet()),
+                Arbitraries.of("", "sep", "SEP", "Sept", "Xyz"));
+    }
+
+    // Parseo original: una excepción en extraerFecha terminaba en null
+    private static LocalDate parsearOriginal(String dia, String mes) {
+        try {
+            if (dia.isEmpty() || mes.isEmpty() || !MESES.containsKey(mes)) {
+                return null;
+            }
+            String fechaString = String.format("%04d-%s-%02d",
+                    LocalDate.now().getYear(), MESES.get(mes), Integer.parseInt(dia));
+            LocalDate fecha = LocalDate.parse(fechaString, DateTimeFormatter.ISO_LOCAL_DATE);
+            return fecha.isBefore(LocalDate.now()) ? fecha.plusYears(1) : fecha;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.config.MonitorJobConfig;
+import com.armando0405.tuboletascraper.service.MonitorJobService.EstadoTrabajo;
+import com.armando0405.tuboletascraper.service.MonitorJobService.TrabajoMonitoreo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica el ciclo de vida de un trabajo, la reutilización del trabajo en cola,
+ * que un Error no lo deja colgado (y aun así llega al pool) y el rechazo con la cola llena.
+ */
+class MonitorJobServiceTest {
+
+    private final CountDownLatch enCurso = new CountDownLatch(1);
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private volatile Error error;
+    private ThreadPoolExecutor executor;
+    private MonitorJobService servicio;
+
+    @BeforeEach
+    void setUp() {
+        executor = new MonitorJobConfig().monitorJobExecutor(1, 1);
+
+        SnapshotService snapshotService = new SnapshotService() {
+            @Override
+            public Map<String, Object> ejecutarMonitoreoCompleto() {
+                enCurso.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (error != null) {
+                    throw error;
+                }
+                return Map.of("hayCambios", false);
+            }
+        };
+
+        servicio = new MonitorJobService();
+        ReflectionTestUtils.setField(servicio, "snapshotService", snapshotService);
+        ReflectionTestUtils.setField(servicio, "monitorJobExecutor", executor);
+        ReflectionTestUtils.setField(servicio, "registry", registry);
+        ReflectionTestUtils.setField(servicio, "retencionMinutos", 60L);
+        servicio.registrarMetricas();
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void elTrabajoPasaDeLaColaAlResultado() throws Exception {
+        TrabajoMonitoreo trabajo = servicio.enviar();
+        assertThat(trabajo.estado()).isEqualTo(EstadoTrabajo.EN_COLA);
+
+        liberar.countDown();
+        esperarTerminados();
+
+        TrabajoMonitoreo terminado = servicio.obtener(trabajo.id()).orElseThrow();
+        assertThat(terminado.estado()).isEqualTo(EstadoTrabajo.COMPLETADO);
+        assertThat(terminado.resultado()).containsEntry("hayCambios", false);
+        assertThat(terminado.terminado()).isNotNull();
+    }
+
+    @Test
+    void unErrorDejaElTrabajoFallido() throws Exception {
+        error = new StackOverflowError("recursión");
+        TrabajoMonitoreo trabajo = servicio.enviar();
+
+        liberar.countDown();
+        esperarTerminados();
+
+        TrabajoMonitoreo terminado = servicio.obtener(trabajo.id()).orElseThrow();
+        assertThat(terminado.estado()).isEqualTo(EstadoTrabajo.FALLIDO);
+        assertThat(terminado.error()).isEqualTo("StackOverflowError: recursión");
+        assertThat(registry.counter("monitor.jobs.fallidos").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void unErrorSeRelanzaDespuesDeMarcarElTrabajo() throws Exception {
+        AtomicReference<Throwable> vistoPorElPool = new AtomicReference<>();
+        ThreadPoolExecutor conRegistro = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), Thread.ofVirtual().factory()) {
+            @Override
+            protected void afterExecute(Runnable tarea, Throwable t) {
+                vistoPorElPool.set(t);
+            }
+        };
+        ReflectionTestUtils.setField(servicio, "monitorJobExecutor", conRegistro);
+        error = new OutOfMemoryError("heap");
+
+        TrabajoMonitoreo trabajo = servicio.enviar();
+        liberar.countDown();
+        conRegistro.shutdown();
+        assertThat(conRegistro.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(vistoPorElPool.get()).isSameAs(error);
+        assertThat(servicio.obtener(trabajo.id()).orElseThrow().estado()).isEqualTo(EstadoTrabajo.FALLIDO);
+    }
+
+    @Test
+    void conUnTrabajoEnColaSeDevuelveEseEnVezDeEncolarOtro() throws Exception {
+        TrabajoMonitoreo primero = servicio.enviar();
+        assertThat(enCurso.await(5, TimeUnit.SECONDS)).isTrue();
+
+        TrabajoMonitoreo enCola = servicio.enviar();
+        TrabajoMonitoreo repetido = servicio.enviar();
+
+        assertThat(enCola.id()).isNotEqualTo(primero.id());
+        assertThat(repetido.id()).isEqualTo(enCola.id());
+        assertThat(executor.getQueue()).hasSize(1);
+        assertThat(servicio.resumen()).containsEntry("reutilizados", 1L);
+    }
+
+    @Test
+    void conLaColaLlenaRechazaYLoCuenta() throws Exception {
+        // Sin plazas de cola: el segundo envío no tiene dónde esperar
+        ThreadPoolExecutor sinCola = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), Thread.ofVirtual().factory(), new ThreadPoolExecutor.AbortPolicy());
+        ReflectionTestUtils.setField(servicio, "monitorJobExecutor", sinCola);
+        try {
+            servicio.enviar();  // ocupa el hilo
+            assertThat(enCurso.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(servicio::enviar).isInstanceOf(RejectedExecutionException.class);
+            assertThat(registry.counter("monitor.jobs.rechazados").count()).isEqualTo(1.0);
+            assertThat(servicio.resumen()).containsEntry("rechazados", 1L);
+        } finally {
+            sinCola.shutdownNow();
+        }
+    }
+
+    /**
+     * shutdown() deja terminar lo encolado; awaitTermination vuelve cuando el
+     * último trabajo ya registró su estado final.
+     */
+    private void esperarTerminados() throws InterruptedException {
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,122 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.config.ScrapingConfig;
+import com.armando0405.tuboletascraper.service.fetch.FakePageFetcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recorre la página guardada de resultados con un fetcher falso (sin red)
+ * en modo DOM y en modo streaming.
+ */
+class PaginatedCrawlerTest {
+
+    private static final String URL = "https://www.tuboleta.com/es/resultados-de-busqueda?s=fucks+news";
+    private static final int SHOWS_FUCKS_NEWS_POR_PAGINA = 48;
+
+    private final ScrapingConfig scrapingConfig = new ScrapingConfig();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConditionalFetchCache fetchCache = new ConditionalFetchCache();
+    private FakePageFetcher fetcher;
+    private PaginatedCrawler crawler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String html;
+        try (InputStream fixture = getClass().getResourceAsStream("/fixtures/tuboleta-resultados.html")) {
+            html = new String(fixture.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        fetcher = new FakePageFetcher().conPaginaPorDefecto(html);
+
+        HostConcurrencyLimiter limiter = new HostConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "scrapingConfig", scrapingConfig);
+
+        ShowExtractor extractor = new ShowExtractor();
+        ReflectionTestUtils.setField(extractor, "baseUrl", "https://www.tuboleta.com");
+        ReflectionTestUtils.setField(extractor, "umbralParalelo", 200);
+
+        crawler = new PaginatedCrawler();
+        ReflectionTestUtils.setField(crawler, "maxPaginas", 20);
+        ReflectionTestUtils.setField(crawler, "hostLimiter", limiter);
+        ReflectionTestUtils.setField(crawler, "scrapingExecutor", executor);
+        ReflectionTestUtils.setField(crawler, "fetchCache", fetchCache);
+        ReflectionTestUtils.setField(crawler, "pageFetcher", fetcher);
+        ReflectionTestUtils.setField(crawler, "showExtractor", extractor);
+        ReflectionTestUtils.setField(crawler, "scrapingConfig", scrapingConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void recorreTodasLasPaginasDelPaginador() throws Exception {
+        PaginatedCrawler.ResultadoCrawl resultado = crawler.crawl(URL);
+
+        // El paginador del fixture llega hasta page=2
+        assertThat(fetcher.getPeticiones()).isEqualTo(3);
+        assertThat(resultado.tiempos()).extracting(PaginatedCrawler.TiempoPagina::pagina).containsExactly(0, 1, 2);
+        assertThat(resultado.huellas().get(0).totalPaginas()).isEqualTo(3);
+        assertThat(resultado.shows()).hasSize(3 * SHOWS_FUCKS_NEWS_POR_PAGINA);
+    }
+
+    @Test
+    void modoStreamingExtraeLoMismoQueModoDom() throws Exception {
+        scrapingConfig.setParseMode(ScrapingConfig.ParseMode.DOM);
+        PaginatedCrawler.ResultadoCrawl dom = crawler.crawl(URL);
+
+        scrapingConfig.setParseMode(ScrapingConfig.ParseMode.STREAMING);
+        PaginatedCrawler.ResultadoCrawl streaming = crawler.crawl(URL);
+
+        assertThat(streaming.shows()).containsExactlyElementsOf(dom.shows());
+        assertThat(streaming.tiempos()).hasSameSizeAs(dom.tiempos());
+        assertThat(streaming.huellas()).extracting(ConditionalFetchCache.HuellaPagina::hashRegion)
+                .containsExactlyElementsOf(dom.huellas().stream().map(ConditionalFetchCache.HuellaPagina::hashRegion).toList());
+    }
+
+    @Test
+    void revalidacionSinCambiosCuandoLaPaginaSiguienteEstaVacia() throws Exception {
+        fetcher.conPagina(PaginatedCrawler.construirUrlPagina(URL, 3), "<html><body><p>Sin resultados</p></body></html>");
+        fetchCache.confirmar(crawler.crawl(URL).huellas());
+
+        PaginatedCrawler.ResultadoCrawl revalidado = crawler.crawlCondicional(URL);
+
+        assertThat(revalidado.sinCambios()).isTrue();
+        assertThat(revalidado.huellas()).hasSize(3);
+    }
+
+    @Test
+    void unaPaginaNuevaMasAllaDelPaginadorCuentaComoCambio() throws Exception {
+        // El fetcher por defecto sirve el listado completo también en page=3
+        fetchCache.confirmar(crawler.crawl(URL).huellas());
+
+        PaginatedCrawler.ResultadoCrawl revalidado = crawler.crawlCondicional(URL);
+
+        assertThat(revalidado.sinCambios()).isFalse();
+        assertThat(revalidado.shows()).isNotEmpty();
+    }
+
+    @Test
+    void unaPaginaCacheadaQueDesapareceCuentaComoCambio() throws Exception {
+        String pagina2 = PaginatedCrawler.construirUrlPagina(URL, 2);
+        fetcher.conPagina(PaginatedCrawler.construirUrlPagina(URL, 3), "<html><body><p>Sin resultados</p></body></html>");
+        fetchCache.confirmar(crawler.crawl(URL).huellas());
+
+        // La revalidación de page=2 responde 404; el crawl completo vuelve a pedirla y ya existe
+        fetcher.conEstados(pagina2, 404);
+        PaginatedCrawler.ResultadoCrawl revalidado = crawler.crawlCondicional(URL);
+
+        assertThat(revalidado.sinCambios()).isFalse();
+        assertThat(revalidado.shows()).hasSize(3 * SHOWS_FUCKS_NEWS_POR_PAGINA);
+    }
+}
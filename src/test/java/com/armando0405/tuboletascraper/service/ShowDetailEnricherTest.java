@@ -0,0 +1,188 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.config.ScrapingConfig;
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import com.armando0405.tuboletascraper.service.SnapshotActual.ShowVigente;
+import com.armando0405.tuboletascraper.service.fetch.FakePageFetcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que solo se descargan los detalles de shows nuevos o modificados, que
+ * un detalle fallido no cambia el hash del snapshot, la siembra tras un reinicio
+ * y el tope de descargas por ciclo.
+ */
+class ShowDetailEnricherTest {
+
+    private static final String DETALLE_JSON_LD = """
+            <html><head><script type="application/ld+json">
+            {"@type": "MusicEvent", "startDate": "2025-12-05T20:30:00-05:00",
+             "location": {"name": "Teatro Royal Center", "address": {"addressLocality": "Bogotá"}}}
+            </script></head><body></body></html>""";
+
+    private static final String DETALLE_TEXTO = "<html><body><p>Hora: 8:00 p.m.</p></body></html>";
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SnapshotEnMemoria snapshotEnMemoria = new SnapshotEnMemoria();
+    private FakePageFetcher fetcher;
+    private ShowDetailEnricher enricher;
+
+    @BeforeEach
+    void setUp() {
+        fetcher = new FakePageFetcher()
+                .conPagina("https://www.tuboleta.com/es/a", DETALLE_JSON_LD)
+                .conPaginaPorDefecto(DETALLE_TEXTO);
+        enricher = nuevoEnricher(fetcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void completaHoraYDatosVaciosDesdeElDetalle() {
+        Show conJsonLd = show("a", "");
+        Show conTexto = show("b", "Teatro");
+
+        enricher.enriquecer(List.of(conJsonLd, conTexto));
+
+        assertThat(conJsonLd.getHoraShow()).isEqualTo(LocalTime.of(20, 30));
+        assertThat(conJsonLd.getVenue()).isEqualTo("Teatro Royal Center");
+        assertThat(conTexto.getHoraShow()).isEqualTo(LocalTime.of(20, 0));
+        assertThat(conTexto.getVenue()).isEqualTo("Teatro");
+    }
+
+    @Test
+    void soloDescargaLosShowsNuevosOModificados() {
+        enricher.enriquecer(List.of(show("a", "V"), show("b", "V"), show("c", "V")));
+        assertThat(fetcher.getPeticiones()).isEqualTo(3);
+
+        // Mismo listado: todo sale de la caché
+        List<Show> sinCambios = List.of(show("a", "V"), show("b", "V"), show("c", "V"));
+        enricher.enriquecer(sinCambios);
+        assertThat(fetcher.getPeticiones()).isEqualTo(3);
+        assertThat(sinCambios).allMatch(show -> show.getHoraShow() != null);
+
+        // Un show modificado y uno nuevo: dos descargas
+        enricher.enriquecer(List.of(show("a", "V"), show("b", "Otro venue"), show("d", "V")));
+        assertThat(fetcher.getPeticiones()).isEqualTo(5);
+    }
+
+    @Test
+    void unDetalleFallidoConservaElUltimoConocido() {
+        enricher.enriquecer(List.of(show("a", "V")));
+
+        // El listado cambia (hay que volver a pedir el detalle) y la página falla
+        Show modificado = show("a", "Otro venue");
+        ReflectionTestUtils.setField(enricher, "pageFetcher", new FakePageFetcher());
+        enricher.enriquecer(List.of(modificado));
+
+        assertThat(modificado.getHoraShow()).isEqualTo(LocalTime.of(20, 30));
+    }
+
+    @Test
+    void unDetalleFallidoTrasReiniciarNoCambiaElHashDelSnapshot() {
+        SnapshotHasher hasher = new SnapshotHasher();
+        List<Show> primerCiclo = List.of(show("a", ""), show("b", "Teatro"));
+        enricher.enriquecer(primerCiclo);
+        publicar(primerCiclo, hasher);
+
+        // Tras un reinicio la caché está vacía y el detalle de "a" respondería 404: sale del snapshot vigente
+        ShowDetailEnricher reiniciado = nuevoEnricher(new FakePageFetcher()
+                .conPagina("https://www.tuboleta.com/es/b", DETALLE_TEXTO));
+        List<Show> segundoCiclo = List.of(show("a", ""), show("b", "Teatro"));
+        reiniciado.enriquecer(segundoCiclo);
+
+        assertThat(segundoCiclo.get(0).getHoraShow()).isEqualTo(LocalTime.of(20, 30));
+        assertThat(segundoCiclo.get(0).getVenue()).isEqualTo("Teatro Royal Center");
+        assertThat(hasher.generarHash(segundoCiclo)).isEqualTo(hasher.generarHash(primerCiclo));
+    }
+
+    @Test
+    void trasReiniciarSiembraLaCacheConElSnapshotVigente() {
+        SnapshotHasher hasher = new SnapshotHasher();
+        List<Show> primerCiclo = List.of(show("a", ""), show("b", "Teatro"));
+        enricher.enriquecer(primerCiclo);
+        publicar(primerCiclo, hasher);
+
+        FakePageFetcher otroFetcher = new FakePageFetcher().conPaginaPorDefecto(DETALLE_TEXTO);
+        ShowDetailEnricher reiniciado = nuevoEnricher(otroFetcher);
+        List<Show> segundoCiclo = List.of(show("a", ""), show("b", "Teatro"), show("c", "Teatro"));
+        reiniciado.enriquecer(segundoCiclo);
+
+        // Solo el show nuevo necesita su detalle
+        assertThat(otroFetcher.getPeticiones()).isEqualTo(1);
+        assertThat(segundoCiclo.get(0).getHoraShow()).isEqualTo(LocalTime.of(20, 30));
+
+        // Lo sembrado queda en la caché para los ciclos siguientes
+        reiniciado.enriquecer(List.of(show("a", ""), show("b", "Teatro"), show("c", "Teatro")));
+        assertThat(otroFetcher.getPeticiones()).isEqualTo(1);
+    }
+
+    @Test
+    void descargaComoMaximoElTopePorCicloYDejaElRestoParaDespues() {
+        ReflectionTestUtils.setField(enricher, "maxPorCiclo", 2);
+        List<Show> cartelera = List.of(show("a", "V"), show("b", "V"), show("c", "V"));
+
+        enricher.enriquecer(cartelera);
+        assertThat(fetcher.getPeticiones()).isEqualTo(2);
+        assertThat(cartelera.get(2).getHoraShow()).isNull();
+
+        enricher.enriquecer(List.of(show("a", "V"), show("b", "V"), show("c", "V")));
+        assertThat(fetcher.getPeticiones()).isEqualTo(3);
+    }
+
+    private ShowDetailEnricher nuevoEnricher(FakePageFetcher pageFetcher) {
+        HostConcurrencyLimiter limiter = new HostConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "scrapingConfig", new ScrapingConfig());
+
+        ShowDetailEnricher nuevo = new ShowDetailEnricher();
+        ReflectionTestUtils.setField(nuevo, "pageFetcher", pageFetcher);
+        ReflectionTestUtils.setField(nuevo, "hostLimiter", limiter);
+        ReflectionTestUtils.setField(nuevo, "scrapingExecutor", executor);
+        ReflectionTestUtils.setField(nuevo, "snapshotEnMemoria", snapshotEnMemoria);
+        ReflectionTestUtils.setField(nuevo, "habilitado", true);
+        return nuevo;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publicar(List<Show> shows, SnapshotHasher hasher) {
+        Map<String, ShowVigente> showsPorId = new LinkedHashMap<>();
+        long versionId = 1;
+        for (Show show : shows) {
+            showsPorId.put(show.getShowUniqueId(), new ShowVigente(versionId++, show.getShowUniqueId(),
+                    show.getTitulo(), show.getVenue(), show.getCiudad(), show.getFechaShow(), show.getHoraShow(),
+                    show.getUrlFuente(), hasher.hashShow(show)));
+        }
+        SnapshotActual snapshot = new SnapshotActual(1L, LocalDateTime.now(), shows.size(),
+                hasher.generarHash(shows), showsPorId, new byte[0], new byte[0]);
+        ((AtomicReference<SnapshotActual>) ReflectionTestUtils.getField(snapshotEnMemoria, "actual")).set(snapshot);
+    }
+
+    private static Show show(String slug, String venue) {
+        Show show = Show.builder()
+                .titulo("FUCKS NEWS " + slug)
+                .venue(venue)
+                .ciudad("Bogotá")
+                .fechaShow(LocalDate.of(2025, 12, 5))
+                .urlFuente("https://www.tuboleta.com/es/" + slug)
+                .build();
+        show.generateUniqueId();
+        return show;
+    }
+}
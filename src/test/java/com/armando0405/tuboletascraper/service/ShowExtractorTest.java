@@ -0,0 +1,163 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara el extractor de una sola pasada contra la extracción original
+ * (un select/selectFirst por campo) sobre una página guardada de resultados.
+ */
+class ShowExtractorTest {
+
+    private static final String BASE_URL = "https://www.tuboleta.com";
+
+    private ShowExtractor extractor;
+    private List<Element> articulos;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        extractor = new ShowExtractor();
+        ReflectionTestUtils.setField(extractor, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(extractor, "umbralParalelo", 200);
+        // Sin memoria: estas pruebas comparan la extracción en sí
+        ReflectionTestUtils.setField(extractor, "capacidadMemo", 0);
+
+        try (InputStream fixture = getClass().getResourceAsStream("/fixtures/tuboleta-resultados.html")) {
+            Document doc = Jsoup.parse(fixture, StandardCharsets.UTF_8.name(), BASE_URL);
+            articulos = doc.select("article.bg-grey-light");
+        }
+    }
+
+    @Test
+    void extraeLosMismosShowsQueLaExtraccionOriginal() {
+        List<Show> esperados = articulos.stream()
+                .map(this::extraerShowOriginal)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        List<Show> obtenidos = extractor.extraerTodos(articulos);
+
+        assertThat(obtenidos).isNotEmpty();
+        assertThat(obtenidos).containsExactlyElementsOf(esperados);
+    }
+
+    @Test
+    void extraccionParalelaConservaElOrden() {
+        List<Show> secuencial = extractor.extraerTodos(articulos);
+
+        ReflectionTestUtils.setField(extractor, "umbralParalelo", 0);
+        List<Show> paralela = extractor.extraerTodos(articulos);
+
+        assertThat(paralela).containsExactlyElementsOf(secuencial);
+    }
+
+    @Test
+    void memoriaEvitaReextraerArticulosIdenticos() {
+        ShowExtractor conMemo = new ShowExtractor();
+        ReflectionTestUtils.setField(conMemo, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(conMemo, "umbralParalelo", 200);
+        ReflectionTestUtils.setField(conMemo, "capacidadMemo", 1000);
+
+        List<Show> primerCiclo = conMemo.extraerTodos(articulos);
+        assertThat(conMemo.getEstadisticasMemo())
+                .containsEntry("aciertos", 0L)
+                .containsEntry("fallos", (long) articulos.size());
+
+        // Misma página recargada: los articles son otros objetos pero con el mismo HTML
+        List<Element> recargados = Jsoup.parse(articulos.get(0).ownerDocument().outerHtml(), BASE_URL)
+                .select("article.bg-grey-light");
+        List<Show> segundoCiclo = conMemo.extraerTodos(recargados);
+
+        assertThat(segundoCiclo).containsExactlyElementsOf(primerCiclo);
+        assertThat(conMemo.getEstadisticasMemo())
+                .containsEntry("aciertos", (long) articulos.size())
+                .containsEntry("fallos", (long) articulos.size());
+
+        // Los Show devueltos son copias: modificarlos no altera la memoria
+        segundoCiclo.get(0).setVenue("modificado");
+        assertThat(conMemo.extraerTodos(recargados).get(0).getVenue()).isEqualTo(primerCiclo.get(0).getVenue());
+    }
+
+    // ===== Extracción original (antes del extractor de una sola pasada) =====
+
+    private static final Map<String, String> MESES = Map.ofEntries(
+            Map.entry("Ene", "01"), Map.entry("Feb", "02"), Map.entry("Mar", "03"),
+            Map.entry("Abr", "04"), Map.entry("May", "05"), Map.entry("Jun", "06"),
+            Map.entry("Jul", "07"), Map.entry("Ago", "08"), Map.entry("Sep", "09"),
+            Map.entry("Oct", "10"), Map.entry("Nov", "11"), Map.entry("Dic", "12")
+    );
+
+    private Show extraerShowOriginal(Element showElement) {
+        Element tituloElement = showElement.selectFirst(".content-info .fs-8.fw-bold.mb-1 span");
+        String titulo = tituloElement != null ? tituloElement.text() : null;
+        if (titulo == null) {
+            Elements posiblesTitulos = showElement.select("span:contains(FUCKS NEWS)");
+            titulo = posiblesTitulos.isEmpty() ? null : posiblesTitulos.first().text();
+        }
+        if (titulo == null || !titulo.toLowerCase().contains("fucks news")) {
+            return null;
+        }
+
+        Elements venues = showElement.select(".content-info .text-grey span");
+        String venue = !venues.isEmpty() ? venues.get(0).text() : null;
+        Elements ciudades = showElement.select(".content-info .text-grey span");
+        String ciudad = ciudades.size() >= 2 ? ciudades.get(1).text() : null;
+
+        Element diaElement = showElement.selectFirst(".content-date .fs-5.fw-bold.lh-1");
+        String dia = diaElement != null ? diaElement.text() : "";
+        Element mesElement = showElement.selectFirst(".content-date .fs-8.fw-bold");
+        String mes = mesElement != null ? mesElement.text() : "";
+        if (dia.isEmpty() || mes.isEmpty()) {
+            Element fechaCompacta = showElement.selectFirst(".content-date .fs-7.fw-bold");
+            if (fechaCompacta != null) {
+                String[] partes = fechaCompacta.text().split("\\s+");
+                if (partes.length >= 2) {
+                    dia = partes[0];
+                    mes = partes[1];
+                }
+            }
+        }
+
+        String urlFuente = null;
+        Element linkElement = showElement.selectFirst("a.content-link-container");
+        if (linkElement != null) {
+            String href = linkElement.attr("href");
+            urlFuente = href.startsWith("/") ? BASE_URL + href : href;
+        }
+
+        Show show = Show.builder()
+                .titulo(titulo.trim())
+                .venue(venue != null ? venue.trim() : "")
+                .ciudad(ciudad != null ? ciudad.trim() : "")
+                .fechaShow(parsearFechaOriginal(dia, mes))
+                .urlFuente(urlFuente)
+                .build();
+        show.generateUniqueId();
+        return show;
+    }
+
+    private LocalDate parsearFechaOriginal(String dia, String mes) {
+        if (dia.isEmpty() || mes.isEmpty() || !MESES.containsKey(mes)) {
+            return null;
+        }
+        LocalDate fecha = LocalDate.parse(String.format("%04d-%s-%02d",
+                LocalDate.now().getYear(), MESES.get(mes), Integer.parseInt(dia)));
+        return fecha.isBefore(LocalDate.now()) ? fecha.plusYears(1) : fecha;
+    }
+}
@@ -0,0 +1,163 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.ConsultaInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.HistorialShow;
+import com.armando0405.tuboletascraper.dao.entity.ShowInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import com.armando0405.tuboletascraper.dao.repository.HistorialShowRepository;
+import com.armando0405.tuboletascraper.dao.repository.VersionShowRepository;
+import com.armando0405.tuboletascraper.service.SnapshotActual.ShowVigente;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica la apertura y cierre de intervalos y las consultas "a la fecha" en los bordes.
+ */
+@DataJpaTest
+@Import(ShowHistoryService.class)
+class ShowHistoryServiceTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2025, 10, 1, 8, 0);
+    private static final LocalDateTime T2 = T1.plusHours(1);
+    private static final LocalDateTime T3 = T1.plusHours(2);
+
+    @Autowired
+    private ShowHistoryService servicio;
+
+    @Autowired
+    private HistorialShowRepository historialRepository;
+
+    @Autowired
+    private VersionShowRepository versionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void abreUnIntervaloPorShowEnElPrimerSnapshot() {
+        VersionShow a = version("a", "h-a1");
+        VersionShow b = version("b", "h-b1");
+
+        registrar(null, T1, a, b);
+
+        assertThat(historialRepository.findAll())
+                .hasSize(2)
+                .allMatch(HistorialShow::estaVigente)
+                .allMatch(intervalo -> intervalo.getValidFrom().equals(T1));
+    }
+
+    @Test
+    void sinCambiosNoTocaElHistorial() {
+        VersionShow a = version("a", "h-a1");
+        VersionShow b = version("b", "h-b1");
+
+        SnapshotActual primero = registrar(null, T1, a, b);
+        registrar(primero, T2, a, b);
+
+        assertThat(historialRepository.findAll())
+                .hasSize(2)
+                .allMatch(HistorialShow::estaVigente);
+    }
+
+    @Test
+    void cierraYReabreLosModificadosYCierraLosRetirados() {
+        VersionShow a1 = version("a", "h-a1");
+        VersionShow a2 = version("a", "h-a2");
+        VersionShow b = version("b", "h-b1");
+
+        SnapshotActual primero = registrar(null, T1, a1, b);
+        registrar(primero, T3, a2);
+
+        List<HistorialShow> historiaA = historialRepository.findByShowIdUnico("a");
+        assertThat(historiaA).hasSize(2);
+        assertThat(historiaA.get(0).getValidTo()).isEqualTo(T3);
+        assertThat(historiaA.get(1).getValidFrom()).isEqualTo(T3);
+        assertThat(historiaA.get(1).estaVigente()).isTrue();
+
+        List<HistorialShow> historiaB = historialRepository.findByShowIdUnico("b");
+        assertThat(historiaB).singleElement()
+                .satisfies(intervalo -> assertThat(intervalo.getValidTo()).isEqualTo(T3));
+    }
+
+    @Test
+    void carteleraEnLosBordesDeLosIntervalos() {
+        VersionShow a1 = version("a", "h-a1");
+        VersionShow a2 = version("a", "h-a2");
+        VersionShow b = version("b", "h-b1");
+
+        SnapshotActual primero = registrar(null, T1, a1, b);
+        registrar(primero, T3, a2);
+
+        // validFrom es inclusivo y validTo exclusivo
+        assertThat(servicio.carteleraEn(T1.minusNanos(1000))).isEmpty();
+        assertThat(titulos(servicio.carteleraEn(T1))).containsExactlyInAnyOrder("h-a1", "h-b1");
+        assertThat(titulos(servicio.carteleraEn(T3.minusNanos(1000)))).containsExactlyInAnyOrder("h-a1", "h-b1");
+        assertThat(titulos(servicio.carteleraEn(T3))).containsExactly("h-a2");
+
+        // [T1, T3) no incluye el intervalo que abre en T3; [T3, T3 + 1 h) no incluye los cerrados en T3
+        assertThat(titulos(servicio.vigentesEntre(T1, T3))).containsExactlyInAnyOrder("h-a1", "h-b1");
+        assertThat(titulos(servicio.vigentesEntre(T3, T3.plusHours(1)))).containsExactly("h-a2");
+    }
+
+    @Test
+    void volverAUnaVersionAnteriorEsOtroIntervaloPeroNoOtraVersion() {
+        VersionShow a1 = version("a", "h-a1");
+        VersionShow a2 = version("a", "h-a2");
+
+        SnapshotActual primero = registrar(null, T1, a1);
+        SnapshotActual segundo = registrar(primero, T2, a2);
+        registrar(segundo, T3, a1);
+
+        Map<String, Object> historia = servicio.historiaDeShow("a");
+        assertThat(historia).containsEntry("totalIntervalos", 3);
+        assertThat(historia).containsEntry("totalVersiones", 2L);
+        assertThat(historia).containsEntry("vigente", true);
+    }
+
+    private VersionShow version(String showId, String hash) {
+        return versionRepository.save(VersionShow.builder()
+                .showIdUnico(showId)
+                .hashContenido(hash)
+                .titulo(hash)  // así cada versión se reconoce en la respuesta
+                .build());
+    }
+
+    /**
+     * Registra un snapshot con las versiones indicadas y devuelve su copia en memoria,
+     * que hará de "anterior" en el siguiente registro.
+     */
+    private SnapshotActual registrar(SnapshotActual anterior, LocalDateTime instante, VersionShow... versiones) {
+        ConsultaInstantanea consulta = ConsultaInstantanea.builder().fechaHora(instante).build();
+        Map<String, ShowVigente> showsPorId = new LinkedHashMap<>();
+        for (VersionShow version : versiones) {
+            consulta.getShows().add(ShowInstantanea.builder()
+                    .consultaInstantanea(consulta)
+                    .versionShow(version)
+                    .showIdUnico(version.getShowIdUnico())
+                    .hashContenido(version.getHashContenido())
+                    .build());
+            showsPorId.put(version.getShowIdUnico(), ShowVigente.de(version));
+        }
+
+        servicio.registrar(anterior, consulta);
+        // Cada registro va en su propia transacción en la aplicación: se descarta lo que quedó en caché
+        entityManager.flush();
+        entityManager.clear();
+
+        return new SnapshotActual(null, instante, versiones.length, null, showsPorId, new byte[0], new byte[0]);
+    }
+
+    private static List<Object> titulos(List<Map<String, Object>> intervalos) {
+        return intervalos.stream().map(intervalo -> intervalo.get("titulo")).toList();
+    }
+}
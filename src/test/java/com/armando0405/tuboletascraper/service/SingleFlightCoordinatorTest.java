@@ -0,0 +1,92 @@
+package com.armando0405.tuboletascraper.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que las llamadas simultáneas comparten una ejecución y que el TTL reutiliza el resultado.
+ */
+class SingleFlightCoordinatorTest {
+
+    private final SingleFlightCoordinator coordinador = new SingleFlightCoordinator();
+
+    @Test
+    void llamadasSimultaneasCompartenUnaEjecucion() throws Exception {
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> primera = executor.submit(() -> coordinador.ejecutar("monitoreo", () -> {
+                ejecuciones.incrementAndGet();
+                enCurso.countDown();
+                esperar(liberar);
+                return "resultado";
+            }));
+            enCurso.await(1, TimeUnit.SECONDS);
+
+            List<Future<String>> unidas = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                unidas.add(executor.submit(() -> coordinador.ejecutar("monitoreo", () -> {
+                    ejecuciones.incrementAndGet();
+                    return "otra";
+                })));
+            }
+            while ((long) coordinador.resumen().get("unidas") < 10) {
+                Thread.onSpinWait();
+            }
+
+            liberar.countDown();
+            assertThat(primera.get(1, TimeUnit.SECONDS)).isEqualTo("resultado");
+            for (Future<String> unida : unidas) {
+                assertThat(unida.get(1, TimeUnit.SECONDS)).isEqualTo("resultado");
+            }
+        }
+
+        assertThat(ejecuciones).hasValue(1);
+
+        // Terminada la ejecución, la siguiente llamada vuelve a ejecutar
+        assertThat(coordinador.ejecutar("monitoreo", () -> "nuevo")).isEqualTo("nuevo");
+    }
+
+    @Test
+    void reutilizaElResultadoDuranteElTtl() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        assertThat(coordinador.ejecutar("scraping", 60_000, ejecuciones::incrementAndGet)).isEqualTo(1);
+        assertThat(coordinador.ejecutar("scraping", 60_000, ejecuciones::incrementAndGet)).isEqualTo(1);
+        assertThat(coordinador.resumen()).containsEntry("desdeCache", 1L);
+
+        // Sin TTL no hay caché
+        assertThat(coordinador.ejecutar("otra", ejecuciones::incrementAndGet)).isEqualTo(2);
+        assertThat(coordinador.ejecutar("otra", ejecuciones::incrementAndGet)).isEqualTo(3);
+    }
+
+    @Test
+    void losErroresNoSeGuardanEnCache() {
+        assertThatThrownBy(() -> coordinador.ejecutar("scraping", 60_000, () -> {
+            throw new IllegalStateException("caído");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(coordinador.ejecutar("scraping", 60_000, () -> "ok")).isEqualTo("ok");
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Verifica el merge-join de dos snapshots ordenados por showIdUnico y que empareja
+ * por URL igual que ChangeDetector.
+ */
+class SnapshotDiffServiceTest {
+
+    private SnapshotDiffService diffService;
+
+    @BeforeEach
+    void setUp() {
+        diffService = new SnapshotDiffService();
+        ReflectionTestUtils.setField(diffService, "changeDetector", new ChangeDetector());
+    }
+
+    @Test
+    void emiteAgregadosEliminadosYCamposModificados() {
+        List<VersionShow> anteriores = List.of(
+                version("a", "Teatro", "h1"),
+                version("b", "Teatro", "h2"),
+                version("c", "Teatro", "h3"));
+        List<VersionShow> nuevos = List.of(
+                version("b", "Royal Center", "h2b"),
+                version("c", "Teatro", "h3"),
+                version("d", "Teatro", "h4"));
+
+        List<EventoCambio> eventos = new ArrayList<>();
+        diffService.combinar(anteriores.iterator(), nuevos.iterator(), eventos::add);
+
+        assertThat(eventos)
+                .extracting(EventoCambio::tipo, EventoCambio::showIdUnico, EventoCambio::campo,
+                        EventoCambio::valorAnterior, EventoCambio::valorNuevo)
+                .containsExactly(
+                        // Los modificados salen en el recorrido; los sin pareja, al final
+                        tuple(EventoCambio.Tipo.CAMPO_MODIFICADO, "b", EventoCambio.Campo.VENUE, "Teatro", "Royal Center"),
+                        tuple(EventoCambio.Tipo.AGREGADO, "d", null, null, null),
+                        tuple(EventoCambio.Tipo.ELIMINADO, "a", null, null, null));
+    }
+
+    @Test
+    void unShowRenombradoConLaMismaUrlEsUnModificadoComoEnChangeDetector() {
+        List<VersionShow> anteriores = List.of(
+                conUrl(version("a", "Teatro", "h1"), "/es/evento/fucks-news-bogota"),
+                conUrl(version("c", "Teatro", "h3"), "/es/evento/fucks-news-cali"));
+        List<VersionShow> nuevos = List.of(
+                conUrl(version("b", "Teatro", "h1b"), "/es/evento/fucks-news-bogota/"),
+                conUrl(version("c", "Teatro", "h3"), "/es/evento/fucks-news-cali"),
+                conUrl(version("d", "Teatro", "h4"), "/es/evento/fucks-news-medellin"));
+
+        List<EventoCambio> eventos = new ArrayList<>();
+        diffService.combinar(anteriores.iterator(), nuevos.iterator(), eventos::add);
+
+        assertThat(eventos)
+                .extracting(EventoCambio::tipo, EventoCambio::showIdUnico, EventoCambio::campo)
+                .containsExactly(
+                        tuple(EventoCambio.Tipo.AGREGADO, "d", null),
+                        tuple(EventoCambio.Tipo.CAMPO_MODIFICADO, "b", EventoCambio.Campo.TITULO),
+                        tuple(EventoCambio.Tipo.CAMPO_MODIFICADO, "b", EventoCambio.Campo.URL));
+        assertThat(eventos).containsExactlyInAnyOrderElementsOf(
+                new ChangeDetector().detectarEventos(anteriores, nuevos));
+    }
+
+    @Test
+    void conElBufferLlenoEmiteSinEmparejar() {
+        ReflectionTestUtils.setField(diffService, "maxSinPareja", 1);
+        List<VersionShow> anteriores = List.of(conUrl(version("a", "Teatro", "h1"), "/es/evento/fucks-news-bogota"));
+        List<VersionShow> nuevos = List.of(
+                conUrl(version("b", "Teatro", "h1b"), "/es/evento/fucks-news-bogota"),
+                conUrl(version("d", "Teatro", "h4"), "/es/evento/fucks-news-medellin"));
+
+        List<EventoCambio> eventos = new ArrayList<>();
+        diffService.combinar(anteriores.iterator(), nuevos.iterator(), eventos::add);
+
+        assertThat(eventos).extracting(EventoCambio::tipo)
+                .containsExactlyInAnyOrder(EventoCambio.Tipo.ELIMINADO, EventoCambio.Tipo.AGREGADO, EventoCambio.Tipo.AGREGADO);
+    }
+
+    @Test
+    void fallaSiLasFilasNoVienenOrdenadas() {
+        List<VersionShow> desordenados = List.of(version("b", "Teatro", "h2"), version("a", "Teatro", "h1"));
+
+        assertThatThrownBy(() -> diffService.combinar(desordenados.iterator(), List.<VersionShow>of().iterator(), e -> {
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static VersionShow conUrl(VersionShow version, String url) {
+        version.setUrlFuente("https://www.tuboleta.com" + url);
+        return version;
+    }
+
+    private static VersionShow version(String showId, String venue, String hash) {
+        return VersionShow.builder()
+                .showIdUnico(showId)
+                .hashContenido(hash)
+                .titulo("FUCKS NEWS " + showId)
+                .venue(venue)
+                .ciudad("Bogotá")
+                .fechaShow(LocalDate.of(2025, 12, 5))
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.ConsultaInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.ShowInstantanea;
+import com.armando0405.tuboletascraper.dao.entity.VersionShow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica el estado en memoria: payload serializado y que nunca retrocede a un snapshot anterior.
+ */
+class SnapshotEnMemoriaTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private SnapshotEnMemoria enMemoria;
+
+    @BeforeEach
+    void setUp() {
+        enMemoria = new SnapshotEnMemoria();
+        ReflectionTestUtils.setField(enMemoria, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void publicaElSnapshotConSusPayloadsYaSerializados() throws Exception {
+        enMemoria.publicar(consulta(1L, "h1"), List.of(show("b", "Zeta"), show("a", "Alfa")));
+
+        SnapshotActual actual = enMemoria.actual().orElseThrow();
+        assertThat(actual.hash()).isEqualTo("h1");
+        assertThat(actual.showsPorId().keySet()).containsExactly("a", "b");
+
+        JsonNode payload = objectMapper.readTree(actual.payload());
+        assertThat(payload.get("totalShows").asInt()).isEqualTo(2);
+        assertThat(payload.get("shows").get(0).get("titulo").asText()).isEqualTo("Alfa");
+        assertThat(objectMapper.readTree(actual.payloadResumen()).has("shows")).isFalse();
+
+        assertThat(actual.shows(Set.of("b", "x")))
+                .extracting(VersionShow::getTitulo)
+                .containsExactly("Zeta");
+    }
+
+    @Test
+    void unaPublicacionAtrasadaNoReemplazaAUnSnapshotMasNuevo() {
+        enMemoria.publicar(consulta(2L, "nuevo"), List.of(show("a", "Alfa")));
+        enMemoria.publicar(consulta(1L, "viejo"), List.of(show("a", "Alfa")));
+
+        assertThat(enMemoria.actual().orElseThrow().hash()).isEqualTo("nuevo");
+    }
+
+    private static ConsultaInstantanea consulta(Long id, String hash) {
+        return ConsultaInstantanea.builder()
+                .id(id)
+                .fechaHora(LocalDateTime.of(2025, 10, 1, 12, 0))
+                .hashContenido(hash)
+                .build();
+    }
+
+    private static ShowInstantanea show(String id, String titulo) {
+        VersionShow version = VersionShow.builder()
+                .showIdUnico(id)
+                .titulo(titulo)
+                .ciudad("Bogotá")
+                .fechaShow(LocalDate.of(2025, 12, 5))
+                .hashContenido("0".repeat(32))
+                .build();
+        return ShowInstantanea.builder()
+                .showIdUnico(id)
+                .hashContenido(version.getHashContenido())
+                .versionShow(version)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.armando0405.tuboletascraper.service;
+
+import com.armando0405.tuboletascraper.dao.entity.Show;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el hash del snapshot no depende del orden y se puede actualizar show a show.
+ */
+class SnapshotHasherTest {
+
+    private final SnapshotHasher hasher = new SnapshotHasher();
+
+    @Test
+    void elOrdenDeLosShowsNoCambiaElHash() {
+        List<Show> shows = shows(50);
+        List<Show> desordenados = new ArrayList<>(shows);
+        Collections.shuffle(desordenados, new Random(7));
+
+        assertThat(hasher.generarHash(desordenados)).isEqualTo(hasher.generarHash(shows));
+    }
+
+    @Test
+    void cualquierCampoModificadoCambiaElHash() {
+        List<Show> shows = shows(10);
+        String original = hasher.generarHash(shows);
+
+        shows.get(3).setVenue("Otro venue");
+
+        assertThat(hasher.generarHash(shows)).isNotEqualTo(original);
+    }
+
+    @Test
+    void laActualizacionIncrementalCoincideConElCalculoCompleto() {
+        List<Show> shows = shows(20);
+        Show retirado = shows.remove(5);
+        Show nuevo = show(99);
+
+        String incremental = SnapshotFingerprint.desdeHex(hasher.generarHash(shows(20)))
+                .quitar(hasher.hashShow(retirado))
+                .agregar(hasher.hashShow(nuevo))
+                .hex();
+
+        shows.add(nuevo);
+        assertThat(incremental).isEqualTo(hasher.generarHash(shows));
+        assertThat(SnapshotFingerprint.vacia().agregar(hasher.hashShow(nuevo)).quitar(hasher.hashShow(nuevo)).hex())
+                .isEqualTo(hasher.generarHash(List.of()));
+    }
+
+    private static List<Show> shows(int total) {
+        List<Show> shows = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            shows.add(show(i));
+        }
+        return shows;
+    }
+
+    private static Show show(int i) {
+        Show show = Show.builder()
+                .titulo("FUCKS NEWS " + i)
+                .venue("Teatro " + i)
+                .ciudad("Bogotá")
+                .fechaShow(LocalDate.of(2025, 12, 1 + i % 28))
+                .urlFuente("https://www.tuboleta.com/es/eventos/" + i)
+                .build();
+        show.generateUniqueId();
+        return show;
+    }
+}
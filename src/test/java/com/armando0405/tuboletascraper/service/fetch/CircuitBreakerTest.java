@@ -0,0 +1,121 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que una misma caída abre el circuito una sola vez aunque fallen muchas llamadas a la vez,
+ * que la sonda siempre se libera y que un 429 no cierra el circuito.
+ */
+class CircuitBreakerTest {
+
+    private static final String URL = "https://www.tuboleta.com/es/resultados-de-busqueda?page=0";
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreaker();
+        ReflectionTestUtils.setField(breaker, "umbralFallos", 3);
+        ReflectionTestUtils.setField(breaker, "aperturaBaseMs", 60_000L);
+        ReflectionTestUtils.setField(breaker, "aperturaMaximaMs", 900_000L);
+    }
+
+    @Test
+    void fallosSimultaneosAbrenUnaSolaVez() throws Exception {
+        CountDownLatch salida = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                executor.submit(() -> {
+                    salida.await();
+                    breaker.registrarFallo("HTTP 500", false);
+                    return null;
+                });
+            }
+            salida.countDown();
+        }
+
+        assertThat(breaker.getEstado()).isEqualTo(CircuitBreaker.Estado.ABIERTO);
+        assertThat(breaker.resumen()).containsEntry("aperturasConsecutivas", 1);
+        // Ventana base (60 s) más a lo sumo un 20 % de jitter
+        assertThat(breaker.getAbiertoHasta()).isBefore(Instant.now().plusSeconds(73));
+    }
+
+    @Test
+    void fallosTardiosNoAlarganLaVentana() {
+        for (int i = 0; i < 3; i++) {
+            breaker.registrarFallo("HTTP 500", false);
+        }
+        Instant abiertoHasta = breaker.getAbiertoHasta();
+
+        // Respuestas de peticiones que salieron antes de abrirse el circuito
+        for (int i = 0; i < 10; i++) {
+            breaker.registrarFallo("timeout", false);
+        }
+
+        assertThat(breaker.getAbiertoHasta()).isEqualTo(abiertoHasta);
+        assertThat(breaker.resumen()).containsEntry("aperturasConsecutivas", 1);
+    }
+
+    @Test
+    void laSondaSeLiberaAunqueElDelegadoLanceUnaExcepcionInesperada() {
+        abrirConVentanaVencida();
+        PageFetcher fetcher = fetcher(request -> {
+            throw new IllegalStateException("bug en el parser");
+        });
+
+        assertThatThrownBy(() -> fetcher.fetch(PageRequest.get(URL))).isInstanceOf(IllegalStateException.class);
+
+        // La sonda fallida reabre el circuito en vez de dejarlo tomado
+        assertThat(breaker.getEstado()).isEqualTo(CircuitBreaker.Estado.ABIERTO);
+        assertThat(breaker.resumen()).containsEntry("aperturasConsecutivas", 2);
+    }
+
+    @Test
+    void un429EnLaSondaNoCierraElCircuitoNiLoDejaTomado() throws Exception {
+        abrirConVentanaVencida();
+        PageFetcher fetcher = fetcher(request -> new PageResponse(request.url(), 429, Map.of(), new byte[0]));
+
+        assertThat(fetcher.fetch(PageRequest.get(URL)).status()).isEqualTo(429);
+
+        assertThat(breaker.getEstado()).isEqualTo(CircuitBreaker.Estado.SEMI_ABIERTO);
+        assertThat(breaker.intentarAdquirir()).isEqualTo(CircuitBreaker.Permiso.SONDA);
+    }
+
+    @Test
+    void un429ConElCircuitoCerradoNoReiniciaLosFallosSeguidos() throws Exception {
+        breaker.registrarFallo("HTTP 500", false);
+        breaker.registrarFallo("HTTP 500", false);
+        PageFetcher fetcher = fetcher(request -> new PageResponse(request.url(), 429, Map.of(), new byte[0]));
+
+        fetcher.fetch(PageRequest.get(URL));
+
+        assertThat(breaker.resumen()).containsEntry("fallosConsecutivos", 2).containsEntry("exitos", 0L);
+    }
+
+    /**
+     * Abre el circuito con ventana cero: la siguiente llamada ya es la sonda.
+     */
+    private void abrirConVentanaVencida() {
+        ReflectionTestUtils.setField(breaker, "aperturaBaseMs", 0L);
+        for (int i = 0; i < 3; i++) {
+            breaker.registrarFallo("HTTP 500", false);
+        }
+        assertThat(breaker.getEstado()).isEqualTo(CircuitBreaker.Estado.ABIERTO);
+    }
+
+    private PageFetcher fetcher(PageFetcher red) {
+        return new CircuitBreakerPageFetcher(red, breaker, 3, 1, 5);
+    }
+}
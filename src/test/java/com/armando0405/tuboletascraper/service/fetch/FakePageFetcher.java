@@ -0,0 +1,107 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fetcher en memoria para pruebas y benchmarks sin red.
+ * Sirve las páginas registradas por URL, comprimidas con gzip como haría TuBoleta.
+ * Por URL se pueden encolar estados de error (429, 503...) que se sirven antes
+ * de la página, y demoras para las siguientes peticiones.
+ */
+public class FakePageFetcher implements PageFetcher {
+
+    private final Map<String, String> paginas = new ConcurrentHashMap<>();
+    private final Map<String, Queue<Integer>> estados = new ConcurrentHashMap<>();
+    private final Map<String, Queue<Long>> demoras = new ConcurrentHashMap<>();
+    private final AtomicInteger peticiones = new AtomicInteger();
+    private final AtomicInteger interrumpidas = new AtomicInteger();
+    private volatile String paginaPorDefecto;
+
+    public FakePageFetcher conPagina(String url, String html) {
+        paginas.put(url, html);
+        return this;
+    }
+
+    public FakePageFetcher conPaginaPorDefecto(String html) {
+        this.paginaPorDefecto = html;
+        return this;
+    }
+
+    public FakePageFetcher conEstados(String url, int... codigos) {
+        Queue<Integer> cola = estados.computeIfAbsent(url, u -> new ConcurrentLinkedQueue<>());
+        for (int codigo : codigos) {
+            cola.add(codigo);
+        }
+        return this;
+    }
+
+    public FakePageFetcher conDemoras(String url, long... demorasMs) {
+        Queue<Long> cola = demoras.computeIfAbsent(url, u -> new ConcurrentLinkedQueue<>());
+        for (long demora : demorasMs) {
+            cola.add(demora);
+        }
+        return this;
+    }
+
+    public int getPeticiones() {
+        return peticiones.get();
+    }
+
+    // Peticiones cuya demora se cortó con una interrupción (p. ej. la perdedora de un hedge)
+    public int getInterrumpidas() {
+        return interrumpidas.get();
+    }
+
+    @Override
+    public PageResponse fetch(PageRequest request) throws IOException {
+        peticiones.incrementAndGet();
+        esperar(siguiente(demoras, request.url()));
+
+        Integer estado = siguiente(estados, request.url());
+        if (estado != null) {
+            return new PageResponse(request.url(), estado, Map.of(), new byte[0]);
+        }
+
+        String html = paginas.getOrDefault(request.url(), paginaPorDefecto);
+        if (html == null) {
+            return new PageResponse(request.url(), 404, Map.of(), new byte[0]);
+        }
+
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(comprimido)) {
+            gzip.write(html.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return new PageResponse(request.url(), 200, Map.of(
+                "Content-Type", List.of("text/html; charset=UTF-8"),
+                "Content-Encoding", List.of("gzip")), comprimido.toByteArray());
+    }
+
+    private void esperar(Long demoraMs) throws InterruptedIOException {
+        if (demoraMs == null || demoraMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(demoraMs);
+        } catch (InterruptedException e) {
+            interrumpidas.incrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Petición cancelada");
+        }
+    }
+
+    private static <T> T siguiente(Map<String, Queue<T>> colas, String url) {
+        Queue<T> cola = colas.get(url);
+        return cola != null ? cola.poll() : null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que la copia sale al superar el p95, que gana la primera respuesta y la
+ * otra se interrumpe, y que la copia pide su propio token al limitador.
+ */
+class HedgingPageFetcherTest {
+
+    private static final String URL = "https://www.tuboleta.com/es/resultados-de-busqueda?page=0";
+    private static final String HTML = "<article>ok</article>";
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LimitadorContador limiter = new LimitadorContador();
+    private LatencyTracker latencias;
+    private FakePageFetcher red;
+    private HedgingPageFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        latencias = new LatencyTracker();
+        ReflectionTestUtils.setField(latencias, "tamanoVentana", 200);
+        ReflectionTestUtils.setField(latencias, "minMuestras", 10);
+
+        red = new FakePageFetcher().conPagina(URL, HTML);
+        fetcher = new HedgingPageFetcher(red, latencias, limiter, executor,
+                Duration.ofSeconds(30), Duration.ofMillis(100), 3.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sinHistoricoNoHayCopia() throws Exception {
+        red.conDemoras(URL, 50);
+
+        assertThat(fetcher.fetch(PageRequest.get(URL)).status()).isEqualTo(200);
+
+        assertThat(red.getPeticiones()).isEqualTo(1);
+        assertThat(fetcher.getHedgesEnviados()).isZero();
+        assertThat(limiter.adquiridos.get()).isZero();
+    }
+
+    @Test
+    void unaRespuestaAntesDelP95NoLanzaCopia() throws Exception {
+        conP95DeMs(200);
+
+        assertThat(fetcher.fetch(PageRequest.get(URL)).status()).isEqualTo(200);
+
+        assertThat(red.getPeticiones()).isEqualTo(1);
+        assertThat(fetcher.getHedgesEnviados()).isZero();
+    }
+
+    @Test
+    void laCopiaSaleAlSuperarElP95ConSuPropioTokenYGana() throws Exception {
+        conP95DeMs(20);
+        red.conDemoras(URL, 5_000, 0);
+
+        long inicio = System.nanoTime();
+        assertThat(fetcher.fetch(PageRequest.get(URL)).cuerpoComoTexto()).isEqualTo(HTML);
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertThat(duracionMs).isGreaterThanOrEqualTo(20).isLessThan(2_000);
+        assertThat(red.getPeticiones()).isEqualTo(2);
+        assertThat(fetcher.getHedgesEnviados()).isEqualTo(1);
+        assertThat(fetcher.getHedgesGanadores()).isEqualTo(1);
+        assertThat(limiter.adquiridos.get()).isEqualTo(1);
+        // La original, que seguía esperando, se cancela
+        esperarInterrumpidas(1);
+    }
+
+    @Test
+    void siLaOriginalRespondePrimeroLaCopiaSeCancela() throws Exception {
+        conP95DeMs(20);
+        red.conDemoras(URL, 80, 5_000);
+
+        assertThat(fetcher.fetch(PageRequest.get(URL)).status()).isEqualTo(200);
+
+        assertThat(fetcher.getHedgesEnviados()).isEqualTo(1);
+        assertThat(fetcher.getHedgesGanadores()).isZero();
+        esperarInterrumpidas(1);
+    }
+
+    @Test
+    void soloLasRespuestas200AlimentanElHistograma() throws Exception {
+        red.conEstados(URL, 304);
+
+        fetcher.fetch(PageRequest.get(URL));
+
+        ReflectionTestUtils.setField(latencias, "minMuestras", 1);
+        assertThat(latencias.percentil(URL, 0.95)).isEmpty();
+    }
+
+    private void conP95DeMs(long ms) {
+        for (int i = 0; i < 20; i++) {
+            latencias.registrar(URL, TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+    }
+
+    // La interrupción llega al hilo perdedor después de que fetch ya devolvió
+    private void esperarInterrumpidas(int esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (red.getInterrumpidas() < esperadas && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertThat(red.getInterrumpidas()).isEqualTo(esperadas);
+    }
+
+    /**
+     * Cuenta los tokens pedidos sin dormir: lo que importa es quién los pide.
+     */
+    private static final class LimitadorContador extends TokenBucketRateLimiter {
+
+        private final AtomicInteger adquiridos = new AtomicInteger();
+
+        @Override
+        public void adquirir(String url) {
+            adquiridos.incrementAndGet();
+        }
+    }
+}
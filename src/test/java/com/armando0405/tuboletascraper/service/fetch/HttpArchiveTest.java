@@ -0,0 +1,79 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Graba respuestas de un fetcher falso y las reproduce desde disco.
+ */
+class HttpArchiveTest {
+
+    private static final String URL = "https://www.tuboleta.com/es/resultados-de-busqueda?page=0";
+
+    @TempDir
+    Path directorio;
+
+    private HttpArchive archivo;
+
+    @BeforeEach
+    void setUp() {
+        archivo = nuevoArchivo();
+    }
+
+    @Test
+    void reproduceLasGrabacionesEnOrdenYRepiteLaUltima() throws Exception {
+        FakePageFetcher red = new FakePageFetcher().conPagina(URL, "<article>uno</article>");
+        PageFetcher grabador = new RecordingPageFetcher(red, archivo);
+        grabador.fetch(PageRequest.get(URL));
+        red.conPagina(URL, "<article>dos</article>");
+        grabador.fetch(PageRequest.get(URL));
+
+        // Un archivo nuevo sobre el mismo directorio, como en otra ejecución
+        ReplayPageFetcher replay = new ReplayPageFetcher(nuevoArchivo(), 0);
+
+        assertThat(replay.fetch(PageRequest.get(URL)).cuerpoComoTexto()).isEqualTo("<article>uno</article>");
+        assertThat(replay.fetch(PageRequest.get(URL)).cuerpoComoTexto()).isEqualTo("<article>dos</article>");
+        assertThat(replay.fetch(PageRequest.get(URL)).cuerpoComoTexto()).isEqualTo("<article>dos</article>");
+        assertThat(replay.fetch(PageRequest.get("https://www.tuboleta.com/otra")).status()).isEqualTo(404);
+    }
+
+    @Test
+    void guardaUnaSolaVezLosCuerposRepetidos() throws Exception {
+        PageFetcher grabador = new RecordingPageFetcher(new FakePageFetcher().conPaginaPorDefecto("<article>x</article>"), archivo);
+        for (int i = 0; i < 5; i++) {
+            grabador.fetch(PageRequest.get(URL));
+        }
+
+        try (var cuerpos = Files.list(directorio.resolve("bodies"))) {
+            assertThat(cuerpos.count()).isEqualTo(1);
+        }
+        assertThat(Files.readAllLines(directorio.resolve("index.jsonl"))).hasSize(5);
+    }
+
+    @Test
+    void respondeNoModificadaSiElEtagCoincide() throws Exception {
+        PageResponse conEtag = new PageResponse(URL, 200, Map.of("ETag", List.of("\"v1\"")), "<article/>".getBytes());
+        archivo.grabar(conEtag, 10);
+
+        ReplayPageFetcher replay = new ReplayPageFetcher(nuevoArchivo(), 0);
+        PageResponse respuesta = replay.fetch(PageRequest.get(URL).conHeader("If-None-Match", "\"v1\""));
+
+        assertThat(respuesta.noModificada()).isTrue();
+        assertThat(respuesta.header("ETag")).isEqualTo("\"v1\"");
+    }
+
+    private HttpArchive nuevoArchivo() {
+        HttpArchive nuevo = new HttpArchive();
+        ReflectionTestUtils.setField(nuevo, "directorio", directorio.toString());
+        return nuevo;
+    }
+}
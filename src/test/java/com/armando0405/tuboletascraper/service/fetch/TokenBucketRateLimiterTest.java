@@ -0,0 +1,119 @@
+package com.armando0405.tuboletascraper.service.fetch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica el ritmo, la ráfaga y el Retry-After del limitador (con un reloj
+ * falso) y los reintentos de RateLimitedPageFetcher ante 429/503.
+ */
+class TokenBucketRateLimiterTest {
+
+    private static final String URL = "https://www.tuboleta.com/es/resultados-de-busqueda?page=0";
+
+    private final AtomicLong ahora = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void mantieneElRitmoSinRafaga() {
+        TokenBucketRateLimiter limiter = limiter(100, 1, 120_000);
+
+        assertThat(esperaMs(limiter)).isZero();
+        assertThat(esperaMs(limiter)).isEqualTo(100);
+        assertThat(esperaMs(limiter)).isEqualTo(200);
+
+        // Pasado el tiempo reservado, el siguiente sale de inmediato
+        avanzar(1_000);
+        assertThat(esperaMs(limiter)).isZero();
+    }
+
+    @Test
+    void permiteUnaRafagaYLuegoEspaciaLasPeticiones() {
+        TokenBucketRateLimiter limiter = limiter(100, 3, 120_000);
+
+        assertThat(esperaMs(limiter)).isZero();
+        assertThat(esperaMs(limiter)).isZero();
+        assertThat(esperaMs(limiter)).isZero();
+        assertThat(esperaMs(limiter)).isEqualTo(100);
+    }
+
+    @Test
+    void respetaElRetryAfterCompletoPeseALaRafaga() {
+        TokenBucketRateLimiter limiter = limiter(2_000, 2, 120_000);
+        esperaMs(limiter);
+
+        limiter.registrarLimitado(URL, "5");
+
+        assertThat(esperaMs(limiter)).isEqualTo(5_000);
+        assertThat(limiter.getIntervaloActualMs(URL)).isEqualTo(4_000);
+    }
+
+    @Test
+    void sinRetryAfterEsperaAlMenosElIntervaloPenalizado() {
+        TokenBucketRateLimiter limiter = limiter(2_000, 2, 120_000);
+        esperaMs(limiter);
+
+        limiter.registrarLimitado(URL, null);
+
+        // Antes la tolerancia de la ráfaga dejaba salir el reintento de inmediato
+        assertThat(esperaMs(limiter)).isEqualTo(4_000);
+    }
+
+    @Test
+    void reintentaLos429Y503HastaObtenerLaPagina() throws Exception {
+        FakePageFetcher red = new FakePageFetcher()
+                .conEstados(URL, 429, 503)
+                .conPagina(URL, "<article>ok</article>");
+        PageFetcher fetcher = new RateLimitedPageFetcher(red, limiterReal(), 2);
+
+        long inicio = System.nanoTime();
+        PageResponse respuesta = fetcher.fetch(PageRequest.get(URL));
+
+        assertThat(respuesta.status()).isEqualTo(200);
+        assertThat(red.getPeticiones()).isEqualTo(3);
+        // Cada limitación bloquea el host un intervalo penalizado (50 ms aquí)
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isGreaterThanOrEqualTo(90);
+    }
+
+    @Test
+    void agotadosLosReintentosDevuelveLaLimitacion() throws Exception {
+        FakePageFetcher red = new FakePageFetcher()
+                .conEstados(URL, 429, 429, 429)
+                .conPagina(URL, "<article>ok</article>");
+        PageFetcher fetcher = new RateLimitedPageFetcher(red, limiterReal(), 1);
+
+        assertThat(fetcher.fetch(PageRequest.get(URL)).status()).isEqualTo(429);
+        assertThat(red.getPeticiones()).isEqualTo(2);
+    }
+
+    private TokenBucketRateLimiter limiter(long intervaloMs, int rafaga, long maxBackoffMs) {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter();
+        ReflectionTestUtils.setField(limiter, "intervaloBaseMs", intervaloMs);
+        ReflectionTestUtils.setField(limiter, "rafaga", rafaga);
+        ReflectionTestUtils.setField(limiter, "maxBackoffMs", maxBackoffMs);
+        ReflectionTestUtils.setField(limiter, "reloj", (LongSupplier) ahora::get);
+        return limiter;
+    }
+
+    // Reloj real con intervalos cortos: el fetcher duerme de verdad
+    private static TokenBucketRateLimiter limiterReal() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter();
+        ReflectionTestUtils.setField(limiter, "intervaloBaseMs", 10L);
+        ReflectionTestUtils.setField(limiter, "rafaga", 1);
+        ReflectionTestUtils.setField(limiter, "maxBackoffMs", 50L);
+        return limiter;
+    }
+
+    private long esperaMs(TokenBucketRateLimiter limiter) {
+        return TimeUnit.NANOSECONDS.toMillis(limiter.reservar(URL));
+    }
+
+    private void avanzar(long ms) {
+        ahora.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+}